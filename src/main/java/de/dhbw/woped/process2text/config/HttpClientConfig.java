@@ -0,0 +1,43 @@
+package de.dhbw.woped.process2text.config;
+
+import de.dhbw.woped.process2text.service.DownstreamHttpClient;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * One shared, pooled HTTP client per downstream service, configured by the {@code
+ * p2t.http.<downstream>.*} properties (base-url, max-connections, connect-timeout, read-timeout,
+ * http2).
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Bean
+  public DownstreamHttpClient openAiHttpClient(Environment environment) {
+    return create(environment, "openai");
+  }
+
+  @Bean
+  public DownstreamHttpClient lmStudioHttpClient(Environment environment) {
+    return create(environment, "lmstudio");
+  }
+
+  @Bean
+  public DownstreamHttpClient ragHttpClient(Environment environment) {
+    return create(environment, "rag");
+  }
+
+  @Bean
+  public DownstreamHttpClient transformerHttpClient(Environment environment) {
+    return create(environment, "transformer");
+  }
+
+  private static DownstreamHttpClient create(Environment environment, String name) {
+    DownstreamHttpClient.Settings settings =
+        Binder.get(environment)
+            .bindOrCreate("p2t.http." + name, DownstreamHttpClient.Settings.class);
+    return DownstreamHttpClient.create(name, settings);
+  }
+}
@@ -0,0 +1,46 @@
+package de.dhbw.woped.process2text.config;
+
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Initializes the WordNet lexicon once at startup, so that the first request does not pay for
+ * loading JWNL and all requests share the same dictionary.
+ */
+@Configuration
+public class LexiconConfig {
+
+  @Bean
+  public WordNetLexicon wordNetLexicon() {
+    return WordNetLexicon.getInstance();
+  }
+
+  /**
+   * Label annotation cache shared by all requests, bounded by {@code p2t.label-cache.max-size} and
+   * disabled with {@code p2t.label-cache.enabled=false}.
+   */
+  @Bean
+  public LabelAnnotationCache labelAnnotationCache(
+      @Value("${p2t.label-cache.enabled:true}") boolean enabled,
+      @Value("${p2t.label-cache.max-size:16MB}") DataSize maxSize) {
+    return enabled ? LabelAnnotationCache.create(maxSize.toBytes()) : LabelAnnotationCache.DISABLED;
+  }
+
+  /**
+   * Cache of noun/verb derivations shared by all requests, bounded by {@code
+   * p2t.derivation-cache.max-entries}. Entries unused for {@code
+   * p2t.derivation-cache.expire-after-access} are dropped, zero keeps them until evicted by size.
+   */
+  @Bean
+  public DerivationCache derivationCache(
+      @Value("${p2t.derivation-cache.max-entries:10000}") long maxEntries,
+      @Value("${p2t.derivation-cache.expire-after-access:0s}") Duration expireAfterAccess) {
+    return DerivationCache.create(maxEntries, expireAfterAccess);
+  }
+}
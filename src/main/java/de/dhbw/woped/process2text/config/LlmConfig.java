@@ -0,0 +1,41 @@
+package de.dhbw.woped.process2text.config;
+
+import de.dhbw.woped.process2text.service.GptModelCache;
+import de.dhbw.woped.process2text.service.LlmRequestCoalescer;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class LlmConfig {
+
+  /**
+   * Shares one LLM call between identical {@code /generateTextLLM} requests running at the same
+   * time, disabled with {@code p2t.llm.coalesce-requests=false}.
+   */
+  @Bean
+  public LlmRequestCoalescer llmRequestCoalescer(
+      @Value("${p2t.llm.coalesce-requests:true}") boolean enabled) {
+    return enabled ? LlmRequestCoalescer.create() : LlmRequestCoalescer.DISABLED;
+  }
+
+  /**
+   * Cache of {@code /gptModels} per API key, configured by {@code p2t.gpt-models-cache.ttl}, {@code
+   * p2t.gpt-models-cache.refresh-after}, {@code p2t.gpt-models-cache.max-size} and {@code
+   * p2t.gpt-models-cache.refresh-threads} and disabled with {@code
+   * p2t.gpt-models-cache.enabled=false}.
+   */
+  @Bean(destroyMethod = "close")
+  public GptModelCache gptModelCache(
+      @Value("${p2t.gpt-models-cache.enabled:true}") boolean enabled,
+      @Value("${p2t.gpt-models-cache.ttl:1h}") Duration timeToLive,
+      @Value("${p2t.gpt-models-cache.refresh-after:45m}") Duration refreshAfter,
+      @Value("${p2t.gpt-models-cache.max-size:1MB}") DataSize maxSize,
+      @Value("${p2t.gpt-models-cache.refresh-threads:2}") int refreshThreads) {
+    return enabled
+        ? GptModelCache.create(timeToLive, refreshAfter, maxSize.toBytes(), refreshThreads)
+        : GptModelCache.DISABLED;
+  }
+}
@@ -1,5 +1,6 @@
 package de.dhbw.woped.process2text.config;
 
+import de.dhbw.woped.process2text.service.text.generation.TextGenerationMetrics;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -30,4 +31,10 @@ public class MetricsConfig {
         .tag("application", "p2t-service")
         .register(registry);
   }
+
+  /** Stage timers and failure counters of the text generation. */
+  @Bean
+  public TextGenerationMetrics textGenerationMetrics(MeterRegistry registry) {
+    return new TextGenerationMetrics(registry);
+  }
 }
@@ -0,0 +1,32 @@
+package de.dhbw.woped.process2text.config;
+
+import de.dhbw.woped.process2text.service.sentence.realization.RealProPool;
+import de.dhbw.woped.process2text.service.sentence.realization.RealizationCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class RealProConfig {
+
+  /**
+   * RealPro instances shared by all requests, sized by {@code p2t.realpro.pool-size}. Zero or less
+   * creates one instance per available processor.
+   */
+  @Bean
+  public RealProPool realProPool(@Value("${p2t.realpro.pool-size:0}") int size) {
+    return RealProPool.create(size > 0 ? size : RealProPool.DEFAULT_SIZE);
+  }
+
+  /**
+   * Cache of realized sentences shared by all requests, bounded by {@code
+   * p2t.realization-cache.max-size} and disabled with {@code p2t.realization-cache.enabled=false}.
+   */
+  @Bean
+  public RealizationCache realizationCache(
+      @Value("${p2t.realization-cache.enabled:true}") boolean enabled,
+      @Value("${p2t.realization-cache.max-size:8MB}") DataSize maxSize) {
+    return enabled ? RealizationCache.create(maxSize.toBytes()) : RealizationCache.DISABLED;
+  }
+}
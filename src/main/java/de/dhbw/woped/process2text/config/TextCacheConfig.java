@@ -0,0 +1,26 @@
+package de.dhbw.woped.process2text.config;
+
+import de.dhbw.woped.process2text.service.GeneratedTextCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class TextCacheConfig {
+
+  /**
+   * Response cache of {@code /generateText}, configured by {@code p2t.text-cache.ttl} and {@code
+   * p2t.text-cache.max-size} and disabled with {@code p2t.text-cache.enabled=false}.
+   */
+  @Bean
+  public GeneratedTextCache generatedTextCache(
+      @Value("${p2t.text-cache.enabled:true}") boolean enabled,
+      @Value("${p2t.text-cache.ttl:1h}") Duration timeToLive,
+      @Value("${p2t.text-cache.max-size:32MB}") DataSize maxSize) {
+    return enabled
+        ? GeneratedTextCache.create(timeToLive, maxSize.toBytes())
+        : GeneratedTextCache.DISABLED;
+  }
+}
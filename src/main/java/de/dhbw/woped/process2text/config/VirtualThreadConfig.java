@@ -0,0 +1,83 @@
+package de.dhbw.woped.process2text.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Monitors the virtual threads Spring Boot handles every HTTP request on when {@code
+ * spring.threads.virtual.enabled=true}. The outbound RAG, transformer and LLM calls run on the
+ * request thread, so while they wait for a response only the virtual thread is parked and the
+ * carrier threads keep serving {@code /generateText}.
+ *
+ * <p>Carrier pinning, which would defeat the purpose, is recorded from the JFR event {@code
+ * jdk.VirtualThreadPinned} as {@code virtual_thread_pinned_duration_seconds} and logged at debug
+ * level with the pinning frame. Pins shorter than {@code p2t.virtual-threads.pinned-threshold}, 20
+ * ms by default, are not recorded. The start and end events of virtual threads stay disabled, since
+ * one is emitted for every request.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  @Bean(destroyMethod = "close")
+  public VirtualThreadMetrics virtualThreadMetrics(
+      @Value("${p2t.virtual-threads.pinned-threshold:20ms}") Duration pinnedThreshold) {
+    logger.info("Handling HTTP requests on virtual threads");
+    return new VirtualThreadMetrics(pinnedThreshold);
+  }
+
+  /** Streams the JVM's virtual thread events into meters for as long as the application runs. */
+  static final class VirtualThreadMetrics implements MeterBinder, AutoCloseable {
+    private final RecordingStream events = new RecordingStream();
+    private final Duration pinnedThreshold;
+
+    VirtualThreadMetrics(Duration pinnedThreshold) {
+      this.pinnedThreshold = pinnedThreshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+      Timer pinned =
+          Timer.builder("virtual_thread_pinned_duration_seconds")
+              .description("Time virtual threads blocked their carrier thread")
+              .register(registry);
+      events.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+      events.onEvent(
+          PINNED_EVENT,
+          event -> {
+            pinned.record(event.getDuration());
+            if (logger.isDebugEnabled()
+                && event.getStackTrace() != null
+                && !event.getStackTrace().getFrames().isEmpty()) {
+              RecordedFrame frame = event.getStackTrace().getFrames().get(0);
+              logger.debug(
+                  "Virtual thread pinned for {} ms in {}.{}",
+                  event.getDuration().toMillis(),
+                  frame.getMethod().getType().getName(),
+                  frame.getMethod().getName());
+            }
+          });
+      events.startAsync();
+    }
+
+    @Override
+    public void close() {
+      events.close();
+    }
+  }
+}
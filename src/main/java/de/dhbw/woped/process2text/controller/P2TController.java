@@ -1,29 +1,39 @@
 package de.dhbw.woped.process2text.controller;
 
+import de.dhbw.woped.process2text.model.process.GeneratedTextDTO;
 import de.dhbw.woped.process2text.model.process.OpenAiApiDTO;
+import de.dhbw.woped.process2text.service.P2TBatchService;
 import de.dhbw.woped.process2text.service.P2TLLMService;
 import de.dhbw.woped.process2text.service.P2TService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Timer;
 import io.swagger.annotations.ApiOperation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
 /**
  * Controller class to handle HTTP requests related to process-to-text translation. Provides
@@ -38,6 +48,7 @@ public class P2TController {
 
   @Autowired private P2TService p2tService;
   @Autowired private P2TLLMService llmService;
+  @Autowired private P2TBatchService batchService;
 
   @Autowired
   @Qualifier("httpRequestsTotal")
@@ -47,6 +58,9 @@ public class P2TController {
   @Qualifier("httpRequestDuration")
   private Timer httpRequestDuration;
 
+  @Value("${p2t.llm.stream-timeout:5m}")
+  private Duration streamTimeout;
+
   /**
    * Endpoint to translate a process model into human-readable text.
    *
@@ -68,6 +82,72 @@ public class P2TController {
         });
   }
 
+  /**
+   * Endpoint to translate a process model into human-readable text, sending each phrase with
+   * chunked transfer encoding as soon as it is realized instead of the whole text at the end.
+   *
+   * @param body The process model in plain text format.
+   * @return The translated text, written while it is generated.
+   */
+  @ApiOperation(value = "Stream the translation of a process model into human readable text.")
+  @PostMapping(value = "/generateText/stream", consumes = "text/plain", produces = "text/plain")
+  protected ResponseEntity<StreamingResponseBody> generateTextStream(@RequestBody String body) {
+    httpRequestsTotal.increment();
+    StreamingResponseBody text =
+        out -> {
+          Timer.Sample sample = Timer.start();
+          try {
+            p2tService.streamText(body, out);
+          } finally {
+            sample.stop(httpRequestDuration);
+          }
+        };
+    return ResponseEntity.ok()
+        .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+        .body(text);
+  }
+
+  /**
+   * Endpoint to translate many process models in one request. The models are translated in parallel
+   * on a bounded worker pool.
+   *
+   * @param bodies The process models in plain text format.
+   * @return One result per model in request order, with the text or the error and the duration.
+   */
+  @ApiOperation(value = "Translate a list of process models into human readable texts.")
+  @PostMapping(
+      value = "/generateText/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  protected List<GeneratedTextDTO> generateTextBatch(@RequestBody List<String> bodies) {
+    httpRequestsTotal.increment();
+    return httpRequestDuration.record(
+        () -> {
+          logger.debug("Received batch of {} models", bodies.size());
+          return batchService.generateTexts(bodies);
+        });
+  }
+
+  /**
+   * Endpoint to translate many process models uploaded as files of a multipart request.
+   *
+   * @param models The process model files.
+   * @return One result per file in request order, with the text or the error and the duration.
+   */
+  @ApiOperation(value = "Translate uploaded process model files into human readable texts.")
+  @PostMapping(
+      value = "/generateText/batch",
+      consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  protected List<GeneratedTextDTO> generateTextBatchFiles(
+      @RequestParam("models") List<MultipartFile> models) throws IOException {
+    List<String> bodies = new ArrayList<>(models.size());
+    for (MultipartFile model : models) {
+      bodies.add(new String(model.getBytes(), StandardCharsets.UTF_8));
+    }
+    return generateTextBatch(bodies);
+  }
+
   /**
    * Endpoint to translate a process model into human-readable text using OpenAI's Large Language
    * Model.
@@ -93,7 +173,8 @@ public class P2TController {
       @RequestParam(required = true) String provider,
       @RequestParam(required = true) boolean useRag) {
     logger.debug(
-        "Received request with apiKey: {}, prompt: {}, gptModel: {}, provider: {}, useRag: {}, body: {}",
+        "Received request with apiKey: {}, prompt: {}, gptModel: {}, provider: {}, useRag: {},"
+            + " body: {}",
         apiKey,
         prompt,
         gptModel,
@@ -101,43 +182,7 @@ public class P2TController {
         useRag,
         body.replaceAll("[\n\r\t]", "_"));
 
-    String enrichedPrompt = prompt;
-
-    if (useRag) {
-      try {
-        RestTemplate restTemplate = new RestTemplate();
-        // JSON body for the RAG service
-        org.json.JSONObject requestJson = new org.json.JSONObject();
-        requestJson.put("prompt", prompt);
-        requestJson.put("diagram", body);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<String> entity = new HttpEntity<>(requestJson.toString(), headers);
-
-        // POST to the RAG service
-        String ragServiceUrl = System.getProperty("rag.service.url", "http://localhost:5000");
-        ResponseEntity<String> ragResponse =
-            restTemplate.postForEntity(ragServiceUrl + "/rag/enrich", entity, String.class);
-
-        // Expected: {"enriched_prompt": "..."}
-        org.json.JSONObject responseJson = new org.json.JSONObject(ragResponse.getBody());
-        enrichedPrompt = responseJson.getString("enriched_prompt");
-        logger.info("RAG service enriched prompt successfully. Original length: {}, Enriched length: {}", 
-                   prompt.length(), enrichedPrompt.length());
-        logger.debug("Enriched prompt: {}", enrichedPrompt);
-      } catch (Exception e) {
-        logger.error("Error calling RAG service, falling back to original prompt", e);
-      }
-    }
-
-    OpenAiApiDTO openAiApiDTO;
-    if (provider.equalsIgnoreCase("lmStudio")) {
-
-      openAiApiDTO = new OpenAiApiDTO(null, gptModel, enrichedPrompt, provider, useRag);
-    } else {
-      openAiApiDTO = new OpenAiApiDTO(apiKey, gptModel, enrichedPrompt, provider, useRag);
-    }
+    OpenAiApiDTO openAiApiDTO = openAiApiDTO(apiKey, prompt, gptModel, provider, useRag);
 
     try {
       String response = llmService.callLLM(body, openAiApiDTO);
@@ -149,6 +194,78 @@ public class P2TController {
     }
   }
 
+  /**
+   * Endpoint to translate a process model into human-readable text using OpenAI's Large Language
+   * Model, sending the text token by token as server-sent events while it is generated. The data of
+   * each event is the token as JSON string, since SSE clients strip a leading space of the data.
+   * The generation stops when the client disconnects or after {@code p2t.llm.stream-timeout}.
+   *
+   * @param body The process model in plain text format.
+   * @param apiKey The API key for OpenAI.
+   * @param prompt The prompt to guide the translation.
+   * @param gptModel The GPT model to be used for translation.
+   * @param provider The provider to use (e.g., "openAi", "lmStudio").
+   * @param useRag Whether to use RAG (Retrieval-Augmented Generation) to enrich the prompt.
+   * @return One event per token, or a final {@code error} event with the reason as JSON string if
+   *     the generation failed.
+   */
+  @ApiOperation(
+      value =
+          "Stream the translation of a process model into human readable text using one of OpenAIs"
+              + " Large Language Models")
+  @PostMapping(
+      value = "/generateTextLLM/stream",
+      consumes = "text/plain",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  protected SseEmitter generateTextLLMStream(
+      @RequestBody String body,
+      @RequestParam(required = false) String apiKey,
+      @RequestParam(required = true) String prompt,
+      @RequestParam(required = true) String gptModel,
+      @RequestParam(required = true) String provider,
+      @RequestParam(required = true) boolean useRag) {
+    OpenAiApiDTO openAiApiDTO = openAiApiDTO(apiKey, prompt, gptModel, provider, useRag);
+    SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+    Disposable tokens =
+        llmService
+            .streamLLM(body, openAiApiDTO)
+            .map(token -> SseEmitter.event().data(JSONObject.quote(token)))
+            .onErrorResume(
+                e -> {
+                  logger.error("Error processing LLM stream", e);
+                  String reason =
+                      e instanceof ResponseStatusException status
+                          ? status.getReason()
+                          : e.getMessage();
+                  return Mono.just(SseEmitter.event().name("error").data(JSONObject.quote(reason)));
+                })
+            .subscribe(
+                event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+    emitter.onTimeout(tokens::dispose);
+    emitter.onError(e -> tokens.dispose());
+    emitter.onCompletion(tokens::dispose);
+    return emitter;
+  }
+
+  /** Sends an event, or stops the stream if the client is gone. */
+  private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+    try {
+      emitter.send(event);
+    } catch (IOException | IllegalStateException e) {
+      logger.debug("LLM stream closed by the client");
+      emitter.completeWithError(e);
+    }
+  }
+
+  /** Collects the API details of an LLM request. LM Studio needs no API key. */
+  private static OpenAiApiDTO openAiApiDTO(
+      String apiKey, String prompt, String gptModel, String provider, boolean useRag) {
+    if (provider.equalsIgnoreCase("lmStudio")) {
+      return new OpenAiApiDTO(null, gptModel, prompt, provider, useRag);
+    }
+    return new OpenAiApiDTO(apiKey, gptModel, prompt, provider, useRag);
+  }
+
   /**
    * Endpoint to retrieve the list of available GPT models.
    *
@@ -0,0 +1,21 @@
+package de.dhbw.woped.process2text.controller;
+
+import de.dhbw.woped.process2text.service.GeneratedTextCache;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Actuator endpoint {@code /actuator/textcache} showing the hit rate of the text cache. */
+@Component
+@Endpoint(id = "textcache")
+public class TextCacheEndpoint {
+
+  @Autowired private GeneratedTextCache textCache;
+
+  @ReadOperation
+  public Map<String, Object> statistics() {
+    return textCache.statistics();
+  }
+}
@@ -0,0 +1,8 @@
+package de.dhbw.woped.process2text.exception;
+
+/** Thrown when the text of a process model could not be generated. */
+public class TextGenerationException extends RuntimeException {
+  public TextGenerationException(Throwable cause) {
+    super(cause.getLocalizedMessage(), cause);
+  }
+}
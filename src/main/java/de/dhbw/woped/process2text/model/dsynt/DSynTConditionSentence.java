@@ -3,15 +3,13 @@ package de.dhbw.woped.process2text.model.dsynt;
 import de.dhbw.woped.process2text.model.intermediate.ConditionFragment;
 import de.dhbw.woped.process2text.model.intermediate.ExecutableFragment;
 import de.dhbw.woped.process2text.service.text.planning.IntermediateToDSynTConverter;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 public class DSynTConditionSentence extends DSynTSentence {
   // Private elements
   private final ConditionFragment cFrag;
-  private Element cVerb;
-  private Element cObject;
-  private Element verb;
+  private DSynTNode cVerb;
+  private DSynTNode cObject;
+  private DSynTNode verb;
 
   public DSynTConditionSentence(ExecutableFragment eFrag, ConditionFragment cFrag) {
     this.eFrag = eFrag;
@@ -22,91 +20,91 @@ public class DSynTConditionSentence extends DSynTSentence {
   private void createDSynTRepresentation() {
     // Create main sentence and get respective document containing the DSynT
     DSynTMainSentence dSynTMainSentence = new DSynTMainSentence(eFrag);
-    doc = dSynTMainSentence.getDSynT();
+    dsynt = dSynTMainSentence.getDSynT();
     verb = dSynTMainSentence.getVerb();
 
     // Create verb (conditional sentence)
     cVerb =
         IntermediateToDSynTConverter.createVerb(
-            doc, cFrag, IntermediateToDSynTConverter.VERB_TYPE_CONDITION);
-    verb.appendChild(cVerb);
+            cFrag, IntermediateToDSynTConverter.VERB_TYPE_CONDITION);
+    verb.add(cVerb);
 
     // Create business object (conditional sentence)
     if (cFrag.hasBO()) {
-      cObject = IntermediateToDSynTConverter.createBO(doc, cFrag);
-      cVerb.appendChild(cObject);
+      cObject = IntermediateToDSynTConverter.createBO(cFrag);
+      cVerb.add(cObject);
     }
 
     // Create role (conditional sentence)
     if (!cFrag.getRole().equals("")) {
-      Element cRole = IntermediateToDSynTConverter.createRole(doc, cFrag);
-      cVerb.appendChild(cRole);
+      DSynTNode cRole = IntermediateToDSynTConverter.createRole(cFrag);
+      cVerb.add(cRole);
     }
 
     // Create addition
     if (!cFrag.getAddition().equals("")) {
-      IntermediateToDSynTConverter.createAddition(doc, cVerb, cFrag);
+      IntermediateToDSynTConverter.createAddition(cVerb, cFrag);
     }
 
     if (cFrag.getAllMods() != null) {
-      IntermediateToDSynTConverter.appendMods(doc, cFrag, cVerb, cObject);
+      IntermediateToDSynTConverter.appendMods(cFrag, cVerb, cObject);
     }
 
     // Create if Node
-    Element condition = IntermediateToDSynTConverter.createConditionNode(doc, cFrag);
-    cVerb.appendChild(condition);
+    DSynTNode condition = IntermediateToDSynTConverter.createConditionNode(cFrag);
+    cVerb.add(condition);
   }
 
   /** Adds supplementary conditions to condition fragment. */
   public void addCondition(ConditionFragment cFrag, boolean isAnd) {
-    Element cObject2 = null;
-    Element cRole2;
+    DSynTNode cObject2 = null;
+    DSynTNode cRole2;
 
     // Create coordinating conjunction node
-    Element add = doc.createElement("dsyntnode");
-    add.setAttribute("rel", "COORD");
+    DSynTNode add = new DSynTNode();
+    add.setRelation(DSynTNode.Relation.COORD);
     if (isAnd) {
-      add.setAttribute("lexeme", "AND");
+      add.setLexeme("AND");
     } else {
-      add.setAttribute("lexeme", "OR");
+      add.setLexeme("OR");
     }
-    cVerb.appendChild(add);
+    cVerb.add(add);
 
     // Create verb
-    Element cVerb2 =
+    DSynTNode cVerb2 =
         IntermediateToDSynTConverter.createVerb(
-            doc, cFrag, IntermediateToDSynTConverter.VERB_TYPE_SUBCONDITION);
-    add.appendChild(cVerb2);
+            cFrag, IntermediateToDSynTConverter.VERB_TYPE_SUBCONDITION);
+    add.add(cVerb2);
 
     // Create business object (conditional sentence)
     if (cFrag.hasBO()) {
-      cObject2 = IntermediateToDSynTConverter.createBO(doc, cFrag);
-      cVerb2.appendChild(cObject2);
+      cObject2 = IntermediateToDSynTConverter.createBO(cFrag);
+      cVerb2.add(cObject2);
     }
 
     // Create role (conditional sentence)
     if (!cFrag.getRole().equals("")) {
-      cRole2 = IntermediateToDSynTConverter.createRole(doc, cFrag);
-      cVerb2.appendChild(cRole2);
+      cRole2 = IntermediateToDSynTConverter.createRole(cFrag);
+      cVerb2.add(cRole2);
     }
 
     // Create addition
     if (!cFrag.getAddition().equals("")) {
-      IntermediateToDSynTConverter.createAddition(doc, cVerb2, cFrag);
+      IntermediateToDSynTConverter.createAddition(cVerb2, cFrag);
     }
 
     if (cFrag.getAllMods() != null) {
-      IntermediateToDSynTConverter.appendMods(doc, cFrag, cVerb2, cObject2);
+      IntermediateToDSynTConverter.appendMods(cFrag, cVerb2, cObject2);
     }
   }
 
-  public Element getVerb() {
+  public DSynTNode getVerb() {
     return verb;
   }
 
   @Override
-  public Document getDSynT() {
-    return doc;
+  public DSynTNode getDSynT() {
+    return dsynt;
   }
 
   public ConditionFragment getConditionFragment() {
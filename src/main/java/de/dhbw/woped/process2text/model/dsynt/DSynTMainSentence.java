@@ -1,16 +1,15 @@
 package de.dhbw.woped.process2text.model.dsynt;
 
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.NodeClass;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.Relation;
 import de.dhbw.woped.process2text.model.intermediate.ExecutableFragment;
 import de.dhbw.woped.process2text.service.text.planning.IntermediateToDSynTConverter;
 import java.util.ArrayList;
-import org.apache.xerces.dom.DocumentImpl;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 public class DSynTMainSentence extends DSynTSentence {
-  private Element verb;
-  private Element object;
-  private Element role;
+  private DSynTNode verb;
+  private DSynTNode object;
+  private DSynTNode role;
 
   public DSynTMainSentence(ExecutableFragment eFrag) {
     this.eFrag = eFrag;
@@ -19,83 +18,73 @@ public class DSynTMainSentence extends DSynTSentence {
 
   public void createDSynTRepresentation() {
 
-    // Create document
-    doc = new DocumentImpl();
-    Element root = doc.createElement("dsynts");
-    doc.appendChild(root);
-
-    // Create verb
+    // Create verb, the root of the DSynT
     verb =
-        IntermediateToDSynTConverter.createVerb(
-            doc, eFrag, IntermediateToDSynTConverter.VERB_TYPE_MAIN);
-    root.appendChild(verb);
+        IntermediateToDSynTConverter.createVerb(eFrag, IntermediateToDSynTConverter.VERB_TYPE_MAIN);
+    dsynt = verb;
 
     // Create business object
     if (eFrag.hasBO()) {
-      object = IntermediateToDSynTConverter.createBO(doc, eFrag);
-      verb.appendChild(object);
+      object = IntermediateToDSynTConverter.createBO(eFrag);
+      verb.add(object);
     }
 
     // Create role
     if (!eFrag.getRole().equals("")) {
-      role = IntermediateToDSynTConverter.createRole(doc, eFrag);
-      verb.appendChild(role);
+      role = IntermediateToDSynTConverter.createRole(eFrag);
+      verb.add(role);
     }
 
     // Create addition
     if (!eFrag.getAddition().equals("")) {
-      IntermediateToDSynTConverter.createAddition(doc, verb, eFrag);
+      IntermediateToDSynTConverter.createAddition(verb, eFrag);
     }
 
     // Create mods
     if (eFrag.getAllMods() != null) {
-      IntermediateToDSynTConverter.appendMods(doc, eFrag, verb, object);
+      IntermediateToDSynTConverter.appendMods(eFrag, verb, object);
     }
 
     // create additional sentences
     if (!eFrag.getSentencList().isEmpty()) {
-      IntermediateToDSynTConverter.createAddSentences(doc, verb, eFrag);
+      IntermediateToDSynTConverter.createAddSentences(verb, eFrag);
     }
   }
 
   public void changeRole() {
     // Create role
     if (!eFrag.getRole().equals("")) {
-      verb.removeChild(role);
-      role = IntermediateToDSynTConverter.createRole(doc, eFrag);
-      verb.appendChild(role);
+      verb.remove(role);
+      role = IntermediateToDSynTConverter.createRole(eFrag);
+      verb.add(role);
     }
   }
 
   public void addCoordSentences(ArrayList<DSynTMainSentence> sentences) {
     if (sentences.size() == 1) {
 
-      Element coord = doc.createElement("dsyntnode");
-      coord.setAttribute("class", "coordinating_conj");
-      coord.setAttribute("rel", "COORD");
-      coord.setAttribute("lexeme", "AND");
-      verb.appendChild(coord);
+      DSynTNode coord = new DSynTNode(NodeClass.COORDINATING_CONJ, Relation.COORD, "AND");
+      verb.add(coord);
 
-      Element cVerb =
+      DSynTNode cVerb =
           IntermediateToDSynTConverter.createVerb(
-              doc,
               sentences.get(0).getExecutableFragment(),
               IntermediateToDSynTConverter.VERB_TYPE_SUBCONDITION);
-      coord.appendChild(cVerb);
+      coord.add(cVerb);
 
-      Element cObject =
-          IntermediateToDSynTConverter.createBO(doc, sentences.get(0).getExecutableFragment());
-      cVerb.appendChild(cObject);
+      DSynTNode cObject =
+          IntermediateToDSynTConverter.createBO(sentences.get(0).getExecutableFragment());
+      cVerb.add(cObject);
     }
   }
 
-  public Element getVerb() {
+  public DSynTNode getVerb() {
     return verb;
   }
 
   @Override
-  public Document getDSynT() {
-    return doc;
+  public DSynTNode getDSynT() {
+    return dsynt;
   }
 
   @Override
@@ -0,0 +1,279 @@
+package de.dhbw.woped.process2text.model.dsynt;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import org.apache.xerces.dom.DocumentImpl;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Node of a deep-syntactic structure (DSynT) as realized by RealPro: a lexeme with its class, its
+ * relation to the parent node and further grammatical attributes such as voice or article.
+ *
+ * <p>Sentences are planned on these nodes and converted into the XML RealPro reads only when they
+ * are realized, see {@link #toDocument()}. Class and relation are enums, the other attributes are
+ * kept as name/value pairs and the children in a small array.
+ *
+ * <p>Unlike the DOM, which accepted any string, only the classes and relations RealPro is given by
+ * the sentence planning can be set. Setting another one by name, e.g. {@code set("rel", "III")},
+ * throws an {@link IllegalArgumentException}; a new one needs a constant in {@link NodeClass} or
+ * {@link Relation}.
+ */
+public final class DSynTNode {
+
+  /** Syntactic class of a node, its {@code class} attribute. */
+  public enum NodeClass {
+    VERB("verb"),
+    ADVERB("adverb"),
+    ADJECTIVE("adjective"),
+    QUANTIFIER("quantifier"),
+    COMMON_NOUN("common_noun"),
+    PROPER_NOUN("proper_noun"),
+    DEMONSTRATIVE_PRONOUN("demonstrative_pronoun"),
+    COORDINATING_CONJ("coordinating_conj"),
+    SUBORDINATING_CONJ("subordinating_conj");
+
+    private final String value;
+
+    NodeClass(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * Returns the class of the given {@code class} attribute value.
+     *
+     * @throws IllegalArgumentException if there is no such class
+     */
+    static NodeClass of(String value) {
+      for (NodeClass nodeClass : values()) {
+        if (nodeClass.value.equals(value)) {
+          return nodeClass;
+        }
+      }
+      throw new IllegalArgumentException("Unknown DSynT class: " + value);
+    }
+  }
+
+  /** Relation of a node to its parent, its {@code rel} attribute. */
+  public enum Relation {
+    NIL("nil"),
+    I("I"),
+    II("II"),
+    ATTR("ATTR"),
+    COORD("COORD");
+
+    private final String value;
+
+    Relation(String value) {
+      this.value = value;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    /**
+     * Returns the relation of the given {@code rel} attribute value.
+     *
+     * @throws IllegalArgumentException if there is no such relation
+     */
+    static Relation of(String value) {
+      for (Relation relation : values()) {
+        if (relation.value.equals(value)) {
+          return relation;
+        }
+      }
+      throw new IllegalArgumentException("Unknown DSynT relation: " + value);
+    }
+  }
+
+  private static final String CLASS = "class";
+  private static final String REL = "rel";
+  private static final String LEXEME = "lexeme";
+
+  private static final String[] NO_ATTRIBUTES = {};
+  private static final DSynTNode[] NO_CHILDREN = {};
+
+  private NodeClass nodeClass;
+  private Relation relation;
+  private String lexeme;
+
+  /** Further attributes, alternating names and values. */
+  private String[] attributes = NO_ATTRIBUTES;
+
+  private int attributeCount;
+  private DSynTNode[] children = NO_CHILDREN;
+  private int childCount;
+
+  /** Creates a node without class, relation, lexeme or attributes. */
+  public DSynTNode() {}
+
+  public DSynTNode(NodeClass nodeClass, Relation relation, String lexeme) {
+    this.nodeClass = nodeClass;
+    this.relation = relation;
+    this.lexeme = lexeme;
+  }
+
+  public NodeClass getNodeClass() {
+    return nodeClass;
+  }
+
+  public DSynTNode setNodeClass(NodeClass nodeClass) {
+    this.nodeClass = nodeClass;
+    return this;
+  }
+
+  public Relation getRelation() {
+    return relation;
+  }
+
+  public DSynTNode setRelation(Relation relation) {
+    this.relation = relation;
+    return this;
+  }
+
+  public String getLexeme() {
+    return lexeme;
+  }
+
+  public DSynTNode setLexeme(String lexeme) {
+    this.lexeme = lexeme;
+    return this;
+  }
+
+  /**
+   * Returns an attribute.
+   *
+   * @param name name of the attribute as in the RealPro XML, e.g. {@code voice}
+   * @return the value, or {@code null} if the attribute is not set
+   */
+  public String get(String name) {
+    switch (name) {
+      case CLASS:
+        return nodeClass == null ? null : nodeClass.getValue();
+      case REL:
+        return relation == null ? null : relation.getValue();
+      case LEXEME:
+        return lexeme;
+      default:
+        for (int i = 0; i < attributeCount; i += 2) {
+          if (attributes[i].equals(name)) {
+            return attributes[i + 1];
+          }
+        }
+        return null;
+    }
+  }
+
+  /**
+   * Sets an attribute, replacing its previous value.
+   *
+   * @param name name of the attribute as in the RealPro XML, e.g. {@code voice}
+   * @param value the value
+   * @return this node
+   * @throws IllegalArgumentException if a class or relation is not known
+   */
+  public DSynTNode set(String name, String value) {
+    switch (name) {
+      case CLASS:
+        return setNodeClass(NodeClass.of(value));
+      case REL:
+        return setRelation(Relation.of(value));
+      case LEXEME:
+        return setLexeme(value);
+      default:
+        for (int i = 0; i < attributeCount; i += 2) {
+          if (attributes[i].equals(name)) {
+            attributes[i + 1] = value;
+            return this;
+          }
+        }
+        if (attributeCount == attributes.length) {
+          attributes = Arrays.copyOf(attributes, Math.max(4, 2 * attributeCount));
+        }
+        attributes[attributeCount++] = name;
+        attributes[attributeCount++] = value;
+        return this;
+    }
+  }
+
+  /**
+   * Passes each attribute that is set, including class, relation and lexeme, to the action.
+   *
+   * @param action receives name and value of each attribute
+   */
+  public void forEachAttribute(BiConsumer<String, String> action) {
+    if (nodeClass != null) {
+      action.accept(CLASS, nodeClass.getValue());
+    }
+    if (relation != null) {
+      action.accept(REL, relation.getValue());
+    }
+    if (lexeme != null) {
+      action.accept(LEXEME, lexeme);
+    }
+    for (int i = 0; i < attributeCount; i += 2) {
+      action.accept(attributes[i], attributes[i + 1]);
+    }
+  }
+
+  /** Appends a child node. */
+  public void add(DSynTNode child) {
+    Objects.requireNonNull(child, "child");
+    if (childCount == children.length) {
+      children = Arrays.copyOf(children, Math.max(2, 2 * childCount));
+    }
+    children[childCount++] = child;
+  }
+
+  /**
+   * Removes a child node.
+   *
+   * @throws NoSuchElementException if {@code child} is not a child of this node
+   */
+  public void remove(DSynTNode child) {
+    for (int i = 0; i < childCount; i++) {
+      if (children[i] == child) {
+        System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+        children[--childCount] = null;
+        return;
+      }
+    }
+    throw new NoSuchElementException("Not a child of this node");
+  }
+
+  /** Returns the child nodes in order, not modifiable. */
+  public List<DSynTNode> getChildren() {
+    return Arrays.asList(Arrays.copyOf(children, childCount));
+  }
+
+  /**
+   * Converts the tree below this node into the XML RealPro realizes, with this node as the only
+   * node below the {@code dsynts} root.
+   *
+   * @return a new document
+   */
+  public Document toDocument() {
+    Document doc = new DocumentImpl();
+    Element root = doc.createElement("dsynts");
+    doc.appendChild(root);
+    root.appendChild(toElement(doc));
+    return doc;
+  }
+
+  private Element toElement(Document doc) {
+    Element element = doc.createElement("dsyntnode");
+    forEachAttribute(element::setAttribute);
+    for (int i = 0; i < childCount; i++) {
+      element.appendChild(children[i].toElement(doc));
+    }
+    return element;
+  }
+}
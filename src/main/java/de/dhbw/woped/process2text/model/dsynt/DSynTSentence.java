@@ -1,14 +1,14 @@
 package de.dhbw.woped.process2text.model.dsynt;
 
 import de.dhbw.woped.process2text.model.intermediate.ExecutableFragment;
-import org.w3c.dom.Document;
 
 public abstract class DSynTSentence {
-  Document doc;
+  DSynTNode dsynt;
   ExecutableFragment eFrag;
 
-  public Document getDSynT() {
-    return doc;
+  /** Returns the root of the sentence's DSynT, see {@link DSynTNode#toDocument()}. */
+  public DSynTNode getDSynT() {
+    return dsynt;
   }
 
   public ExecutableFragment getExecutableFragment() {
@@ -13,6 +13,13 @@ public class Annotation {
     addition = "";
   }
 
+  /** Copy constructor. */
+  public Annotation(Annotation other) {
+    actions = new ArrayList<>(other.actions);
+    businessObjects = new ArrayList<>(other.businessObjects);
+    addition = other.addition;
+  }
+
   void addAction(String action) {
     actions.add(action);
   }
@@ -0,0 +1,37 @@
+package de.dhbw.woped.process2text.model.process;
+
+/** Data Transfer Object holding the outcome of one model of a batch. */
+public class GeneratedTextDTO {
+
+  public GeneratedTextDTO(int index, String text, String error, long durationMillis) {
+    this.index = index;
+    this.text = text;
+    this.error = error;
+    this.durationMillis = durationMillis;
+  }
+
+  private final int index;
+  private final String text;
+  private final String error;
+  private final long durationMillis;
+
+  /** Position of the model in the request. */
+  public int getIndex() {
+    return index;
+  }
+
+  /** The generated text, or {@code null} if the generation failed. */
+  public String getText() {
+    return text;
+  }
+
+  /** Why the generation failed, or {@code null} if it succeeded. */
+  public String getError() {
+    return error;
+  }
+
+  /** Time spent generating the text, excluding the wait for a worker. */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+}
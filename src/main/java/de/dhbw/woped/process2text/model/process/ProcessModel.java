@@ -3,6 +3,7 @@ package de.dhbw.woped.process2text.model.process;
 import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelDeriver;
 import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelHelper;
 import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelProperties;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -77,72 +78,109 @@ public class ProcessModel {
   }
 
   public void annotateModel(EnglishLabelDeriver lDeriver, EnglishLabelHelper lHelper) {
+    annotateModel(lDeriver, lHelper, LabelAnnotationCache.DISABLED);
+  }
+
+  /**
+   * Annotates every activity with the action, business object and addition of its label. Each
+   * distinct label is analyzed once per model and, through the given cache, once across models.
+   *
+   * @param lDeriver label deriver, built on {@code lHelper}
+   * @param lHelper label helper
+   * @param cache cross-request cache of label annotations
+   */
+  public void annotateModel(
+      EnglishLabelDeriver lDeriver, EnglishLabelHelper lHelper, LabelAnnotationCache cache) {
+    Map<String, Annotation> analyzed = new HashMap<>();
     for (Activity a : activities.values()) {
-      EnglishLabelProperties props = new EnglishLabelProperties();
-      try {
-        String label = a.getLabel().toLowerCase().replaceAll("\n", " ");
+      if (a.getLabel() == null) {
+        logger.error("Activity {} has no label", a.getId());
+        continue;
+      }
+      Annotation anno =
+          analyzed.computeIfAbsent(
+              a.getLabel(),
+              label ->
+                  cache.get(
+                      lHelper.getAnalysisContext(),
+                      label,
+                      l -> analyzeLabel(l, lDeriver, lHelper)));
+      if (anno != null) {
+        a.addAnnotation(new Annotation(anno));
+      }
+    }
+  }
 
-        label = label.replaceAll(" {2}", " ");
+  /**
+   * Derives the annotation of a single activity label.
+   *
+   * @return the annotation, or {@code null} if the label could not be analyzed
+   */
+  private Annotation analyzeLabel(
+      String activityLabel, EnglishLabelDeriver lDeriver, EnglishLabelHelper lHelper) {
+    EnglishLabelProperties props = new EnglishLabelProperties();
+    try {
+      String label = activityLabel.toLowerCase().replaceAll("\n", " ");
 
-        if (label.contains(GLOSSARY)) {
-          label = label.replace(GLOSSARY, "");
-          label = label.substring(label.indexOf("/") + 1, label.length());
-          label = label.replace(";;", "");
-        }
+      label = label.replaceAll(" {2}", " ");
 
-        String[] labelSplit = label.split(" ");
-        lDeriver.deriveFromVOS(a.getLabel(), labelSplit, props);
-        Annotation anno = new Annotation();
-
-        // No Conjunction label
-        if (!props.hasConjunction()) {
-
-          // If no verb-object label
-          if (!lHelper.isVerb(labelSplit[0])) {
-            anno.addAction("conduct");
-            anno.addBusinessObjects(a.getLabel().toLowerCase());
-            a.addAnnotation(anno);
-
-            // If verb-object label
-          } else {
-            anno.addAction(props.getAction());
-            String bo = props.getBusinessObject();
-            if (bo.startsWith("the ")) {
-              bo = bo.replace("the ", "");
-            }
-            if (bo.startsWith("an ")) {
-              bo = bo.replace("an ", "");
-            }
-            anno.addBusinessObjects((bo));
-            String add = props.getAdditionalInfo();
-            String[] splitAdd = add.split(" ");
-            if (splitAdd.length > 2 && splitAdd[1].equals("the")) {
-              add = add.replace("the ", "");
-            }
-            anno.setAddition(add);
-            a.addAnnotation(anno);
-          }
-          // Conjunction label
+      if (label.contains(GLOSSARY)) {
+        label = label.replace(GLOSSARY, "");
+        label = label.substring(label.indexOf("/") + 1, label.length());
+        label = label.replace(";;", "");
+      }
+
+      String[] labelSplit = label.split(" ");
+      lDeriver.deriveFromVOS(activityLabel, labelSplit, props);
+      Annotation anno = new Annotation();
+
+      // No Conjunction label
+      if (!props.hasConjunction()) {
+
+        // If no verb-object label
+        if (!lHelper.isVerb(labelSplit[0])) {
+          anno.addAction("conduct");
+          anno.addBusinessObjects(activityLabel.toLowerCase());
+
+          // If verb-object label
         } else {
-          for (String action : props.getMultipleActions()) {
-            anno.addAction(action);
+          anno.addAction(props.getAction());
+          String bo = props.getBusinessObject();
+          if (bo.startsWith("the ")) {
+            bo = bo.replace("the ", "");
+          }
+          if (bo.startsWith("an ")) {
+            bo = bo.replace("an ", "");
+          }
+          anno.addBusinessObjects((bo));
+          String add = props.getAdditionalInfo();
+          String[] splitAdd = add.split(" ");
+          if (splitAdd.length > 2 && splitAdd[1].equals("the")) {
+            add = add.replace("the ", "");
+          }
+          anno.setAddition(add);
+        }
+        // Conjunction label
+      } else {
+        for (String action : props.getMultipleActions()) {
+          anno.addAction(action);
+        }
+        for (String bo : props.getMultipleBOs()) {
+          String temp = bo;
+          if (temp.startsWith("the ")) {
+            temp = temp.replace("the ", "");
           }
-          for (String bo : props.getMultipleBOs()) {
-            String temp = bo;
-            if (temp.startsWith("the ")) {
-              temp = temp.replace("the ", "");
-            }
-            if (temp.startsWith("an ")) {
-              temp = temp.replace("an ", "");
-            }
-            anno.addBusinessObjects(temp);
+          if (temp.startsWith("an ")) {
+            temp = temp.replace("an ", "");
           }
-          anno.setAddition("");
-          a.addAnnotation(anno);
+          anno.addBusinessObjects(temp);
         }
-      } catch (Exception e) {
-        logger.error(e.getLocalizedMessage());
+        anno.setAddition("");
       }
+      return anno;
+    } catch (Exception e) {
+      logger.error(e.getLocalizedMessage());
+      return null;
     }
   }
 
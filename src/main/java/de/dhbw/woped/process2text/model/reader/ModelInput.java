@@ -0,0 +1,174 @@
+package de.dhbw.woped.process2text.model.reader;
+
+import de.dhbw.woped.process2text.model.reader.pnml.PNMLReader;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * A submitted process model together with its format and its parsed form.
+ *
+ * <p>The format is sniffed from the root element without reading the rest of the document. The
+ * model itself is parsed at most once, on first access, into a {@link PetriNet} for PNML or a DOM
+ * {@link Document} for BPMN, and the result is shared by everyone reading this input.
+ */
+public final class ModelInput {
+
+  /** Format of a process model, determined by its root element. */
+  public enum Format {
+    PNML,
+    BPMN,
+    UNKNOWN
+  }
+
+  private static final XMLInputFactory FACTORY = createFactory();
+
+  private final String text;
+  private final byte[] bytes;
+  private final Format format;
+  private final ObjLongConsumer<Format> parseListener;
+
+  private final ReentrantLock parseLock = new ReentrantLock();
+  private boolean parsed;
+  private PetriNet petriNet;
+  private Document bpmnDocument;
+  private Exception parseError;
+
+  private ModelInput(String text, ObjLongConsumer<Format> parseListener) {
+    this.text = text;
+    this.bytes = text.getBytes(StandardCharsets.UTF_8);
+    this.format = detectFormat(bytes);
+    this.parseListener = parseListener;
+  }
+
+  /**
+   * Determines the format of the given model. Nothing beyond the root element is read yet.
+   *
+   * @param text the PNML or BPMN document
+   * @return the input, with format {@link Format#UNKNOWN} if the root element is neither {@code
+   *     pnml} nor {@code definitions} or the document is not XML
+   */
+  public static ModelInput sniff(String text) {
+    return sniff(text, (format, nanos) -> {});
+  }
+
+  /**
+   * Like {@link #sniff(String)}, additionally reporting the duration of the parse once it happens.
+   *
+   * @param text the PNML or BPMN document
+   * @param parseListener receives the format and the parse duration in nanoseconds
+   * @return the input
+   */
+  public static ModelInput sniff(String text, ObjLongConsumer<Format> parseListener) {
+    return new ModelInput(text, parseListener);
+  }
+
+  private static XMLInputFactory createFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  private static Format detectFormat(byte[] bytes) {
+    try {
+      XMLStreamReader reader = FACTORY.createXMLStreamReader(new ByteArrayInputStream(bytes));
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+            String root = reader.getLocalName();
+            root = root.substring(root.indexOf(':') + 1);
+            if (root.equalsIgnoreCase("pnml")) {
+              return Format.PNML;
+            }
+            return root.equalsIgnoreCase("definitions") ? Format.BPMN : Format.UNKNOWN;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      // Not XML at all
+    }
+    return Format.UNKNOWN;
+  }
+
+  public Format getFormat() {
+    return format;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public int getByteCount() {
+    return bytes.length;
+  }
+
+  /**
+   * Returns the parsed Petri net of a PNML input.
+   *
+   * @return the net, or {@code null} if the input is not PNML or could not be read
+   */
+  public PetriNet getPetriNet() {
+    parse();
+    return petriNet;
+  }
+
+  /**
+   * Returns the parsed document of a BPMN input.
+   *
+   * @return the normalized document, or {@code null} if the input is not BPMN
+   * @throws IOException if the document cannot be parsed
+   */
+  public Document getBpmnDocument() throws IOException {
+    parse();
+    if (parseError != null) {
+      throw new IOException("BPMN document could not be parsed", parseError);
+    }
+    return bpmnDocument;
+  }
+
+  private void parse() {
+    parseLock.lock();
+    try {
+      if (!parsed) {
+        parsed = true;
+        parseNow();
+      }
+    } finally {
+      parseLock.unlock();
+    }
+  }
+
+  private void parseNow() {
+    long start = System.nanoTime();
+    if (format == Format.PNML) {
+      petriNet = new PNMLReader().getPetriNetFromPNMLString(new ByteArrayInputStream(bytes));
+    } else if (format == Format.BPMN) {
+      try {
+        bpmnDocument =
+            DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(new ByteArrayInputStream(bytes));
+        bpmnDocument.getDocumentElement().normalize();
+      } catch (ParserConfigurationException | SAXException | IOException e) {
+        parseError = e;
+      }
+    } else {
+      return;
+    }
+    parseListener.accept(format, System.nanoTime() - start);
+  }
+}
@@ -23,13 +23,27 @@ public class BPMNReader {
 
   public ProcessModel getProcessModelFromBPMNString(InputStream input) {
     try {
-      transformedElemsRev = new HashMap<>();
       // Umwandlung des Inputstream in die Klasse Document zur einfacheren Weiterverarbeitung
       DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
       DocumentBuilder db = dbf.newDocumentBuilder();
       Document doc = db.parse(input);
       doc.getDocumentElement().normalize();
+      return getProcessModelFromBPMNDocument(doc);
+    } catch (Exception e) {
+      logger.error(e.getLocalizedMessage());
+    }
+    return null;
+  }
 
+  /**
+   * Builds the process model from an already parsed and normalized BPMN document.
+   *
+   * @param doc the BPMN document, only read
+   * @return the process model, or {@code null} if the document could not be processed
+   */
+  public ProcessModel getProcessModelFromBPMNDocument(Document doc) {
+    try {
+      transformedElemsRev = new HashMap<>();
       // Initialisierung des ProcessModels
       ProcessModel model = new ProcessModel();
       // Aufruf von Extractpool --> ruft alle anderen Extractmethoden außer extractArc auf
@@ -1,134 +1,210 @@
 package de.dhbw.woped.process2text.model.reader.pnml;
 
 import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Arc;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element;
 import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
 import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Place;
 import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Transition;
 import java.io.InputStream;
-import java.util.HashMap;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
+/**
+ * Reads a PNML document into a {@link PetriNet} in a single pass with a StAX pull parser.
+ *
+ * <p>Places, transitions and arcs are created as soon as their element ends; {@code graphics}
+ * subtrees and other layout data are skipped without building anything. The reader keeps no state
+ * between calls and may be shared between threads.
+ *
+ * <p>The net is assembled in the same way the former DOM based reader did: all places first, then
+ * all transitions, then all arcs in document order, so that duplicate ids resolve identically. The
+ * label of a place or transition is the text of its last grandchild whose name contains "text".
+ */
 public class PNMLReader {
 
   Logger logger = LoggerFactory.getLogger(PNMLReader.class);
 
+  private static final XMLInputFactory FACTORY = createFactory();
+
+  private static final String NONE = "none";
+
   public PetriNet getPetriNetFromPNMLString(InputStream input) {
     try {
-      DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-      DocumentBuilder db = dbf.newDocumentBuilder();
-      Document doc = db.parse(input);
-      doc.getDocumentElement().normalize();
-      PetriNet petriNet = new PetriNet();
-      extractElements(doc, "place", petriNet);
-      extractElements(doc, "transition", petriNet);
-      extractFlow(doc, petriNet);
-
-      return petriNet;
+      return read(input);
     } catch (Exception e) {
       logger.error(e.getLocalizedMessage());
     }
     return null;
   }
 
-  private static void extractFlow(Document doc, PetriNet petriNet) {
-    NodeList list = doc.getElementsByTagName("arc");
-    for (int i = 0; i < list.getLength(); i++) {
-      Node fstNode = list.item(i);
-      Element arc = (Element) fstNode;
-      String id = (arc.getAttribute("id").toString());
-      String source = arc.getAttribute("source");
-      String target = arc.getAttribute("target");
+  private static XMLInputFactory createFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  private static PetriNet read(InputStream input) throws XMLStreamException {
+    List<Element> places = new ArrayList<>();
+    List<Element> transitions = new ArrayList<>();
+    List<String[]> arcs = new ArrayList<>();
+
+    XMLStreamReader reader = FACTORY.createXMLStreamReader(input);
+    try {
+      while (reader.hasNext()) {
+        if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+          continue;
+        }
+        switch (name(reader)) {
+          case "place" -> addIfLabeled(readElement(reader, true), places);
+          case "transition" -> addIfLabeled(readElement(reader, false), transitions);
+          case "arc" ->
+              arcs.add(
+                  new String[] {
+                    attribute(reader, "id"),
+                    attribute(reader, "source"),
+                    attribute(reader, "target")
+                  });
+          default -> {}
+        }
+      }
+    } finally {
+      reader.close();
+    }
 
+    PetriNet petriNet = new PetriNet();
+    places.forEach(petriNet::addElements);
+    transitions.forEach(petriNet::addElements);
+    for (String[] arc : arcs) {
       // If there is already an arc with the same ID --> new ID neccessary
-      // Hashmap to check for existing arcs
-      HashMap<String, Arc> arcs = petriNet.getArcs();
-      while (arcs.keySet().contains(id)) {
+      String id = arc[0];
+      Map<String, Arc> existing = petriNet.getArcs();
+      while (existing.containsKey(id)) {
         id = id + "_exists";
       }
+      petriNet.addArc(new Arc(id, arc[1], arc[2]));
+    }
+    return petriNet;
+  }
 
-      petriNet.addArc(new Arc(id, source, target));
+  private static void addIfLabeled(Element element, List<Element> elements) {
+    if (element != null) {
+      elements.add(element);
     }
   }
 
-  public static String role;
-  public static String group;
-  public static String trigger;
-
-  private static void extractElements(Document doc, String type, PetriNet petriNet) {
-    NodeList list = doc.getElementsByTagName(type);
-    for (int i = 0; i < list.getLength(); i++) {
-      Node fstNode = list.item(i);
-      Element element = (Element) fstNode;
-      String id = (element.getAttribute("id").toString());
-      NodeList fstNodeElems = fstNode.getChildNodes();
-      String operatortype = "none";
-      role = "none";
-      group = "none";
-      trigger = "none";
-      // -------- CHECK FOR OPERATOR TYPE---------------
-      for (int o = 0; o < fstNodeElems.getLength(); o++) {
-        Node n1 = fstNodeElems.item(o);
-        if (n1.getNodeName().equals("toolspecific")) {
-          NodeList n1NodeElems = n1.getChildNodes();
-          for (int u = 0; u < n1NodeElems.getLength(); u++) {
-            Node n2 = n1NodeElems.item(u);
-            if (n2.getNodeName().equals("operator")) {
-              Element n2Elem = (Element) n2;
-              operatortype = n2Elem.getAttribute("type");
-            }
-          }
-        }
+  /**
+   * Reads a place or transition, positioned on its start tag, up to its end tag.
+   *
+   * @return the element, or {@code null} if it has no label
+   */
+  private static Element readElement(XMLStreamReader reader, boolean place)
+      throws XMLStreamException {
+    String id = attribute(reader, "id");
+    String label = null;
+    String operatorType = NONE;
+    String role = NONE;
+    String group = NONE;
+    String trigger = NONE;
+
+    while (nextChild(reader)) {
+      String child = name(reader);
+      if (child.equals("graphics")) {
+        skip(reader);
+        continue;
       }
-      // --------------------------------------------
-
-      // -------- CHECK FOR RESOURCE-----------------
-      for (int o = 0; o < fstNodeElems.getLength(); o++) {
-        Node n1 = fstNodeElems.item(o);
-        if (n1.getNodeName().equals("toolspecific")) {
-          NodeList n1NodeElems = n1.getChildNodes();
-          for (int u = 0; u < n1NodeElems.getLength(); u++) {
-            Node n2 = n1NodeElems.item(u);
-            if (n2.getNodeName().equals("transitionResource")) {
-              Element n2Elem = (Element) n2;
-              role = n2Elem.getAttribute("roleName");
-              group = n2Elem.getAttribute("organizationalUnitName");
-            }
-            if (n2.getNodeName().equals("trigger")) {
-              Element n2Elem = (Element) n2;
-              trigger = n2Elem.getAttribute("type");
-            }
-          }
+      boolean toolspecific = child.equals("toolspecific");
+      while (nextChild(reader)) {
+        String grandchild = name(reader);
+        if (toolspecific && grandchild.equals("operator")) {
+          operatorType = attribute(reader, "type");
+        } else if (toolspecific && grandchild.equals("transitionResource")) {
+          role = attribute(reader, "roleName");
+          group = attribute(reader, "organizationalUnitName");
+        } else if (toolspecific && grandchild.equals("trigger")) {
+          trigger = attribute(reader, "type");
         }
-      }
-      // -------------------------------------------
-      for (int j = 0; j < fstNodeElems.getLength(); j++) {
-        Node sndNode = fstNodeElems.item(j);
-        NodeList sndNodeElems = sndNode.getChildNodes();
-        for (int k = 0; k < sndNodeElems.getLength(); k++) {
-          Node thdNode = sndNodeElems.item(k);
-          if (thdNode.getNodeType() == Node.ELEMENT_NODE
-              && thdNode.getNodeName().contains("text")) {
-            if (type.equals("place")) {
-              petriNet.addElements(new Place(id, thdNode.getTextContent()));
-            } else {
-              petriNet.addElements(
-                  new Transition(id, thdNode.getTextContent(), role, group, operatortype, trigger));
-            }
-          }
+        if (grandchild.contains("text")) {
+          label = text(reader);
+        } else {
+          skip(reader);
         }
       }
     }
+
+    if (label == null) {
+      return null;
+    }
+    return place
+        ? new Place(id, label)
+        : new Transition(id, label, role, group, operatorType, trigger);
+  }
+
+  /**
+   * Advances to the next child element of the current element.
+   *
+   * @return true if positioned on the start tag of a child, false if positioned on the end tag of
+   *     the current element
+   */
+  private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+    while (true) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        return true;
+      }
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        return false;
+      }
+    }
+  }
+
+  /** Skips the current element including all of its descendants. */
+  private static void skip(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /** Returns the text of the current element and its descendants, like DOM's textContent. */
+  private static String text(XMLStreamReader reader) throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT -> depth++;
+        case XMLStreamConstants.END_ELEMENT -> depth--;
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+            text.append(reader.getText());
+        default -> {}
+      }
+    }
+    return text.toString();
+  }
+
+  /** Qualified name as written in the document, matching DOM's non namespace aware node names. */
+  private static String name(XMLStreamReader reader) {
+    String prefix = reader.getPrefix();
+    return prefix == null || prefix.isEmpty()
+        ? reader.getLocalName()
+        : prefix + ":" + reader.getLocalName();
   }
 
-  public void test() {
-    logger.info(role);
-    logger.info(group);
+  /** Attribute value, or an empty string if the attribute is missing. */
+  private static String attribute(XMLStreamReader reader, String name) {
+    String value = reader.getAttributeValue(null, name);
+    return value == null ? "" : value;
   }
 }
@@ -54,7 +54,7 @@ public class PetriNetToProcessConverter {
   }
 
   private int x = 0;
-  private static String xorTitle;
+  private String xorTitle;
 
   private void transformElem(
       Element elem, int precElem, PetriNet petriNet, ProcessModel model, Pool pool, Lane lane) {
@@ -68,8 +68,7 @@ public class PetriNetToProcessConverter {
         places++;
 
         // Simple place with 1 or more incoming and no outgoing arc
-        if (petriNet.getSuccessor(elemId).isEmpty()
-            && petriNet.getPredecessor(elemId).size() == 1) {
+        if (petriNet.getSuccessorCount(elemId) == 0 && petriNet.getPredecessorCount(elemId) == 1) {
           loopSet[x] = elemId + ": simple place, no ougoing arc";
           x++;
           int newActivityId = model.getNewId();
@@ -91,8 +90,7 @@ public class PetriNetToProcessConverter {
         }
 
         // Simple place with 1 incoming and one outgoing arc
-        if (petriNet.getSuccessor(elemId).size() == 1
-            && petriNet.getPredecessor(elemId).size() <= 1) {
+        if (petriNet.getSuccessorCount(elemId) == 1 && petriNet.getPredecessorCount(elemId) <= 1) {
           loopSet[x] = elemId + ": simple place, one incoming, one outgoing arc";
           x++;
           String suc = petriNet.getSuccessor(elemId).get(0);
@@ -100,8 +98,7 @@ public class PetriNetToProcessConverter {
         }
 
         //  Place with multiple outgoing arcs (XOR-Join)
-        if (petriNet.getSuccessor(elemId).size() >= 0
-            && petriNet.getPredecessor(elemId).size() > 1) {
+        if (petriNet.getSuccessorCount(elemId) >= 0 && petriNet.getPredecessorCount(elemId) > 1) {
           xorJoin++;
           loopSet[x] = elemId + ": XOR Join";
           x++;
@@ -116,7 +113,7 @@ public class PetriNetToProcessConverter {
           }
 
           // if it is 0, there is no successor ...
-          if (!petriNet.getSuccessor(elemId).isEmpty()) {
+          if (petriNet.getSuccessorCount(elemId) > 0) {
             // Recursively go through the model
             String suc = petriNet.getSuccessor(elemId).get(0);
             transformElem(petriNet.getElements().get(suc), newId, petriNet, model, pool, lane);
@@ -130,8 +127,7 @@ public class PetriNetToProcessConverter {
         }
 
         // Place with multiple incoming arcs (XOR-Split)
-        if (petriNet.getSuccessor(elemId).size() > 1
-            && petriNet.getPredecessor(elemId).size() >= 0) {
+        if (petriNet.getSuccessorCount(elemId) > 1 && petriNet.getPredecessorCount(elemId) >= 0) {
           xorSplit++;
           loopSet[x] = elemId + ": XOR Split";
           x++;
@@ -147,7 +143,7 @@ public class PetriNetToProcessConverter {
             // WoPeD XOR!! --> WoPeD specific operator
             // Get Label from Successor --> XOR Label
             String sucId = pr.get(0);
-            HashMap<String, de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element> elems =
+            Map<String, de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element> elems =
                 petriNet.getElements();
             de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element sucXOR =
                 elems.get(sucId);
@@ -207,8 +203,7 @@ public class PetriNetToProcessConverter {
       } else {
         transitions++;
         // Simple transition with 1 incoming and one outgoing arc
-        if (petriNet.getSuccessor(elemId).size() == 1
-            && petriNet.getPredecessor(elemId).size() == 1) {
+        if (petriNet.getSuccessorCount(elemId) == 1 && petriNet.getPredecessorCount(elemId) == 1) {
           loopSet[x] =
               elemId
                   + ": simple transition, one incoming, one outgoing arc, Type: "
@@ -233,7 +228,7 @@ public class PetriNetToProcessConverter {
             // Get Label from Successor --> Place Label
             ArrayList<String> pr = petriNet.getSuccessor(elemId);
             String sucId = pr.get(0);
-            HashMap<String, de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element> elems =
+            Map<String, de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element> elems =
                 petriNet.getElements();
             de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element sucXOR =
                 elems.get(sucId);
@@ -348,8 +343,7 @@ public class PetriNetToProcessConverter {
         }
 
         //  Transition with multiple incoming arcs (AND-Join)
-        if (petriNet.getSuccessor(elemId).size() == 1
-            && petriNet.getPredecessor(elemId).size() > 1) {
+        if (petriNet.getSuccessorCount(elemId) == 1 && petriNet.getPredecessorCount(elemId) > 1) {
           loopSet[x] = elemId + ": AND Join";
           andJoin++;
           String label = elem.getLabel();
@@ -382,8 +376,7 @@ public class PetriNetToProcessConverter {
         }
 
         //  Transition with multiple incoming arcs (AND-Split)
-        if (petriNet.getSuccessor(elemId).size() > 1
-            && petriNet.getPredecessor(elemId).size() == 1) {
+        if (petriNet.getSuccessorCount(elemId) > 1 && petriNet.getPredecessorCount(elemId) == 1) {
           loopSet[x] = elemId + ": AND Split";
           andSplit++;
 
@@ -1,59 +1,180 @@
 package de.dhbw.woped.process2text.model.reader.pnml.petri_net;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Petri net as read from PNML.
+ *
+ * <p>Predecessor and successor queries are answered from a forward and a backward adjacency index
+ * in compressed form (one offset array and one neighbour array per direction, indexed by int node
+ * numbers). The index is built in a single pass over the arcs on the first query after the net was
+ * modified, so a loaded net costs linear time to index and every later query only touches the
+ * neighbours of the node. Neighbours are listed in the iteration order of {@link #getArcs()}, as
+ * before, which the conversion relies on for its traversal order.
+ *
+ * <p>{@link #getElements()} and {@link #getArcs()} are read-only views; the net changes only
+ * through {@link #addElements(Element)} and {@link #addArc(Arc)}, which drop the index.
+ */
 public class PetriNet {
   private final HashMap<String, Element> elements;
   private final HashMap<String, Arc> arcs;
 
+  private Index index;
+
   public PetriNet() {
     elements = new HashMap<>();
     arcs = new HashMap<>();
   }
 
-  public HashMap<String, Element> getElements() {
-    return elements;
+  public Map<String, Element> getElements() {
+    return Collections.unmodifiableMap(elements);
   }
 
   public void addElements(Element element) {
     this.elements.put(element.getId(), element);
+    index = null;
   }
 
-  public HashMap<String, Arc> getArcs() {
-    return arcs;
+  public Map<String, Arc> getArcs() {
+    return Collections.unmodifiableMap(arcs);
   }
 
   public void addArc(Arc arc) {
     this.arcs.put(arc.getId(), arc);
+    index = null;
   }
 
+  /** Returns the first element without incoming arcs, or an empty string if there is none. */
   public String getStartPlace() {
-    for (Element elem : elements.values()) {
-      if (getPredecessor(elem.getId()).isEmpty()) {
-        return elem.getId();
-      }
-    }
-    return "";
+    List<String> sources = getSources();
+    return sources.isEmpty() ? "" : sources.get(0);
+  }
+
+  /** Elements without incoming arcs, in the iteration order of {@link #getElements()}. */
+  public List<String> getSources() {
+    return index().sources;
+  }
+
+  /** Elements without outgoing arcs, in the iteration order of {@link #getElements()}. */
+  public List<String> getSinks() {
+    return index().sinks;
   }
 
   public ArrayList<String> getPredecessor(String id) {
-    ArrayList<String> pres = new ArrayList<>();
-    for (Arc arc : arcs.values()) {
-      if (arc.getTarget().equals(id)) {
-        pres.add(arc.getSource());
-      }
-    }
-    return pres;
+    Index idx = index();
+    return idx.neighbours(id, idx.predecessorOffsets, idx.predecessors);
   }
 
   public ArrayList<String> getSuccessor(String id) {
-    ArrayList<String> sucs = new ArrayList<>();
-    for (Arc arc : arcs.values()) {
-      if (arc.getSource().equals(id)) {
-        sucs.add(arc.getTarget());
+    Index idx = index();
+    return idx.neighbours(id, idx.successorOffsets, idx.successors);
+  }
+
+  public int getPredecessorCount(String id) {
+    Index idx = index();
+    return idx.degree(id, idx.predecessorOffsets);
+  }
+
+  public int getSuccessorCount(String id) {
+    Index idx = index();
+    return idx.degree(id, idx.successorOffsets);
+  }
+
+  private Index index() {
+    if (index == null) {
+      index = new Index(elements, arcs);
+    }
+    return index;
+  }
+
+  /** Immutable adjacency index of one state of the net. */
+  private static final class Index {
+    private final HashMap<String, Integer> nodes = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final int[] successorOffsets;
+    private final int[] successors;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+    private final List<String> sources;
+    private final List<String> sinks;
+
+    Index(Map<String, Element> elements, Map<String, Arc> arcs) {
+      for (String id : elements.keySet()) {
+        node(id);
+      }
+      int[] arcSources = new int[arcs.size()];
+      int[] arcTargets = new int[arcs.size()];
+      int a = 0;
+      for (Arc arc : arcs.values()) {
+        arcSources[a] = node(arc.getSource());
+        arcTargets[a] = node(arc.getTarget());
+        a++;
+      }
+
+      int n = ids.size();
+      successorOffsets = new int[n + 1];
+      predecessorOffsets = new int[n + 1];
+      for (int i = 0; i < a; i++) {
+        successorOffsets[arcSources[i] + 1]++;
+        predecessorOffsets[arcTargets[i] + 1]++;
+      }
+      for (int i = 0; i < n; i++) {
+        successorOffsets[i + 1] += successorOffsets[i];
+        predecessorOffsets[i + 1] += predecessorOffsets[i];
+      }
+      successors = new int[a];
+      predecessors = new int[a];
+      int[] nextSuccessor = successorOffsets.clone();
+      int[] nextPredecessor = predecessorOffsets.clone();
+      for (int i = 0; i < a; i++) {
+        successors[nextSuccessor[arcSources[i]]++] = arcTargets[i];
+        predecessors[nextPredecessor[arcTargets[i]]++] = arcSources[i];
+      }
+
+      List<String> sourceList = new ArrayList<>();
+      List<String> sinkList = new ArrayList<>();
+      for (String id : elements.keySet()) {
+        int node = nodes.get(id);
+        if (predecessorOffsets[node] == predecessorOffsets[node + 1]) {
+          sourceList.add(id);
+        }
+        if (successorOffsets[node] == successorOffsets[node + 1]) {
+          sinkList.add(id);
+        }
+      }
+      sources = Collections.unmodifiableList(sourceList);
+      sinks = Collections.unmodifiableList(sinkList);
+    }
+
+    private int node(String id) {
+      Integer node = nodes.get(id);
+      if (node == null) {
+        node = ids.size();
+        nodes.put(id, node);
+        ids.add(id);
+      }
+      return node;
+    }
+
+    int degree(String id, int[] offsets) {
+      Integer node = nodes.get(id);
+      return node == null ? 0 : offsets[node + 1] - offsets[node];
+    }
+
+    ArrayList<String> neighbours(String id, int[] offsets, int[] neighbours) {
+      Integer node = nodes.get(id);
+      if (node == null) {
+        return new ArrayList<>();
+      }
+      ArrayList<String> result = new ArrayList<>(offsets[node + 1] - offsets[node]);
+      for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+        result.add(ids.get(neighbours[i]));
       }
+      return result;
     }
-    return sucs;
   }
 }
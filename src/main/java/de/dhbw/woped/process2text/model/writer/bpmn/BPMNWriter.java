@@ -0,0 +1,194 @@
+package de.dhbw.woped.process2text.model.writer.bpmn;
+
+import de.dhbw.woped.process2text.model.process.Activity;
+import de.dhbw.woped.process2text.model.process.ActivityType;
+import de.dhbw.woped.process2text.model.process.Arc;
+import de.dhbw.woped.process2text.model.process.Element;
+import de.dhbw.woped.process2text.model.process.Gateway;
+import de.dhbw.woped.process2text.model.process.GatewayType;
+import de.dhbw.woped.process2text.model.process.ProcessModel;
+import de.dhbw.woped.process2text.model.reader.bpmn.BPMNReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes a {@link ProcessModel} as BPMN 2.0 document, e.g. to describe a PNML model to an LLM
+ * without the remote transformer.
+ *
+ * <p>Activities become tasks or sub-processes, gateways keep their type and arcs become sequence
+ * flows. A start event leads to every element without incoming arcs and every element without
+ * outgoing arcs leads to an end event. Each flow node is placed in the lane of its role, or in an
+ * unnamed lane if it has none, as the {@link BPMNReader} expects. No diagram is written.
+ */
+public class BPMNWriter {
+
+  private static final String BPMN_NS = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+  private static final String PREFIX = "bpmn";
+
+  private static final String START_EVENT = "StartEvent_1";
+  private static final String END_EVENT = "EndEvent_1";
+
+  private static final XMLOutputFactory FACTORY = XMLOutputFactory.newInstance();
+
+  /**
+   * Writes the given process model.
+   *
+   * @param model the process model, only read
+   * @return the BPMN document
+   * @throws XMLStreamException if the document cannot be written
+   */
+  public String write(ProcessModel model) throws XMLStreamException {
+    Map<Integer, Element> nodes = new TreeMap<>();
+    nodes.putAll(model.getActivites());
+    nodes.putAll(model.getEvents());
+    nodes.putAll(model.getGateways());
+    List<Arc> arcs = new ArrayList<>();
+    Set<Integer> withIncoming = new HashSet<>();
+    Set<Integer> withOutgoing = new HashSet<>();
+    for (Arc arc : model.getArcs().values()) {
+      if (arc.getSource() != null && arc.getTarget() != null) {
+        arcs.add(arc);
+        withOutgoing.add(arc.getSource().getId());
+        withIncoming.add(arc.getTarget().getId());
+      }
+    }
+    arcs.sort(Comparator.comparingInt(Arc::getId));
+
+    // The unnamed lane comes first and holds the events and all elements without a role
+    Map<String, List<String>> lanes = new LinkedHashMap<>();
+    lanes.put("", new ArrayList<>(List.of(START_EVENT, END_EVENT)));
+    for (Element node : nodes.values()) {
+      lanes.computeIfAbsent(laneName(node), name -> new ArrayList<>()).add(id(node));
+    }
+
+    StringWriter out = new StringWriter();
+    XMLStreamWriter xml = FACTORY.createXMLStreamWriter(out);
+    xml.writeStartDocument("UTF-8", "1.0");
+    newLine(xml, 0);
+    xml.writeStartElement(PREFIX, "definitions", BPMN_NS);
+    xml.writeNamespace(PREFIX, BPMN_NS);
+    xml.writeAttribute("id", "Definitions_1");
+    xml.writeAttribute("targetNamespace", "http://bpmn.io/schema/bpmn");
+    newLine(xml, 1);
+    xml.writeStartElement(PREFIX, "process", BPMN_NS);
+    xml.writeAttribute("id", "Process_1");
+    xml.writeAttribute("isExecutable", "false");
+
+    newLine(xml, 2);
+    xml.writeStartElement(PREFIX, "laneSet", BPMN_NS);
+    xml.writeAttribute("id", "LaneSet_1");
+    int laneNumber = 0;
+    for (Map.Entry<String, List<String>> lane : lanes.entrySet()) {
+      newLine(xml, 3);
+      xml.writeStartElement(PREFIX, "lane", BPMN_NS);
+      xml.writeAttribute("id", "Lane_" + ++laneNumber);
+      writeName(xml, lane.getKey());
+      for (String flowNode : lane.getValue()) {
+        newLine(xml, 4);
+        xml.writeStartElement(PREFIX, "flowNodeRef", BPMN_NS);
+        xml.writeCharacters(flowNode);
+        xml.writeEndElement();
+      }
+      newLine(xml, 3);
+      xml.writeEndElement();
+    }
+    newLine(xml, 2);
+    xml.writeEndElement();
+
+    writeNode(xml, "startEvent", START_EVENT, "");
+    for (Element node : nodes.values()) {
+      writeNode(xml, tag(node), id(node), node.getLabel());
+    }
+    writeNode(xml, "endEvent", END_EVENT, "");
+
+    for (Element node : nodes.values()) {
+      if (!withIncoming.contains(node.getId())) {
+        writeFlow(xml, "Flow_" + START_EVENT + "_" + node.getId(), START_EVENT, id(node));
+      }
+    }
+    for (Arc arc : arcs) {
+      writeFlow(xml, "Flow_" + arc.getId(), id(arc.getSource()), id(arc.getTarget()));
+    }
+    for (Element node : nodes.values()) {
+      if (!withOutgoing.contains(node.getId())) {
+        writeFlow(xml, "Flow_" + node.getId() + "_" + END_EVENT, id(node), END_EVENT);
+      }
+    }
+
+    newLine(xml, 1);
+    xml.writeEndElement();
+    newLine(xml, 0);
+    xml.writeEndElement();
+    xml.writeEndDocument();
+    xml.close();
+    return out.toString();
+  }
+
+  private static String id(Element node) {
+    if (node instanceof Activity) {
+      return "Activity_" + node.getId();
+    }
+    return (node instanceof Gateway ? "Gateway_" : "Event_") + node.getId();
+  }
+
+  private static String laneName(Element node) {
+    if (node.getLane() == null) {
+      return "";
+    }
+    // Lanes are named "<role> from <group>", the lane of elements without a role has an empty role
+    String name = node.getLane().getName();
+    return name.startsWith(" from ") ? "" : name;
+  }
+
+  private static String tag(Element node) {
+    if (node instanceof Activity activity) {
+      return activity.getType() == ActivityType.TYPE_MAP.get("Subprocess") ? "subProcess" : "task";
+    }
+    if (node instanceof Gateway gateway) {
+      return switch (gateway.getType()) {
+        case GatewayType.AND -> "parallelGateway";
+        case GatewayType.OR -> "inclusiveGateway";
+        case GatewayType.EVENT -> "eventBasedGateway";
+        default -> "exclusiveGateway";
+      };
+    }
+    return "intermediateCatchEvent";
+  }
+
+  private static void writeNode(XMLStreamWriter xml, String tag, String id, String name)
+      throws XMLStreamException {
+    newLine(xml, 2);
+    xml.writeEmptyElement(PREFIX, tag, BPMN_NS);
+    xml.writeAttribute("id", id);
+    writeName(xml, name);
+  }
+
+  private static void writeFlow(XMLStreamWriter xml, String id, String source, String target)
+      throws XMLStreamException {
+    newLine(xml, 2);
+    xml.writeEmptyElement(PREFIX, "sequenceFlow", BPMN_NS);
+    xml.writeAttribute("id", id);
+    xml.writeAttribute("sourceRef", source);
+    xml.writeAttribute("targetRef", target);
+  }
+
+  private static void writeName(XMLStreamWriter xml, String name) throws XMLStreamException {
+    if (name != null && !name.isEmpty()) {
+      xml.writeAttribute("name", name);
+    }
+  }
+
+  private static void newLine(XMLStreamWriter xml, int depth) throws XMLStreamException {
+    xml.writeCharacters("\n" + "  ".repeat(depth));
+  }
+}
@@ -0,0 +1,146 @@
+package de.dhbw.woped.process2text.service;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Shared HTTP client of one downstream service, such as OpenAI, LM Studio, the RAG service or the
+ * transformer.
+ *
+ * <p>All calls to the service, blocking through {@link #restTemplate()} or reactive through {@link
+ * #webClient()}, go through one reactor-netty connection pool, so connections and TLS sessions are
+ * reused instead of being opened per request. HTTP/2 is negotiated via ALPN where the server
+ * supports it. The pool publishes the {@code reactor.netty.connection.provider.*} meters tagged
+ * with the name of the downstream: active (leased), pending, idle and total connections.
+ */
+public final class DownstreamHttpClient implements AutoCloseable {
+
+  /** Connections idle for longer are closed, before servers drop them on their side. */
+  private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+  private final String baseUrl;
+  private final ConnectionProvider connections;
+  private final RestTemplate restTemplate;
+  private final WebClient webClient;
+
+  private DownstreamHttpClient(Settings settings, ConnectionProvider connections, HttpClient http) {
+    this.baseUrl = settings.getBaseUrl();
+    this.connections = connections;
+    ReactorNettyClientRequestFactory requestFactory = new ReactorNettyClientRequestFactory(http);
+    requestFactory.setReadTimeout(settings.getReadTimeout());
+    requestFactory.setExchangeTimeout(settings.getReadTimeout());
+    this.restTemplate = new RestTemplate(requestFactory);
+    WebClient.Builder webClient =
+        WebClient.builder().clientConnector(new ReactorClientHttpConnector(http));
+    if (baseUrl != null) {
+      restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(baseUrl));
+      webClient.baseUrl(baseUrl);
+    }
+    this.webClient = webClient.build();
+  }
+
+  /**
+   * Creates the client of a downstream with its own connection pool.
+   *
+   * @param name name of the downstream, used as name of the pool and its meters
+   * @param settings pool size, timeouts and protocol
+   * @return the new client
+   */
+  public static DownstreamHttpClient create(String name, Settings settings) {
+    ConnectionProvider connections =
+        ConnectionProvider.builder(name)
+            .maxConnections(settings.getMaxConnections())
+            .maxIdleTime(MAX_IDLE_TIME)
+            .metrics(true)
+            .build();
+    HttpClient http =
+        HttpClient.create(connections)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                Math.toIntExact(settings.getConnectTimeout().toMillis()))
+            .responseTimeout(settings.getReadTimeout())
+            .protocol(
+                settings.isHttp2()
+                    ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                    : new HttpProtocol[] {HttpProtocol.HTTP11});
+    return new DownstreamHttpClient(settings, connections, http);
+  }
+
+  /** Base URL that relative request URIs are resolved against, or {@code null} if none. */
+  public String getBaseUrl() {
+    return baseUrl;
+  }
+
+  public RestTemplate restTemplate() {
+    return restTemplate;
+  }
+
+  public WebClient webClient() {
+    return webClient;
+  }
+
+  /** Closes all pooled connections. */
+  @Override
+  public void close() {
+    connections.dispose();
+  }
+
+  /** Base URL, pool size, timeouts and protocol of a downstream. */
+  public static class Settings {
+
+    private String baseUrl;
+    private int maxConnections = 50;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofSeconds(60);
+    private boolean http2 = true;
+
+    public String getBaseUrl() {
+      return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+      this.baseUrl = baseUrl;
+    }
+
+    public int getMaxConnections() {
+      return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+    }
+
+    public Duration getConnectTimeout() {
+      return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+    }
+
+    /** Maximum time between two reads of a response, and until the response headers arrive. */
+    public Duration getReadTimeout() {
+      return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+    }
+
+    public boolean isHttp2() {
+      return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+      this.http2 = http2;
+    }
+  }
+}
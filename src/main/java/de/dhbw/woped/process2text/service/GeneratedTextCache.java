@@ -0,0 +1,151 @@
+package de.dhbw.woped.process2text.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import de.dhbw.woped.process2text.exception.TextGenerationException;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache of generated texts keyed by the {@link ModelFingerprint} of the submitted model, so that
+ * re-submitting an unchanged model skips the whole text generation.
+ *
+ * <p>Entries expire a fixed time after they were generated and the cache is bounded by the
+ * estimated memory footprint of the texts. Statistics are published as {@code cache.*} meters
+ * tagged {@code cache=generated_texts} and through the {@code textcache} actuator endpoint.
+ *
+ * <p>The cache holds a future per model. The first request for a model generates the text on its
+ * own thread, outside of any lock of the cache, and identical requests arriving meanwhile wait for
+ * that future instead of generating the text again.
+ */
+public final class GeneratedTextCache implements MeterBinder {
+
+  /** Cache that stores nothing and generates the text on every call. */
+  public static final GeneratedTextCache DISABLED = new GeneratedTextCache(null);
+
+  private static final String NAME = "generated_texts";
+
+  private final AsyncCache<String, String> cache;
+
+  private GeneratedTextCache(AsyncCache<String, String> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a cache with the given bounds.
+   *
+   * @param timeToLive time after which a generated text is dropped
+   * @param maxBytes upper bound of the estimated size of all entries
+   * @return the new cache
+   */
+  public static GeneratedTextCache create(Duration timeToLive, long maxBytes) {
+    return new GeneratedTextCache(
+        Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumWeight(maxBytes)
+            .<String, String>weigher((key, text) -> 2 * (key.length() + text.length()) + 96)
+            .recordStats()
+            .buildAsync());
+  }
+
+  /**
+   * Returns the cached text of the given model or generates it. Empty texts, which the generation
+   * returns on failure, are not cached.
+   *
+   * @param model the PNML or BPMN input
+   * @param generator generates the text of {@code model}
+   * @return the generated text
+   * @throws TextGenerationException if the thread was interrupted while waiting for the text
+   */
+  public String get(ModelInput model, Supplier<String> generator) {
+    String fingerprint = cache == null ? null : ModelFingerprint.of(model);
+    if (fingerprint == null) {
+      return generator.get();
+    }
+    CompletableFuture<String> generation = new CompletableFuture<>();
+    CompletableFuture<String> text = cache.get(fingerprint, (key, executor) -> generation);
+    if (text != generation) {
+      return await(text);
+    }
+    try {
+      String generated = generator.get();
+      // The cache drops entries completed with null
+      generation.complete(generated.isEmpty() ? null : generated);
+      return generated;
+    } catch (RuntimeException | Error e) {
+      generation.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the cached text of the given model without generating it.
+   *
+   * @param model the PNML or BPMN input
+   * @return the cached text, or {@code null} if there is none
+   */
+  public String getIfPresent(ModelInput model) {
+    String fingerprint = cache == null ? null : ModelFingerprint.of(model);
+    CompletableFuture<String> text = fingerprint == null ? null : cache.getIfPresent(fingerprint);
+    return text != null && text.isDone() && !text.isCompletedExceptionally()
+        ? text.getNow(null)
+        : null;
+  }
+
+  /**
+   * Summarizes the cache statistics for the actuator endpoint.
+   *
+   * @return hits, misses, hit rate, evictions, entry count and estimated size in bytes
+   */
+  public Map<String, Object> statistics() {
+    Map<String, Object> statistics = new LinkedHashMap<>();
+    statistics.put("enabled", cache != null);
+    if (cache != null) {
+      Cache<String, String> synchronous = cache.synchronous();
+      CacheStats stats = synchronous.stats();
+      statistics.put("hits", stats.hitCount());
+      statistics.put("misses", stats.missCount());
+      statistics.put("hitRate", stats.hitRate());
+      statistics.put("evictions", stats.evictionCount());
+      statistics.put("entries", synchronous.estimatedSize());
+      synchronous
+          .policy()
+          .eviction()
+          .ifPresent(eviction -> statistics.put("bytes", eviction.weightedSize().orElse(0)));
+    }
+    return statistics;
+  }
+
+  /** Waits for a text another request is generating and shares its result or its failure. */
+  private static String await(CompletableFuture<String> text) {
+    try {
+      String generated = text.get();
+      return generated == null ? "" : generated;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new TextGenerationException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new TextGenerationException(e);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+  }
+}
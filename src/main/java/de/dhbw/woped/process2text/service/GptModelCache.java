@@ -0,0 +1,191 @@
+package de.dhbw.woped.process2text.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the GPT models available to an API key, so that loading the model dropdown does not
+ * query the OpenAI API every time.
+ *
+ * <p>Entries are keyed by the SHA-256 hash of the API key, the key itself is never stored. They
+ * expire a fixed time after they were loaded, and the cache is bounded by the estimated memory
+ * footprint of the model lists. An entry older than the refresh interval is still returned, and the
+ * request reading it reloads it in the background with its API key (stale-while-revalidate). The
+ * reloads run on a small pool of their own; when it is busy, the entry is reloaded by a later read.
+ * Models are loaded outside the cache's locks, so a slow OpenAI call never blocks other keys.
+ * Statistics are published as {@code cache.*} meters tagged {@code cache=gpt_models}.
+ */
+public final class GptModelCache implements MeterBinder, AutoCloseable {
+
+  /** Cache that stores nothing and loads the models on every call. */
+  public static final GptModelCache DISABLED = new GptModelCache(null, 0, null, null);
+
+  private static final Logger logger = LoggerFactory.getLogger(GptModelCache.class);
+
+  private static final String NAME = "gpt_models";
+
+  /** Refreshes waiting for a thread; at most one per API key is pending. */
+  private static final int REFRESH_QUEUE_CAPACITY = 64;
+
+  private record Entry(List<String> models, long loadedAt) {}
+
+  private final Cache<String, Entry> cache;
+  private final long refreshAfterNanos;
+  private final Ticker ticker;
+  private final Executor executor;
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  private GptModelCache(
+      Cache<String, Entry> cache, long refreshAfterNanos, Ticker ticker, Executor executor) {
+    this.cache = cache;
+    this.refreshAfterNanos = refreshAfterNanos;
+    this.ticker = ticker;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a cache with the given bounds.
+   *
+   * @param timeToLive time after which the models of a key are dropped
+   * @param refreshAfter age from which the models of a key are reloaded in the background
+   * @param maxBytes upper bound of the estimated size of all entries
+   * @param refreshThreads number of threads reloading entries in the background
+   * @return the new cache
+   */
+  public static GptModelCache create(
+      Duration timeToLive, Duration refreshAfter, long maxBytes, int refreshThreads) {
+    if (refreshThreads < 1) {
+      throw new IllegalArgumentException(
+          "GPT model refresh threads must be positive: " + refreshThreads);
+    }
+    AtomicInteger threads = new AtomicInteger();
+    return create(
+        timeToLive,
+        refreshAfter,
+        maxBytes,
+        Ticker.systemTicker(),
+        new ThreadPoolExecutor(
+            refreshThreads,
+            refreshThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+            task -> {
+              Thread thread = new Thread(task, "gpt-models-refresh-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  static GptModelCache create(
+      Duration timeToLive, Duration refreshAfter, long maxBytes, Ticker ticker, Executor executor) {
+    return new GptModelCache(
+        Caffeine.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumWeight(maxBytes)
+            .<String, Entry>weigher(
+                (key, entry) ->
+                    2 * key.length()
+                        + entry.models().stream().mapToInt(model -> 2 * model.length() + 56).sum()
+                        + 96)
+            .ticker(ticker)
+            .recordStats()
+            .build(),
+        refreshAfter.toNanos(),
+        ticker,
+        executor);
+  }
+
+  /**
+   * Returns the cached models of the given API key or loads them. Failed loads are not cached.
+   *
+   * @param apiKey the API key
+   * @param loader loads the models available to {@code apiKey}
+   * @return the models, not modifiable
+   */
+  public List<String> get(String apiKey, Function<String, List<String>> loader) {
+    if (cache == null) {
+      return loader.apply(apiKey);
+    }
+    String hash = hash(apiKey);
+    Entry entry = cache.getIfPresent(hash);
+    if (entry == null) {
+      // Concurrent misses of one key may both load, the later result is kept
+      entry = load(apiKey, loader);
+      cache.put(hash, entry);
+    } else if (ticker.read() - entry.loadedAt() >= refreshAfterNanos && refreshing.add(hash)) {
+      refresh(hash, entry, apiKey, loader);
+    }
+    return entry.models();
+  }
+
+  private void refresh(
+      String hash, Entry entry, String apiKey, Function<String, List<String>> loader) {
+    try {
+      CompletableFuture.supplyAsync(() -> load(apiKey, loader), executor)
+          .whenComplete(
+              (reloaded, e) -> {
+                refreshing.remove(hash);
+                if (e != null) {
+                  logger.warn("Refreshing the GPT models failed, keeping the cached ones", e);
+                } else {
+                  cache.asMap().replace(hash, entry, reloaded);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      refreshing.remove(hash);
+      logger.debug("GPT model refresh pool is busy, keeping the cached models");
+    }
+  }
+
+  private Entry load(String apiKey, Function<String, List<String>> loader) {
+    return new Entry(List.copyOf(loader.apply(apiKey)), ticker.read());
+  }
+
+  private static String hash(String apiKey) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of()
+          .formatHex(digest.digest(String.valueOf(apiKey).getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor instanceof ExecutorService refreshes) {
+      refreshes.shutdownNow();
+    }
+  }
+}
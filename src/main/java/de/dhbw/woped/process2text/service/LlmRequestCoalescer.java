@@ -0,0 +1,106 @@
+package de.dhbw.woped.process2text.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Single-flight execution of identical LLM calls. While a call is running, identical calls wait for
+ * it and share its response, or its error, instead of calling the LLM themselves. Nothing is kept
+ * once the call completed.
+ *
+ * <p>Publishes {@code llm_requests_coalesced_total}, the number of calls that were served by a
+ * running one, and {@code llm_requests_in_flight}, the number of distinct calls running.
+ */
+public final class LlmRequestCoalescer implements MeterBinder {
+
+  /** Coalescer that runs every call on its own. */
+  public static final LlmRequestCoalescer DISABLED = new LlmRequestCoalescer(false);
+
+  private final boolean enabled;
+  private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder coalesced = new LongAdder();
+
+  private LlmRequestCoalescer(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Creates a coalescer that shares the calls running at the same time. */
+  public static LlmRequestCoalescer create() {
+    return new LlmRequestCoalescer(true);
+  }
+
+  /**
+   * Runs the call, or waits for the identical call that is already running.
+   *
+   * @param key identifies identical calls, e.g. a hash of everything sent to the LLM
+   * @param call calls the LLM, on the calling thread
+   * @return the response of the call
+   * @throws ResponseStatusException if the thread is interrupted while waiting for a running call
+   */
+  public String execute(String key, Supplier<String> call) {
+    if (!enabled) {
+      return call.get();
+    }
+    CompletableFuture<String> flight = new CompletableFuture<>();
+    CompletableFuture<String> running = inFlight.putIfAbsent(key, flight);
+    if (running != null) {
+      coalesced.increment();
+      return await(running);
+    }
+    try {
+      String response = call.get();
+      flight.complete(response);
+      return response;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /**
+   * Waits for the running call. An interrupted waiter gives up with its interrupt flag set, while
+   * the running call and its other waiters carry on.
+   */
+  private static String await(CompletableFuture<String> running) {
+    try {
+      return running.get();
+    } catch (ExecutionException e) {
+      // Rethrow the error of the running call as is, e.g. a ResponseStatusException
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the LLM", e);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (enabled) {
+      FunctionCounter.builder("llm_requests_coalesced_total", coalesced, LongAdder::sum)
+          .description("LLM requests answered by an identical request already in flight")
+          .register(registry);
+      Gauge.builder("llm_requests_in_flight", inFlight, Map::size)
+          .description("Distinct LLM requests in flight")
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package de.dhbw.woped.process2text.service;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Arc;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Place;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import org.w3c.dom.Document;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Canonical fingerprint of a process model, used as key of the {@link GeneratedTextCache}.
+ *
+ * <p>For PNML the fingerprint covers exactly what the text generation reads from the net: places,
+ * transitions with their labels, roles, groups, operator and trigger types, and arcs, each sorted.
+ * Whitespace, attribute order, graphics and element order therefore do not change it. BPMN models
+ * are numbered in document order by the reader, so their fingerprint keeps the element order and
+ * only drops whitespace and the diagram interchange ({@code bpmndi}) elements.
+ */
+final class ModelFingerprint {
+
+  private static final String BPMN_DI_PREFIX = "bpmndi:";
+
+  private ModelFingerprint() {}
+
+  /**
+   * Computes the fingerprint of the given model from its parsed form, which the text generation
+   * reuses afterwards.
+   *
+   * @param model the PNML or BPMN input
+   * @return hex encoded SHA-256 fingerprint, or {@code null} if the input is not a readable PNML or
+   *     BPMN model
+   */
+  static String of(ModelInput model) {
+    try {
+      if (model.getFormat() == ModelInput.Format.PNML) {
+        PetriNet petriNet = model.getPetriNet();
+        return petriNet == null ? null : sha256(canonicalPetriNet(petriNet));
+      }
+      if (model.getFormat() == ModelInput.Format.BPMN) {
+        Document doc = model.getBpmnDocument();
+        if (doc.getElementsByTagName("bpmn:process").getLength() > 0) {
+          StringBuilder canonical = new StringBuilder("bpmn\n");
+          appendCanonical(doc.getDocumentElement(), canonical);
+          return sha256(canonical.toString());
+        }
+      }
+    } catch (Exception e) {
+      // Unreadable input is passed to the text generation uncached, which reports the error.
+    }
+    return null;
+  }
+
+  private static String canonicalPetriNet(PetriNet petriNet) {
+    List<String> lines = new ArrayList<>();
+    for (Element element : petriNet.getElements().values()) {
+      lines.add(
+          String.join(
+              "\u0000",
+              element instanceof Place ? "P" : "T",
+              element.getId(),
+              element.getLabel(),
+              String.valueOf(element.getRole()),
+              String.valueOf(element.getGroup()),
+              String.valueOf(element.getType()),
+              String.valueOf(element.getTrigger())));
+    }
+    for (Arc arc : petriNet.getArcs().values()) {
+      lines.add(String.join("\u0000", "A", arc.getId(), arc.getSource(), arc.getTarget()));
+    }
+    Collections.sort(lines);
+    return "pnml\n" + String.join("\n", lines);
+  }
+
+  /** Appends the element with its attributes sorted by name and its non-blank text. */
+  private static void appendCanonical(Node node, StringBuilder out) {
+    if (node.getNodeName().startsWith(BPMN_DI_PREFIX)) {
+      return;
+    }
+    out.append('<').append(node.getNodeName());
+    NamedNodeMap attributes = node.getAttributes();
+    List<String> sorted = new ArrayList<>();
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Node attribute = attributes.item(i);
+      sorted.add(attribute.getNodeName() + "=" + attribute.getNodeValue());
+    }
+    Collections.sort(sorted);
+    for (String attribute : sorted) {
+      out.append('\u0000').append(attribute);
+    }
+    out.append('>');
+    NodeList children = node.getChildNodes();
+    for (int i = 0; i < children.getLength(); i++) {
+      Node child = children.item(i);
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        appendCanonical(child, out);
+      } else if (child.getNodeType() == Node.TEXT_NODE
+          || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+        if (!child.getNodeValue().isBlank()) {
+          out.append(child.getNodeValue());
+        }
+      }
+    }
+    out.append("</>");
+  }
+
+  private static String sha256(String canonical) throws NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+    return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,52 @@
+package de.dhbw.woped.process2text.service;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Entry stage for submitted process models, shared by the rule based and the LLM text generation.
+ * It determines the format from the root element, hands out a {@link ModelInput} that is parsed at
+ * most once, and records the input size ({@code model_input_bytes}) and parse duration ({@code
+ * model_input_parse_duration_seconds}) per format.
+ */
+@Service
+public class ModelInputGateway {
+
+  private static final Logger logger = LoggerFactory.getLogger(ModelInputGateway.class);
+
+  @Autowired private MeterRegistry registry;
+
+  /**
+   * Opens a submitted model.
+   *
+   * @param text the PNML or BPMN document
+   * @return the input, parsed lazily on first access
+   */
+  public ModelInput open(String text) {
+    ModelInput input = ModelInput.sniff(text, this::recordParse);
+    DistributionSummary.builder("model_input_bytes")
+        .description("Size of submitted process models")
+        .baseUnit("bytes")
+        .tag("format", input.getFormat().name())
+        .register(registry)
+        .record(input.getByteCount());
+    logger.debug("Received {} model with {} bytes", input.getFormat(), input.getByteCount());
+    return input;
+  }
+
+  private void recordParse(ModelInput.Format format, long nanos) {
+    Timer.builder("model_input_parse_duration_seconds")
+        .description("Duration of parsing submitted process models")
+        .tag("format", format.name())
+        .register(registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+    logger.debug("Parsed {} model in {} ms", format, nanos / 1_000_000);
+  }
+}
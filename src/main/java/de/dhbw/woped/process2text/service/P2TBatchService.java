@@ -0,0 +1,113 @@
+package de.dhbw.woped.process2text.service;
+
+import de.dhbw.woped.process2text.model.process.GeneratedTextDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Generates the texts of many models in one request on a worker pool shared by all batch requests.
+ * The workers use the same lexicon, caches and metrics as {@code /generateText}.
+ *
+ * <p>The pool runs {@code p2t.batch.threads} generations at a time (zero means one per processor)
+ * and queues up to {@code p2t.batch.queue-capacity} more. When the queue is full, the request
+ * thread generates the text itself, which throttles the caller instead of growing the queue. The
+ * pool is published as {@code executor.*} meters tagged {@code name=p2t_batch}.
+ */
+@Service
+public class P2TBatchService {
+
+  private static final Logger logger = LoggerFactory.getLogger(P2TBatchService.class);
+
+  private final P2TService p2tService;
+  private final ThreadPoolExecutor executor;
+  private final int maxItems;
+
+  public P2TBatchService(
+      P2TService p2tService,
+      MeterRegistry registry,
+      @Value("${p2t.batch.threads:0}") int threads,
+      @Value("${p2t.batch.queue-capacity:1000}") int queueCapacity,
+      @Value("${p2t.batch.max-items:1000}") int maxItems) {
+    this.p2tService = p2tService;
+    this.maxItems = maxItems;
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            workerFactory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    new ExecutorServiceMetrics(executor, "p2t_batch", Tags.empty()).bindTo(registry);
+  }
+
+  /**
+   * Generates the texts of the given models in parallel.
+   *
+   * @param texts the PNML or BPMN documents
+   * @return one result per model, in the order of {@code texts}
+   * @throws ResponseStatusException if there are more than {@code p2t.batch.max-items} models
+   */
+  public List<GeneratedTextDTO> generateTexts(List<String> texts) {
+    if (texts.size() > maxItems) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "A batch may contain at most " + maxItems + " models, got " + texts.size());
+    }
+    List<CompletableFuture<GeneratedTextDTO>> results = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      int index = i;
+      String text = texts.get(i);
+      results.add(CompletableFuture.supplyAsync(() -> generate(index, text), executor));
+    }
+    return results.stream().map(CompletableFuture::join).toList();
+  }
+
+  private GeneratedTextDTO generate(int index, String text) {
+    long start = System.nanoTime();
+    try {
+      String output = p2tService.generateTextOrThrow(text);
+      return new GeneratedTextDTO(index, output, null, elapsedMillis(start));
+    } catch (RuntimeException e) {
+      logger.error("Batch item {} failed: {}", index, e.getLocalizedMessage());
+      return new GeneratedTextDTO(
+          index, null, String.valueOf(e.getLocalizedMessage()), elapsedMillis(start));
+    }
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  private static ThreadFactory workerFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "p2t-batch-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
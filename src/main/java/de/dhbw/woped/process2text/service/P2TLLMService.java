@@ -2,25 +2,43 @@ package de.dhbw.woped.process2text.service;
 
 import de.dhbw.woped.process2text.controller.P2TController;
 import de.dhbw.woped.process2text.model.process.OpenAiApiDTO;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClientException;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Service class to handle interaction with the OpenAI API. This service sends text to the API and
@@ -31,44 +49,84 @@ public class P2TLLMService {
 
   private static final Logger logger = LoggerFactory.getLogger(P2TController.class);
 
+  private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+
+  /** Data of the server-sent event that ends a streamed response. */
+  private static final String STREAM_DONE = "[DONE]";
+
+  private static final ParameterizedTypeReference<ServerSentEvent<String>> SERVER_SENT_EVENTS =
+      new ParameterizedTypeReference<>() {};
+
+  private static final String STAGE_TIMER = "llm_stage_duration_seconds";
+
+  @Autowired private ModelInputGateway inputGateway;
+  @Autowired private TransformerService transformerService;
+  @Autowired private MeterRegistry registry;
+  @Autowired private LlmRequestCoalescer coalescer;
+  @Autowired private GptModelCache gptModelCache;
+
+  @Autowired
+  @Qualifier("ragHttpClient")
+  private DownstreamHttpClient ragClient;
+
+  @Autowired
+  @Qualifier("openAiHttpClient")
+  private DownstreamHttpClient openAiClient;
+
+  @Autowired
+  @Qualifier("lmStudioHttpClient")
+  private DownstreamHttpClient lmStudioClient;
+
+  @Value("${p2t.llm.rag-timeout:10s}")
+  private Duration ragTimeout;
+
+  @Value("${p2t.llm.transform-timeout:30s}")
+  private Duration transformTimeout;
+
+  @Value("${p2t.llm.local-transform:true}")
+  private boolean localTransform;
+
+  @Value("${p2t.llm.coalesce-per-api-key:false}")
+  private boolean coalescePerApiKey;
+
+  /** Prompt and process model as sent to the LLM, after the RAG and transform stages. */
+  private record PreparedRequest(String prompt, String model) {}
+
   /**
    * Calls the OpenAI API with the provided text and API details, and extracts the response content.
+   * The prompt is enriched and the model transformed beforehand, see {@link #prepare}. Identical
+   * requests running at the same time share one call, see {@link #coalescingKey}.
    *
    * @param body The text to be sent to the OpenAI API.
    * @param openAiApiDTO Contains the API key, GPT model, and prompt.
    * @return The content of the response from the OpenAI API.
    */
   public String callLLM(String body, OpenAiApiDTO openAiApiDTO) {
-    String apiUrl = "https://api.openai.com/v1/chat/completions";
-    // Use the Transformer API if the provided processmodell is a PNML to parse it
-    // into an BPMN
-    TransformerService transformerService = new TransformerService();
-    if (transformerService.checkForBPMNorPNML(body).equals("PNML")) {
-      body = transformerService.transform("pnmltobpmn", body);
-    }
-    RestTemplate restTemplate = new RestTemplate();
+    ModelInput input = inputGateway.open(body);
+    PreparedRequest prepared = prepare(input, openAiApiDTO).block();
+    return coalescer.execute(
+        coalescingKey(input, prepared.prompt(), openAiApiDTO, coalescePerApiKey),
+        () -> complete(prepared, openAiApiDTO));
+  }
+
+  /** Sends the prepared request to the LLM and extracts the content of its response. */
+  private String complete(PreparedRequest prepared, OpenAiApiDTO openAiApiDTO) {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", "Bearer " + openAiApiDTO.getApiKey());
     headers.setContentType(MediaType.APPLICATION_JSON);
-
-    // Create the request body with the specified model, messages, max tokens, and
-    // temperature
-    Map<String, Object> requestBody = new HashMap<>();
-    requestBody.put("model", openAiApiDTO.getGptModel());
-    requestBody.put(
-        "messages",
-        List.of(
-            Map.of("role", "system", "content", "You are a helpful assistant."),
-            Map.of("role", "user", "content", openAiApiDTO.getPrompt()),
-            Map.of("role", "user", "content", body)));
-    requestBody.put("max_tokens", 4096);
-    requestBody.put("temperature", 0.7);
+    Map<String, Object> requestBody = requestBody(prepared, openAiApiDTO, false);
 
     HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
 
+    Timer.Sample completion = Timer.start(registry);
+    String outcome = "error";
     try {
       // Send the request to the OpenAI API and get the response as a string
-      String response = restTemplate.postForObject(apiUrl, entity, String.class);
+      String response =
+          client(openAiApiDTO)
+              .restTemplate()
+              .postForObject(CHAT_COMPLETIONS_PATH, entity, String.class);
+      outcome = "success";
       // Parse the response to extract the content
       return extractContentFromResponse(response);
     } catch (HttpClientErrorException e) {
@@ -79,24 +137,84 @@ public class P2TLLMService {
       logger.error("Error calling OpenAI API", e);
       throw new ResponseStatusException(
           HttpStatus.INTERNAL_SERVER_ERROR, "Error calling OpenAI API", e);
+    } finally {
+      stopStage(completion, "completion", outcome);
     }
   }
 
   /**
-   * Retrieves the list of available GPT models from the OpenAI API.
+   * Streams the response of the OpenAI API token by token. The request is the one of {@link
+   * #callLLM} with {@code stream: true}, and the server-sent events of the API are reduced to the
+   * content of their deltas. Cancelling the subscription, e.g. because the client disconnected,
+   * closes the connection to the API so that no further tokens are generated. The prompt is
+   * enriched and the model transformed beforehand, see {@link #prepare}.
+   *
+   * @param body The text to be sent to the OpenAI API.
+   * @param openAiApiDTO Contains the API key, GPT model, and prompt.
+   * @return The content tokens in the order the API sends them.
+   */
+  public Flux<String> streamLLM(String body, OpenAiApiDTO openAiApiDTO) {
+    return prepare(inputGateway.open(body), openAiApiDTO)
+        .flatMapMany(
+            prepared ->
+                client(openAiApiDTO)
+                    .webClient()
+                    .post()
+                    .uri(CHAT_COMPLETIONS_PATH)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + openAiApiDTO.getApiKey())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(requestBody(prepared, openAiApiDTO, true))
+                    .retrieve()
+                    .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        response ->
+                            response
+                                .bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .map(
+                                    error -> {
+                                      logger.error("Error calling OpenAI API: {}", error);
+                                      return new ResponseStatusException(
+                                          HttpStatus.BAD_REQUEST, "OpenAI API error: " + error);
+                                    }))
+                    .bodyToFlux(SERVER_SENT_EVENTS)
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !data.equals(STREAM_DONE))
+                    .mapNotNull(this::extractDeltaFromChunk)
+                    .transform(tokens -> timed("completion", tokens)))
+        .onErrorMap(
+            WebClientException.class,
+            e -> {
+              logger.error("Error calling OpenAI API", e);
+              return new ResponseStatusException(
+                  HttpStatus.INTERNAL_SERVER_ERROR, "Error calling OpenAI API", e);
+            })
+        .doOnCancel(() -> logger.debug("LLM stream cancelled by the client"));
+  }
+
+  /**
+   * Retrieves the list of available GPT models from the OpenAI API, cached per API key, see {@link
+   * GptModelCache}.
    *
    * @param apiKey The API key for OpenAI.
    * @return A list of model names as strings.
    */
   public List<String> getGptModels(String apiKey) {
-    String url = "https://api.openai.com/v1/models";
-    RestTemplate restTemplate = new RestTemplate();
+    return gptModelCache.get(apiKey, this::loadGptModels);
+  }
+
+  private List<String> loadGptModels(String apiKey) {
     HttpHeaders headers = new HttpHeaders();
     headers.set("Authorization", "Bearer " + apiKey);
     HttpEntity<String> entity = new HttpEntity<>(headers);
 
     try {
-      String response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class).getBody();
+      String response =
+          openAiClient
+              .restTemplate()
+              .exchange("/models", HttpMethod.GET, entity, String.class)
+              .getBody();
       JSONObject jsonResponse = new JSONObject(response);
       JSONArray models = jsonResponse.getJSONArray("data");
       return models.toList().stream()
@@ -116,6 +234,217 @@ public class P2TLLMService {
     }
   }
 
+  /** Returns the client of the provider of the request, LM Studio or OpenAI. */
+  private DownstreamHttpClient client(OpenAiApiDTO openAiApiDTO) {
+    return "lmStudio".equalsIgnoreCase(openAiApiDTO.getProvider()) ? lmStudioClient : openAiClient;
+  }
+
+  /**
+   * Identifies identical LLM calls by the canonical model, see {@link ModelFingerprint}, the
+   * enriched prompt, GPT model and provider. Requests with other API keys share a call, unless
+   * {@code p2t.llm.coalesce-per-api-key} adds the API key to the key, so that no request is
+   * answered with a response paid by another key.
+   *
+   * @param perApiKey whether only requests with the same API key share a call
+   * @return Hex encoded SHA-256 hash.
+   */
+  static String coalescingKey(
+      ModelInput input, String prompt, OpenAiApiDTO openAiApiDTO, boolean perApiKey) {
+    String model = ModelFingerprint.of(input);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String part :
+          new String[] {
+            model == null ? input.getText() : model,
+            prompt,
+            openAiApiDTO.getGptModel(),
+            openAiApiDTO.getProvider(),
+            perApiKey ? openAiApiDTO.getApiKey() : ""
+          }) {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Runs the stages before the LLM call. Enriching the prompt with the RAG service and transforming
+   * a PNML model into BPMN with the transformer API need nothing from each other, so both remote
+   * calls run at the same time. Each stage has its own timeout and fallback, and its duration is
+   * published as {@code llm_stage_duration_seconds} tagged with the stage and its outcome.
+   *
+   * @param input The process model, PNML or BPMN.
+   * @param openAiApiDTO Contains the prompt and whether to use RAG.
+   * @return The prompt and model to send to the LLM.
+   */
+  private Mono<PreparedRequest> prepare(ModelInput input, OpenAiApiDTO openAiApiDTO) {
+    Mono<String> prompt =
+        openAiApiDTO.isUseRAG()
+            ? enrichPrompt(openAiApiDTO.getPrompt(), input.getText())
+            : Mono.just(openAiApiDTO.getPrompt());
+    return Mono.zip(prompt, toBpmnIfPnml(input), PreparedRequest::new);
+  }
+
+  /**
+   * Enriches the prompt with the RAG service.
+   *
+   * @return The enriched prompt, or the original prompt if the RAG service failed or timed out.
+   */
+  private Mono<String> enrichPrompt(String prompt, String body) {
+    // JSON body for the RAG service
+    JSONObject requestJson = new JSONObject();
+    requestJson.put("prompt", prompt);
+    requestJson.put("diagram", body);
+    // The system property overrides the configured URL of the RAG service
+    String ragServiceUrl = System.getProperty("rag.service.url", ragClient.getBaseUrl());
+    Mono<String> enriched =
+        ragClient
+            .webClient()
+            .post()
+            .uri(ragServiceUrl + "/rag/enrich")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(requestJson.toString())
+            .retrieve()
+            .bodyToMono(String.class)
+            // Expected: {"enriched_prompt": "..."}
+            .map(response -> new JSONObject(response).getString("enriched_prompt"))
+            .timeout(ragTimeout);
+    return timed("rag", enriched)
+        .doOnNext(
+            enrichedPrompt -> {
+              logger.info(
+                  "RAG service enriched prompt successfully. Original length: {}, Enriched"
+                      + " length: {}",
+                  prompt.length(),
+                  enrichedPrompt.length());
+              logger.debug("Enriched prompt: {}", enrichedPrompt);
+            })
+        .onErrorResume(
+            e -> {
+              logger.error("Error calling RAG service, falling back to original prompt", e);
+              return Mono.just(prompt);
+            });
+  }
+
+  /**
+   * Transforms a PNML model into BPMN, since the prompts are written for BPMN. The model is
+   * converted in-process unless {@code p2t.llm.local-transform} is off, and the transformer API is
+   * only called if that is off or the local conversion failed. Other models are returned unchanged,
+   * and so is a PNML model neither could transform.
+   */
+  private Mono<String> toBpmnIfPnml(ModelInput input) {
+    String body = input.getText();
+    if (input.getFormat() != ModelInput.Format.PNML) {
+      return Mono.just(body);
+    }
+    Mono<String> remote =
+        Mono.defer(() -> transformerService.transformAsync("pnmltobpmn", body))
+            .timeout(transformTimeout);
+    Mono<String> bpmn =
+        localTransform
+            ? Mono.fromCallable(() -> transformerService.transformLocally(input))
+                // The conversion blocks, so keep it off the subscribing thread, e.g. an event loop
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(
+                    e -> {
+                      logger.warn(
+                          "Local PNML to BPMN conversion failed, calling the transformer API", e);
+                      return remote;
+                    })
+            : remote;
+    return timed("transform", bpmn)
+        .onErrorResume(
+            e -> {
+              logger.error("Error calling transformer API, sending the PNML model as is", e);
+              return Mono.just(body);
+            });
+  }
+
+  /** Records the duration of a stage until it completes, fails or is cancelled. */
+  private <T> Mono<T> timed(String stage, Mono<T> mono) {
+    return Mono.defer(
+        () -> {
+          Timer.Sample sample = Timer.start(registry);
+          return mono.doOnSuccess(value -> stopStage(sample, stage, "success"))
+              .doOnError(e -> stopStage(sample, stage, outcome(e)))
+              .doOnCancel(() -> stopStage(sample, stage, "cancelled"));
+        });
+  }
+
+  /** Like {@link #timed(String, Mono)}, for a stage emitting many values. */
+  private <T> Flux<T> timed(String stage, Flux<T> flux) {
+    return Flux.defer(
+        () -> {
+          Timer.Sample sample = Timer.start(registry);
+          return flux.doOnComplete(() -> stopStage(sample, stage, "success"))
+              .doOnError(e -> stopStage(sample, stage, outcome(e)))
+              .doOnCancel(() -> stopStage(sample, stage, "cancelled"));
+        });
+  }
+
+  private static String outcome(Throwable e) {
+    return e instanceof TimeoutException ? "timeout" : "error";
+  }
+
+  private void stopStage(Timer.Sample sample, String stage, String outcome) {
+    sample.stop(
+        Timer.builder(STAGE_TIMER)
+            .description("Duration of the stages of an LLM request")
+            .tags("stage", stage, "outcome", outcome)
+            .register(registry));
+  }
+
+  /**
+   * Creates the request body with the specified model, messages, max tokens, and temperature.
+   *
+   * @param prepared The prompt and the process model to be described.
+   * @param openAiApiDTO Contains the GPT model.
+   * @param stream Whether the API should send the response as server-sent events.
+   * @return The request body.
+   */
+  private Map<String, Object> requestBody(
+      PreparedRequest prepared, OpenAiApiDTO openAiApiDTO, boolean stream) {
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put("model", openAiApiDTO.getGptModel());
+    requestBody.put(
+        "messages",
+        List.of(
+            Map.of("role", "system", "content", "You are a helpful assistant."),
+            Map.of("role", "user", "content", prepared.prompt()),
+            Map.of("role", "user", "content", prepared.model())));
+    requestBody.put("max_tokens", 4096);
+    requestBody.put("temperature", 0.7);
+    if (stream) {
+      requestBody.put("stream", true);
+    }
+    return requestBody;
+  }
+
+  /**
+   * Parses a chunk of a streamed response from the OpenAI API to extract the content delta.
+   *
+   * @param chunk The JSON data of one server-sent event.
+   * @return The content of the delta, or {@code null} if the chunk carries no content.
+   */
+  private String extractDeltaFromChunk(String chunk) {
+    try {
+      JSONArray choices = new JSONObject(chunk).getJSONArray("choices");
+      if (choices.length() == 0) {
+        return null;
+      }
+      JSONObject delta = choices.getJSONObject(0).optJSONObject("delta");
+      String content = delta == null ? null : delta.optString("content", null);
+      return content == null || content.isEmpty() ? null : content;
+    } catch (JSONException e) {
+      logger.error("Error parsing OpenAI API stream chunk", e);
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Error parsing OpenAI API response", e);
+    }
+  }
+
   /**
    * Parses the response from the OpenAI API to extract the content.
    *
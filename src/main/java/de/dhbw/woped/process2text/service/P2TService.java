@@ -1,8 +1,22 @@
 package de.dhbw.woped.process2text.service;
 
+import de.dhbw.woped.process2text.exception.TextGenerationException;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import de.dhbw.woped.process2text.service.sentence.realization.RealProPool;
+import de.dhbw.woped.process2text.service.sentence.realization.RealizationCache;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerationMetrics;
 import de.dhbw.woped.process2text.service.text.generation.TextGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,24 +24,79 @@ public class P2TService {
 
   Logger logger = LoggerFactory.getLogger(P2TService.class);
 
+  @Autowired private WordNetLexicon lexicon;
+  @Autowired private LabelAnnotationCache labelCache;
+  @Autowired private DerivationCache derivations;
+  @Autowired private GeneratedTextCache textCache;
+  @Autowired private ModelInputGateway inputGateway;
+  @Autowired private TextGenerationMetrics metrics;
+  @Autowired private RealProPool realProPool;
+  @Autowired private RealizationCache realizationCache;
+
   /**
    * Generate text from a process model
    *
    * @param text
-   * @return
+   * @return the text, or an empty string if it could not be generated
    */
   public String generateText(String text) {
-    String preparedText = prepareText(text);
-    String output = "";
-    TextGenerator tg = new TextGenerator();
-
     try {
-      output = tg.toText(preparedText);
+      return generateTextOrThrow(text);
+    } catch (TextGenerationException e) {
+      logger.error(e.getLocalizedMessage());
+      return "";
+    }
+  }
+
+  /**
+   * Like {@link #generateText(String)}, but reports a failed generation.
+   *
+   * @param text the PNML or BPMN document
+   * @return the text
+   * @throws TextGenerationException if the text could not be generated
+   */
+  public String generateTextOrThrow(String text) {
+    ModelInput input = inputGateway.open(prepareText(text));
+    return textCache.get(input, () -> generate(input));
+  }
 
+  /**
+   * Like {@link #generateText(String)}, but writes the text to {@code out} phrase by phrase while
+   * it is generated. A cached text is written at once. Streamed texts are not cached, so no text is
+   * held in memory as a whole. If the generation fails, the text ends after the last phrase
+   * written, without the closing {@code </text>}.
+   *
+   * @param text the PNML or BPMN document
+   * @param out receives the text encoded as UTF-8
+   * @throws IOException if the text could not be written
+   */
+  public void streamText(String text, OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    ModelInput input = inputGateway.open(prepareText(text));
+    String cached = textCache.getIfPresent(input);
+    if (cached != null) {
+      writer.write(cached);
+    } else {
+      try {
+        newTextGenerator().toText(input, writer);
+      } catch (Exception e) {
+        logger.error("Streaming the generated text failed", e);
+      }
+    }
+    writer.flush();
+  }
+
+  private String generate(ModelInput input) {
+    try {
+      return newTextGenerator().toText(input);
     } catch (Exception e) {
-      logger.error(e.getLocalizedMessage());
+      throw new TextGenerationException(e);
     }
-    return output;
+  }
+
+  private TextGenerator newTextGenerator() {
+    return new TextGenerator(
+        lexicon, labelCache, derivations, metrics, realProPool, realizationCache);
   }
 
   /**
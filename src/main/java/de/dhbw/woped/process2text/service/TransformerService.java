@@ -1,14 +1,18 @@
 package de.dhbw.woped.process2text.service;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import de.dhbw.woped.process2text.model.reader.pnml.PetriNetToProcessConverter;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
+import de.dhbw.woped.process2text.model.writer.bpmn.BPMNWriter;
+import javax.xml.stream.XMLStreamException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
 /**
  * Service class to handle the transformer call for the transformation from PNML to BPMN and detect
@@ -17,12 +21,24 @@ import org.springframework.web.util.UriComponentsBuilder;
 @Service
 public class TransformerService {
 
+  private static final String BASE_URL = "https://europe-west3-woped-422510.cloudfunctions.net";
+
   private final WebClient webClient;
 
   /** Constructor to create a new WebClient instance containing the URL of the transformer API. */
   public TransformerService() {
-    this.webClient =
-        WebClient.builder().baseUrl("https://europe-west3-woped-422510.cloudfunctions.net").build();
+    this.webClient = WebClient.builder().baseUrl(BASE_URL).build();
+  }
+
+  /**
+   * Constructor to call the transformer API through the shared, pooled client.
+   *
+   * @param transformerHttpClient client of the transformer API, with its base URL configured
+   */
+  @Autowired
+  public TransformerService(
+      @Qualifier("transformerHttpClient") DownstreamHttpClient transformerHttpClient) {
+    this.webClient = transformerHttpClient.webClient();
   }
 
   /**
@@ -34,6 +50,17 @@ public class TransformerService {
    * @return The transformed content.
    */
   public String transform(String direction, String pnmlXml) {
+    return transformAsync(direction, pnmlXml).block();
+  }
+
+  /**
+   * Like {@link #transform}, without blocking the calling thread.
+   *
+   * @param direction The direction of the transformation (e.g., "pnmltobpmn").
+   * @param pnmlXml The PNML content to be transformed.
+   * @return The transformed content, emitted once the transformer API responded.
+   */
+  public Mono<String> transformAsync(String direction, String pnmlXml) {
     String endpoint =
         UriComponentsBuilder.fromUriString("/transform")
             .queryParam("direction", direction)
@@ -45,8 +72,25 @@ public class TransformerService {
         .contentType(MediaType.MULTIPART_FORM_DATA)
         .body(BodyInserters.fromMultipartData("pnml", pnmlXml))
         .retrieve()
-        .bodyToMono(String.class)
-        .block();
+        .bodyToMono(String.class);
+  }
+
+  /**
+   * Transforms a PNML model into BPMN in-process, without calling the transformer API. The BPMN
+   * only holds the process flow and its lanes, see {@link BPMNWriter}.
+   *
+   * @param pnml The PNML model.
+   * @return The transformed content.
+   * @throws IllegalArgumentException if the input is not a readable PNML model
+   * @throws XMLStreamException if the BPMN cannot be written
+   */
+  public String transformLocally(ModelInput pnml) throws XMLStreamException {
+    PetriNet petriNet = pnml.getPetriNet();
+    if (petriNet == null) {
+      throw new IllegalArgumentException("PNML model could not be read");
+    }
+    // The converter keeps state per net, so it is not shared
+    return new BPMNWriter().write(new PetriNetToProcessConverter().convertToProcess(petriNet));
   }
 
   /**
@@ -57,20 +101,10 @@ public class TransformerService {
    * @return The type of the diagram ("PNML", "BPMN", or "Unknown").
    */
   public String checkForBPMNorPNML(String file) {
-    // Parse the HTML content
-    Document document = Jsoup.parse(file, "", Parser.xmlParser());
-
-    // Get the root element
-    Element rootElement = document.child(0);
-    String rootTag = rootElement.tagName();
-
-    // Check the root element tag name
-    if ("pnml".equalsIgnoreCase(rootTag)) {
-      return "PNML";
-    } else if ("definitions".equalsIgnoreCase(rootTag)) {
-      return "BPMN";
-    } else {
-      return "Unknown";
-    }
+    return switch (ModelInput.sniff(file).getFormat()) {
+      case PNML -> "PNML";
+      case BPMN -> "BPMN";
+      default -> "Unknown";
+    };
   }
 }
@@ -0,0 +1,257 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read-only snapshot of the label analysis results of {@link EnglishLabelHelper} for every WordNet
+ * lemma, produced at build time by {@link LabelLexiconCompiler}.
+ *
+ * <p>Words are located with a minimal perfect hash (hash and displace): the first hash selects a
+ * bucket, whose seed either names the slot directly or is used for a second hash. All data lives in
+ * primitive arrays, so a lookup neither performs I/O nor allocates. Because a perfect hash maps
+ * unknown words to arbitrary slots, the stored key is compared before an entry is returned.
+ */
+public final class CompiledLabelLexicon {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompiledLabelLexicon.class);
+
+  public static final String RESOURCE = "nlptools/label-lexicon.bin";
+  static final int MAGIC = 0x5032544c;
+  static final int VERSION = 1;
+
+  static final byte NOUN = 1;
+  static final byte VERB = 2;
+  static final byte ADJECTIVE = 4;
+  static final byte VERB_LEMMA = 8;
+
+  /** Lexicon without entries; every lookup falls back to WordNet. */
+  public static final CompiledLabelLexicon EMPTY =
+      new CompiledLabelLexicon(
+          new int[0],
+          new int[0],
+          new byte[0],
+          new int[0],
+          new int[0],
+          new int[0],
+          new char[0],
+          new int[] {0});
+
+  private final int[] seeds;
+  private final int[] keys;
+  private final byte[] flags;
+  private final int[] infinitives;
+  private final int[] verbs;
+  private final int[] nouns;
+  private final char[] chars;
+  private final int[] offsets;
+
+  CompiledLabelLexicon(
+      int[] seeds,
+      int[] keys,
+      byte[] flags,
+      int[] infinitives,
+      int[] verbs,
+      int[] nouns,
+      char[] chars,
+      int[] offsets) {
+    this.seeds = seeds;
+    this.keys = keys;
+    this.flags = flags;
+    this.infinitives = infinitives;
+    this.verbs = verbs;
+    this.nouns = nouns;
+    this.chars = chars;
+    this.offsets = offsets;
+  }
+
+  /**
+   * Returns the snapshot bundled on the classpath, or {@link #EMPTY} if the build did not produce
+   * one.
+   */
+  public static CompiledLabelLexicon getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Returns the entry of the given word, or -1 if the word is not part of the snapshot.
+   *
+   * @param word the word exactly as it would be passed to {@link EnglishLabelHelper}
+   * @return entry index for the accessor methods, or -1
+   */
+  public int find(String word) {
+    int n = keys.length;
+    if (n == 0) {
+      return -1;
+    }
+    int seed = seeds[hash(0, word) % n];
+    int slot = seed < 0 ? -seed - 1 : hash(seed, word) % n;
+    return keyEquals(keys[slot], word) ? slot : -1;
+  }
+
+  public int size() {
+    return keys.length;
+  }
+
+  public boolean isNoun(int entry) {
+    return (flags[entry] & NOUN) != 0;
+  }
+
+  public boolean isVerb(int entry) {
+    return (flags[entry] & VERB) != 0;
+  }
+
+  public boolean isAdjective(int entry) {
+    return (flags[entry] & ADJECTIVE) != 0;
+  }
+
+  /** True if the word itself (without morphological processing) is a WordNet verb lemma. */
+  public boolean isVerbLemma(int entry) {
+    return (flags[entry] & VERB_LEMMA) != 0;
+  }
+
+  public String getInfinitive(int entry) {
+    return string(infinitives[entry]);
+  }
+
+  /** Result of {@code Noun2VerbTransformer.toVerb} for the word. */
+  public String getVerb(int entry) {
+    return string(verbs[entry]);
+  }
+
+  /** Result of {@link EnglishLabelHelper#getNoun(String)} for the word. */
+  public String getNoun(int entry) {
+    return string(nouns[entry]);
+  }
+
+  /**
+   * Hash function shared by the compiler and the lookup (FNV-1a over UTF-16 code units). Seed 0
+   * selects the bucket, any other seed the slot.
+   */
+  static int hash(int seed, CharSequence word) {
+    int h = seed == 0 ? 0x811c9dc5 : seed;
+    for (int i = 0; i < word.length(); i++) {
+      h = (h ^ word.charAt(i)) * 0x01000193;
+    }
+    return h & 0x7fffffff;
+  }
+
+  private boolean keyEquals(int id, String word) {
+    int start = offsets[id];
+    int length = offsets[id + 1] - start;
+    if (length != word.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (chars[start + i] != word.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String string(int id) {
+    return new String(chars, offsets[id], offsets[id + 1] - offsets[id]);
+  }
+
+  /**
+   * Writes the snapshot in its binary format.
+   *
+   * @param out target stream, closed by this method
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    try (DataOutputStream data =
+        new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out)))) {
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      data.writeInt(keys.length);
+      data.writeInt(offsets.length);
+      data.writeInt(chars.length);
+      writeInts(data, seeds);
+      writeInts(data, keys);
+      data.write(flags);
+      writeInts(data, infinitives);
+      writeInts(data, verbs);
+      writeInts(data, nouns);
+      writeInts(data, offsets);
+      for (char c : chars) {
+        data.writeChar(c);
+      }
+    }
+  }
+
+  /**
+   * Reads a snapshot written by {@link #writeTo(OutputStream)}.
+   *
+   * @param in source stream, closed by this method
+   */
+  public static CompiledLabelLexicon readFrom(InputStream in) throws IOException {
+    try (DataInputStream data =
+        new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)))) {
+      if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+        throw new IOException("Unsupported label lexicon format");
+      }
+      int n = data.readInt();
+      int strings = data.readInt();
+      int charCount = data.readInt();
+      int[] seeds = readInts(data, n);
+      int[] keys = readInts(data, n);
+      byte[] flags = new byte[n];
+      data.readFully(flags);
+      int[] infinitives = readInts(data, n);
+      int[] verbs = readInts(data, n);
+      int[] nouns = readInts(data, n);
+      int[] offsets = readInts(data, strings);
+      char[] chars = new char[charCount];
+      for (int i = 0; i < charCount; i++) {
+        chars[i] = data.readChar();
+      }
+      return new CompiledLabelLexicon(
+          seeds, keys, flags, infinitives, verbs, nouns, chars, offsets);
+    }
+  }
+
+  private static void writeInts(DataOutputStream data, int[] values) throws IOException {
+    for (int value : values) {
+      data.writeInt(value);
+    }
+  }
+
+  private static int[] readInts(DataInputStream data, int length) throws IOException {
+    int[] values = new int[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = data.readInt();
+    }
+    return values;
+  }
+
+  private static CompiledLabelLexicon load() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    InputStream input = classLoader.getResourceAsStream(RESOURCE);
+    if (input == null) {
+      logger.info("No precompiled label lexicon found, using WordNet lookups only");
+      return EMPTY;
+    }
+    try {
+      CompiledLabelLexicon lexicon = readFrom(input);
+      logger.info("Precompiled label lexicon loaded with {} entries", lexicon.size());
+      return lexicon;
+    } catch (IOException e) {
+      logger.error("Precompiled label lexicon could not be read", e);
+      return EMPTY;
+    }
+  }
+
+  private static final class Holder {
+    private static final CompiledLabelLexicon INSTANCE = load();
+  }
+}
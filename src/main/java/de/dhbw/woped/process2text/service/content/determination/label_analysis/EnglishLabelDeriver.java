@@ -2,17 +2,12 @@ package de.dhbw.woped.process2text.service.content.determination.label_analysis;
 
 import java.util.Arrays;
 import net.didion.jwnl.JWNLException;
-import net.didion.jwnl.data.IndexWord;
-import net.didion.jwnl.data.POS;
-import net.didion.jwnl.dictionary.Dictionary;
 
 public class EnglishLabelDeriver {
-  private final Dictionary wordnet;
   private final EnglishLabelHelper lHelper;
 
   /** Constructor */
   public EnglishLabelDeriver(EnglishLabelHelper lHelper) {
-    this.wordnet = lHelper.getDictionary();
     this.lHelper = lHelper;
   }
 
@@ -117,9 +112,8 @@ public class EnglishLabelDeriver {
    * @param word considered verb which might contain 2 words
    * @return true if given word is a phrasal verb
    */
-  private boolean checkForPhrasalVerb(String word) throws JWNLException {
-    IndexWord indexWord = wordnet.getIndexWord(POS.VERB, word);
-    if (indexWord != null) {
+  private boolean checkForPhrasalVerb(String word) {
+    if (lHelper.isVerbLemma(word)) {
       return !Arrays.asList(EnglishLabelProperties.elements).contains(word.split(" ")[1]);
     } else {
       return false;
@@ -1,15 +1,15 @@
 package de.dhbw.woped.process2text.service.content.determination.label_analysis;
 
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
 import de.dhbw.woped.process2text.service.content.determination.support.Distance;
 import de.dhbw.woped.process2text.service.content.determination.support.Noun2VerbTransformer;
-import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
-import net.didion.jwnl.JWNL;
 import net.didion.jwnl.JWNLException;
-import net.didion.jwnl.data.*;
-import net.didion.jwnl.dictionary.Dictionary;
+import net.didion.jwnl.data.POS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,15 +53,45 @@ public class EnglishLabelHelper {
     "pick-up",
     "rollback"
   };
-  private Dictionary wordnet;
+  private final WordNetLexicon wordnet;
+  private final CompiledLabelLexicon compiled;
+  private final DerivationCache derivations;
 
-  public EnglishLabelHelper() throws JWNLException {
+  /** Creates a helper backed by the process-wide {@link WordNetLexicon}. */
+  public EnglishLabelHelper() {
+    this(WordNetLexicon.getInstance());
+  }
+
+  /**
+   * Creates a helper backed by the given lexicon and the precompiled label lexicon, if the build
+   * produced one.
+   */
+  public EnglishLabelHelper(WordNetLexicon wordnet) {
+    this(wordnet, CompiledLabelLexicon.getInstance());
+  }
 
-    // Initialize WordNet (JWNL)
-    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-    InputStream input = classLoader.getResourceAsStream("file_properties.xml");
-    JWNL.initialize(input);
-    this.wordnet = Dictionary.getInstance();
+  /**
+   * Creates a helper that answers from {@code compiled} where possible and falls back to {@code
+   * wordnet} for words the snapshot does not contain.
+   */
+  public EnglishLabelHelper(WordNetLexicon wordnet, CompiledLabelLexicon compiled) {
+    this(wordnet, compiled, DerivationCache.getDefault());
+  }
+
+  /**
+   * Creates a helper that answers from {@code compiled} where possible and derives the remaining
+   * verbs and nouns from {@code wordnet} through the given cache.
+   */
+  public EnglishLabelHelper(
+      WordNetLexicon wordnet, CompiledLabelLexicon compiled, DerivationCache derivations) {
+    this.wordnet = wordnet;
+    this.compiled = compiled;
+    this.derivations = derivations;
+  }
+
+  /** Verbs that WordNet does not know but that are common in process model labels. */
+  static List<String> getAdditionalVerbs() {
+    return Arrays.asList(verbs);
   }
 
   /**
@@ -70,10 +100,14 @@ public class EnglishLabelHelper {
    * @param noun action given as a noun which has to be transformed in to a verb
    * @return verb (infinitive) derived from given noun
    */
-  private String getVerbsFromNoun(String noun) {
+  String getVerbFromNoun(String noun) {
+    int entry = compiled.find(noun);
+    if (entry >= 0) {
+      return compiled.getVerb(entry);
+    }
     try {
-      return Noun2VerbTransformer.toVerb(noun, wordnet);
-    } catch (Exception e) {
+      return derivations.get(POS.VERB, noun, n -> Noun2VerbTransformer.toVerb(n, wordnet));
+    } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
       return "";
     }
@@ -86,18 +120,21 @@ public class EnglishLabelHelper {
    */
   public boolean isVerb(String potVerb) {
     potVerb = potVerb.toLowerCase();
+    int entry = compiled.find(potVerb);
+    if (entry >= 0) {
+      return compiled.isVerb(entry);
+    }
     for (String verb : verbs) {
       if (potVerb.equals(verb)) {
         return true;
       }
     }
-    IndexWord word = null;
     try {
-      word = wordnet.lookupAllIndexWords(potVerb).getIndexWord(POS.VERB);
+      return wordnet.hasWord(POS.VERB, potVerb);
     } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
+      return false;
     }
-    return word != null;
   }
 
   /**
@@ -107,14 +144,17 @@ public class EnglishLabelHelper {
    */
   public boolean isAdjective(String potAdj) {
     potAdj = potAdj.toLowerCase();
+    int entry = compiled.find(potAdj);
+    if (entry >= 0) {
+      return compiled.isAdjective(entry);
+    }
 
-    IndexWord word = null;
     try {
-      word = wordnet.lookupAllIndexWords(potAdj).getIndexWord(POS.ADJECTIVE);
+      return wordnet.hasWord(POS.ADJECTIVE, potAdj);
     } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
+      return false;
     }
-    return word != null;
   }
 
   /**
@@ -124,14 +164,17 @@ public class EnglishLabelHelper {
    */
   public boolean isNoun(String potNoun) {
     potNoun = potNoun.toLowerCase();
+    int entry = compiled.find(potNoun);
+    if (entry >= 0) {
+      return compiled.isNoun(entry);
+    }
 
-    IndexWord word = null;
     try {
-      word = wordnet.lookupAllIndexWords(potNoun).getIndexWord(POS.NOUN);
+      return wordnet.hasWord(POS.NOUN, potNoun);
     } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
+      return false;
     }
-    return word != null;
   }
 
   /**
@@ -141,6 +184,10 @@ public class EnglishLabelHelper {
    * @return infinitive of action
    */
   public String getInfinitiveOfAction(String action) {
+    int entry = compiled.find(action);
+    if (entry >= 0) {
+      return compiled.getInfinitive(entry);
+    }
     String inf = "";
     boolean mapped = false;
 
@@ -267,21 +314,21 @@ public class EnglishLabelHelper {
       // go through each word in order to determine words that may represent an action
       // check if word is actually a verb
       if (isVerb(action)) {
-        IndexWord iw = null;
+        String lemma = null;
         try {
-          iw = wordnet.lookupAllIndexWords(action).getIndexWord(POS.VERB);
+          lemma = wordnet.lookupLemma(POS.VERB, action);
         } catch (JWNLException e) {
           logger.error(e.getLocalizedMessage());
         }
-        if (iw != null) {
-          inf = iw.getLemma();
+        if (lemma != null) {
+          inf = lemma;
         }
       }
 
       // proceed if no infinitive has been found and word is noun
       if (inf.equals("") && this.isNoun(action)) {
         // get all verbs and check which verb is directly derived from noun
-        inf = getVerbsFromNoun(action);
+        inf = getVerbFromNoun(action);
       }
     }
     return inf;
@@ -303,44 +350,71 @@ public class EnglishLabelHelper {
   }
 
   public String getNoun(String verb) {
+    int entry = compiled.find(verb);
+    if (entry >= 0) {
+      return compiled.getNoun(entry);
+    }
     try {
-      Set<String> candidateNouns = new HashSet<>();
-      IndexWord iw = wordnet.getIndexWord(POS.VERB, verb);
-      if (iw != null) {
-        for (Synset synset : iw.getSenses()) {
-          Pointer[] pointers = synset.getPointers(PointerType.NOMINALIZATION);
-          for (Pointer pointer : pointers) {
-            Synset derived = pointer.getTargetSynset();
-            for (Word word : derived.getWords()) {
-              if (word.getPOS() == POS.NOUN
-                  && word.getLemma().startsWith(verb.substring(0, 1))
-                  && word.getLemma().length() >= verb.length()) {
-                candidateNouns.add(word.getLemma());
-              }
-            }
-          }
-        }
+      return derivations.get(POS.NOUN, verb, this::deriveNoun);
+    } catch (JWNLException e) {
+      logger.error(e.getLocalizedMessage());
+    }
+    return "";
+  }
+
+  private String deriveNoun(String verb) throws JWNLException {
+    Set<String> candidateNouns = new HashSet<>();
+    for (String lemma : wordnet.getDerivedLemmas(POS.VERB, verb, POS.NOUN)) {
+      if (lemma.startsWith(verb.substring(0, 1)) && lemma.length() >= verb.length()) {
+        candidateNouns.add(lemma);
       }
-      String noun = "";
-      int minDist = Integer.MAX_VALUE;
-      for (String candidate : candidateNouns) {
-        int distance = Distance.getLD(verb, candidate);
-        if (candidate.endsWith("tion")) {
-          distance = 0;
-        }
-        if (distance < minDist) {
-          minDist = distance;
-          noun = candidate;
-        }
+    }
+    String noun = "";
+    int minDist = Integer.MAX_VALUE;
+    for (String candidate : candidateNouns) {
+      int distance = Distance.getLD(verb, candidate);
+      if (candidate.endsWith("tion")) {
+        distance = 0;
       }
-      return noun;
+      if (distance < minDist) {
+        minDist = distance;
+        noun = candidate;
+      }
+    }
+    return noun;
+  }
+
+  /**
+   * Evaluates whether the given word is a WordNet verb lemma as is, e.g. a phrasal verb like "pick
+   * up", without morphological processing.
+   */
+  public boolean isVerbLemma(String word) {
+    int entry = compiled.find(word);
+    if (entry >= 0) {
+      return compiled.isVerbLemma(entry);
+    }
+    try {
+      return wordnet.hasLemma(POS.VERB, word);
     } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
+      return false;
     }
-    return "";
   }
 
-  public Dictionary getDictionary() {
+  public WordNetLexicon getLexicon() {
     return wordnet;
   }
+
+  /**
+   * Returns what the analysis of a label through this helper depends on besides the label: the
+   * lexicons and the derivation cache. Helpers built on the same ones return equal contexts, so
+   * they share the entries of a {@link LabelAnnotationCache}.
+   */
+  public Object getAnalysisContext() {
+    return new AnalysisContext(wordnet, compiled, derivations);
+  }
+
+  /** The collaborators of a helper, compared by identity. */
+  private record AnalysisContext(
+      WordNetLexicon wordnet, CompiledLabelLexicon compiled, DerivationCache derivations) {}
 }
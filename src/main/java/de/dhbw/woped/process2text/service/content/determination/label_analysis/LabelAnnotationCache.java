@@ -0,0 +1,101 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.dhbw.woped.process2text.model.process.Annotation;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+
+/**
+ * Cross-request cache from activity label to the {@link Annotation} derived by the label analysis.
+ * Labels are cached per analysis context, everything the analysis depends on besides the label
+ * ({@link EnglishLabelHelper#getAnalysisContext()}), so a label analyzed against one lexicon or
+ * derivation cache is never answered from the analysis against another.
+ *
+ * <p>The cache is bounded by the estimated memory footprint of its entries and evicts the least
+ * valuable entries first. Hits, misses, evictions and the current size are published as {@code
+ * cache.*} meters tagged {@code cache=label_annotations}. Cached annotations are shared, so callers
+ * copy them before attaching them to an activity.
+ *
+ * <p>The analysis runs outside the cache's locks, since it looks words up in WordNet. Concurrent
+ * misses on the same label may therefore analyze it more than once; the first result stored wins.
+ */
+public final class LabelAnnotationCache implements MeterBinder {
+
+  /** Cache that stores nothing and runs the analysis on every call. */
+  public static final LabelAnnotationCache DISABLED = new LabelAnnotationCache(null);
+
+  private static final String NAME = "label_annotations";
+
+  private final Cache<Key, Annotation> cache;
+
+  /** A label together with the context it was analyzed in. */
+  private record Key(Object context, String label) {}
+
+  private LabelAnnotationCache(Cache<Key, Annotation> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a cache holding at most about {@code maxBytes} bytes of labels and annotations.
+   *
+   * @param maxBytes upper bound of the estimated size of all entries
+   * @return the new cache
+   */
+  public static LabelAnnotationCache create(long maxBytes) {
+    return new LabelAnnotationCache(
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher(LabelAnnotationCache::weigh)
+            .recordStats()
+            .build());
+  }
+
+  /**
+   * Returns the annotation of the given label in the given context, running {@code analysis} only
+   * if it is not cached. A {@code null} result is not cached.
+   *
+   * @param context what the analysis depends on besides the label, compared by {@code equals}
+   * @param label the activity label exactly as given in the model
+   * @param analysis computes the annotation of a label
+   * @return the annotation, or {@code null} if the analysis failed
+   */
+  public Annotation get(Object context, String label, Function<String, Annotation> analysis) {
+    if (cache == null) {
+      return analysis.apply(label);
+    }
+    Key key = new Key(context, label);
+    Annotation cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    Annotation annotation = analysis.apply(label);
+    if (annotation == null) {
+      return null;
+    }
+    Annotation raced = cache.asMap().putIfAbsent(key, annotation);
+    return raced != null ? raced : annotation;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+  }
+
+  /** Rough heap size of an entry in bytes: two bytes per character plus object overhead. */
+  private static int weigh(Key key, Annotation annotation) {
+    int chars = key.label().length() + annotation.getAddition().length();
+    int strings = 2 + annotation.getActions().size() + annotation.getBusinessObjects().size();
+    for (String action : annotation.getActions()) {
+      chars += action.length();
+    }
+    for (String bo : annotation.getBusinessObjects()) {
+      chars += bo.length();
+    }
+    return 2 * chars + 48 * strings + 128;
+  }
+}
@@ -0,0 +1,204 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.didion.jwnl.data.POS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build step that precomputes the label analysis of {@link EnglishLabelHelper} for every WordNet
+ * lemma and writes it as a {@link CompiledLabelLexicon} snapshot.
+ *
+ * <p>Each entry is computed by the helper itself (backed by WordNet only), so a snapshot hit
+ * returns exactly what the WordNet lookup would have returned for the same word.
+ */
+public final class LabelLexiconCompiler {
+
+  private static final Logger logger = LoggerFactory.getLogger(LabelLexiconCompiler.class);
+
+  /** Seeds tried per bucket; at a load factor of 1 a free placement is usually found in a few. */
+  static final int MAX_SEED = 1 << 20;
+
+  private LabelLexiconCompiler() {}
+
+  /**
+   * Compiles the snapshot.
+   *
+   * @param args optional target file, defaults to {@code target/classes/} plus {@link
+   *     CompiledLabelLexicon#RESOURCE}
+   */
+  public static void main(String[] args) throws Exception {
+    Path target =
+        Paths.get(args.length > 0 ? args[0] : "target/classes/" + CompiledLabelLexicon.RESOURCE);
+    long start = System.nanoTime();
+
+    WordNetLexicon wordnet = WordNetLexicon.getInstance();
+    EnglishLabelHelper lHelper = new EnglishLabelHelper(wordnet, CompiledLabelLexicon.EMPTY);
+    Set<String> words = new LinkedHashSet<>(EnglishLabelHelper.getAdditionalVerbs());
+    for (POS pos : Arrays.asList(POS.NOUN, POS.VERB, POS.ADJECTIVE)) {
+      words.addAll(wordnet.getAllForms(pos));
+    }
+    CompiledLabelLexicon lexicon = compile(words, lHelper);
+
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(target)) {
+      lexicon.writeTo(out);
+    }
+    logger.info(
+        "Label lexicon with {} entries written to {} in {} ms",
+        lexicon.size(),
+        target,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Analyzes every word with the given helper and builds the perfect hash over them.
+   *
+   * @param words distinct words to include
+   * @param lHelper helper used to compute the entries, must not use a compiled lexicon itself
+   * @return the compiled lexicon
+   */
+  static CompiledLabelLexicon compile(Collection<String> words, EnglishLabelHelper lHelper) {
+    int n = words.size();
+    String[] slotWords = new String[n];
+    int[] seeds = perfectHash(new ArrayList<>(words), slotWords);
+
+    Map<String, Integer> stringIds = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    intern("", stringIds, strings);
+
+    int[] keys = new int[n];
+    byte[] flags = new byte[n];
+    int[] infinitives = new int[n];
+    int[] verbs = new int[n];
+    int[] nouns = new int[n];
+    for (int slot = 0; slot < n; slot++) {
+      String word = slotWords[slot];
+      keys[slot] = intern(word, stringIds, strings);
+      byte f = 0;
+      if (lHelper.isNoun(word)) {
+        f |= CompiledLabelLexicon.NOUN;
+      }
+      if (lHelper.isVerb(word)) {
+        f |= CompiledLabelLexicon.VERB;
+      }
+      if (lHelper.isAdjective(word)) {
+        f |= CompiledLabelLexicon.ADJECTIVE;
+      }
+      if (lHelper.isVerbLemma(word)) {
+        f |= CompiledLabelLexicon.VERB_LEMMA;
+      }
+      flags[slot] = f;
+      verbs[slot] = intern(lHelper.getVerbFromNoun(word), stringIds, strings);
+      infinitives[slot] = intern(lHelper.getInfinitiveOfAction(word), stringIds, strings);
+      nouns[slot] = intern(lHelper.getNoun(word), stringIds, strings);
+    }
+
+    int[] offsets = new int[strings.size() + 1];
+    StringBuilder chars = new StringBuilder();
+    for (int i = 0; i < strings.size(); i++) {
+      offsets[i] = chars.length();
+      chars.append(strings.get(i));
+    }
+    offsets[strings.size()] = chars.length();
+    char[] pool = new char[chars.length()];
+    chars.getChars(0, chars.length(), pool, 0);
+
+    return new CompiledLabelLexicon(seeds, keys, flags, infinitives, verbs, nouns, pool, offsets);
+  }
+
+  /**
+   * Places every word in one of {@code n} slots (hash and displace). Buckets are processed from
+   * largest to smallest; multi-word buckets search for a seed whose second hash puts all of their
+   * words into free slots, single-word buckets take the next free slot directly.
+   *
+   * @param words the distinct words
+   * @param slots receives the word placed in each slot, must have one slot per word
+   * @return the seed of every bucket, negative seeds encode the slot of single-word buckets
+   * @throws IllegalStateException if no seed up to {@link #MAX_SEED} places a bucket
+   */
+  private static int[] perfectHash(List<String> words, String[] slots) {
+    int n = slots.length;
+    List<List<String>> buckets = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      buckets.add(new ArrayList<>(2));
+    }
+    for (String word : words) {
+      buckets.get(CompiledLabelLexicon.hash(0, word) % n).add(word);
+    }
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+    int[] seeds = new int[n];
+    int b = 0;
+    for (; b < n && buckets.get(order[b]).size() > 1; b++) {
+      List<String> bucket = buckets.get(order[b]);
+      int seed = 1;
+      int[] placed = new int[bucket.size()];
+      while (!place(bucket, seed, n, slots, placed)) {
+        if (++seed > MAX_SEED) {
+          throw new IllegalStateException(
+              "No perfect hash seed up to "
+                  + MAX_SEED
+                  + " places the bucket "
+                  + bucket
+                  + " of "
+                  + n
+                  + " words");
+        }
+      }
+      for (int i = 0; i < placed.length; i++) {
+        slots[placed[i]] = bucket.get(i);
+      }
+      seeds[order[b]] = seed;
+    }
+    int free = 0;
+    for (; b < n && buckets.get(order[b]).size() == 1; b++) {
+      while (slots[free] != null) {
+        free++;
+      }
+      slots[free] = buckets.get(order[b]).get(0);
+      seeds[order[b]] = -free - 1;
+    }
+    return seeds;
+  }
+
+  private static boolean place(List<String> bucket, int seed, int n, String[] slots, int[] placed) {
+    for (int i = 0; i < bucket.size(); i++) {
+      int slot = CompiledLabelLexicon.hash(seed, bucket.get(i)) % n;
+      if (slots[slot] != null) {
+        return false;
+      }
+      for (int j = 0; j < i; j++) {
+        if (placed[j] == slot) {
+          return false;
+        }
+      }
+      placed[i] = slot;
+    }
+    return true;
+  }
+
+  private static int intern(String s, Map<String, Integer> ids, List<String> strings) {
+    return ids.computeIfAbsent(
+        s,
+        key -> {
+          strings.add(key);
+          return strings.size() - 1;
+        });
+  }
+}
@@ -0,0 +1,350 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.POS;
+import net.didion.jwnl.dictionary.file.DictionaryFileType;
+import net.didion.jwnl.dictionary.file_manager.FileManager;
+import net.didion.jwnl.util.factory.Param;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JWNL file manager that keeps the Princeton WordNet files ({@code index.*}, {@code data.*} and
+ * {@code *.exc}) memory-mapped read-only and answers all lookups directly from the mapped bytes.
+ *
+ * <p>Unlike {@code FileManagerImpl}, no lookup seeks or reads a file handle: index and exception
+ * files are binary-searched in place and lines are decoded straight from the buffers. Buffers are
+ * only accessed with absolute reads, so the manager itself keeps no mutable state; JWNL's
+ * dictionary caches on top of it are not thread-safe, though, so {@link WordNetLexicon} still
+ * serializes lookups.
+ *
+ * <p>The dictionary is taken from the directory given by the system property {@value
+ * #PATH_PROPERTY} or the {@value #DICTIONARY_PATH} parameter, if that directory exists, and
+ * otherwise from the classpath location given by {@value #DICTIONARY_RESOURCE}. Files packed into
+ * the application jar cannot be mapped and are copied into direct buffers once instead. Like {@code
+ * FileManagerImpl}, the manager fails if any {@code index.*}, {@code data.*} or {@code *.exc} file
+ * is missing.
+ */
+public class MappedFileManager implements FileManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedFileManager.class);
+
+  public static final String DICTIONARY_PATH = "dictionary_path";
+  public static final String DICTIONARY_RESOURCE = "dictionary_resource";
+  public static final String PATH_PROPERTY = "wordnet.dictionary.path";
+
+  private final Map<DictionaryFileType, Map<POS, ByteBuffer>> files;
+
+  /** Instance used by JWNL's factory, which then calls {@link #create(Map)}. */
+  public MappedFileManager() {
+    this.files = Collections.emptyMap();
+  }
+
+  private MappedFileManager(Map<DictionaryFileType, Map<POS, ByteBuffer>> files) {
+    this.files = files;
+  }
+
+  @Override
+  public Object create(Map params) throws JWNLException {
+    String path = System.getProperty(PATH_PROPERTY, value(params, DICTIONARY_PATH));
+    String resource = value(params, DICTIONARY_RESOURCE);
+    try {
+      if (path != null && Files.isDirectory(Paths.get(path))) {
+        logger.info("Mapping WordNet dictionary from directory {}", path);
+        return new MappedFileManager(loadFromDirectory(Paths.get(path)));
+      }
+      if (resource != null) {
+        logger.info("Mapping WordNet dictionary from classpath {}", resource);
+        return new MappedFileManager(loadFromClasspath(resource));
+      }
+    } catch (IOException | URISyntaxException e) {
+      throw new JWNLException("DICTIONARY_EXCEPTION_016", MappedFileManager.class, e);
+    }
+    throw new JWNLException("DICTIONARY_EXCEPTION_016", MappedFileManager.class);
+  }
+
+  private static String value(Map params, String name) {
+    Param param = (Param) params.get(name);
+    return param == null ? null : param.getValue();
+  }
+
+  private static Map<DictionaryFileType, Map<POS, ByteBuffer>> loadFromDirectory(Path dir)
+      throws IOException, JWNLException {
+    Map<DictionaryFileType, Map<POS, ByteBuffer>> files = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (DictionaryFileType type : fileTypes()) {
+      Map<POS, ByteBuffer> buffers = new HashMap<>();
+      for (POS pos : partsOfSpeech()) {
+        Path file = dir.resolve(fileName(pos, type));
+        if (Files.isRegularFile(file)) {
+          buffers.put(pos, map(file));
+        } else {
+          missing.add(fileName(pos, type));
+        }
+      }
+      files.put(type, buffers);
+    }
+    checkComplete(missing, dir.toString());
+    return files;
+  }
+
+  private static Map<DictionaryFileType, Map<POS, ByteBuffer>> loadFromClasspath(String resource)
+      throws IOException, URISyntaxException, JWNLException {
+    String prefix = resource.endsWith("/") ? resource : resource + "/";
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    Map<DictionaryFileType, Map<POS, ByteBuffer>> files = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (DictionaryFileType type : fileTypes()) {
+      Map<POS, ByteBuffer> buffers = new HashMap<>();
+      for (POS pos : partsOfSpeech()) {
+        URL url = classLoader.getResource(prefix + fileName(pos, type));
+        if (url == null) {
+          missing.add(fileName(pos, type));
+          continue;
+        }
+        if ("file".equals(url.getProtocol())) {
+          buffers.put(pos, map(Paths.get(url.toURI())));
+        } else {
+          try (InputStream in = url.openStream()) {
+            byte[] bytes = in.readAllBytes();
+            buffers.put(
+                pos, ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer());
+          }
+        }
+      }
+      files.put(type, buffers);
+    }
+    checkComplete(missing, "classpath:" + prefix);
+    return files;
+  }
+
+  private static void checkComplete(List<String> missing, String location) throws JWNLException {
+    if (!missing.isEmpty()) {
+      String names = String.join(", ", missing);
+      throw new JWNLException(
+          "DICTIONARY_EXCEPTION_018",
+          new Object[] {names, "not found in " + location},
+          new FileNotFoundException(location + ": " + names));
+    }
+  }
+
+  private static ByteBuffer map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<DictionaryFileType> fileTypes() {
+    return DictionaryFileType.getAllDictionaryFileTypes();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<POS> partsOfSpeech() {
+    return POS.getAllPOS();
+  }
+
+  /** Princeton file name, e.g. {@code index.noun}, {@code data.adj} or {@code verb.exc}. */
+  static String fileName(POS pos, DictionaryFileType type) {
+    String extension;
+    if (pos == POS.NOUN) {
+      extension = "noun";
+    } else if (pos == POS.VERB) {
+      extension = "verb";
+    } else if (pos == POS.ADJECTIVE) {
+      extension = "adj";
+    } else {
+      extension = "adv";
+    }
+    if (type == DictionaryFileType.EXCEPTION) {
+      return extension + ".exc";
+    }
+    return (type == DictionaryFileType.INDEX ? "index." : "data.") + extension;
+  }
+
+  private ByteBuffer buffer(POS pos, DictionaryFileType fileType) {
+    Map<POS, ByteBuffer> buffers = files.get(fileType);
+    return buffers == null ? null : buffers.get(pos);
+  }
+
+  /** Binary search for the line whose first word equals {@code target}. */
+  @Override
+  public long getIndexedLinePointer(POS pos, DictionaryFileType fileType, String target) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null) {
+      return -1;
+    }
+    int low = 0;
+    int high = buffer.limit();
+    while (low < high) {
+      int start = lineStart(buffer, (low + high) >>> 1);
+      int cmp = compareWord(buffer, start, target);
+      if (cmp == 0) {
+        return start;
+      } else if (cmp < 0) {
+        low = nextLine(buffer, start);
+      } else {
+        high = start;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String readLineAt(POS pos, DictionaryFileType fileType, long offset) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null || offset < 0 || offset >= buffer.limit()) {
+      return null;
+    }
+    int start = (int) offset;
+    int end = start;
+    while (end < buffer.limit() && !isLineBreak(buffer.get(end))) {
+      end++;
+    }
+    return decode(buffer, start, end);
+  }
+
+  @Override
+  public long getNextLinePointer(POS pos, DictionaryFileType fileType, long offset) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null || offset < 0) {
+      return -1;
+    }
+    return offset >= buffer.limit() ? buffer.limit() : nextLine(buffer, (int) offset);
+  }
+
+  /**
+   * Returns the start of the line holding the first word at or after {@code offset} that contains
+   * {@code substring}, or -1.
+   */
+  @Override
+  public long getMatchingLinePointer(
+      POS pos, DictionaryFileType fileType, long offset, String substring) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null || offset < 0) {
+      return -1;
+    }
+    int start = (int) offset;
+    while (start < buffer.limit()) {
+      int end = start;
+      while (end < buffer.limit() && !isLineBreak(buffer.get(end)) && buffer.get(end) != ' ') {
+        end++;
+      }
+      if (decode(buffer, start, end).contains(substring)) {
+        return lineStart(buffer, start);
+      }
+      start = end + 1;
+    }
+    return -1;
+  }
+
+  @Override
+  public long getRandomLinePointer(POS pos, DictionaryFileType fileType) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null) {
+      return -1;
+    }
+    int first = (int) getFirstLinePointer(pos, fileType);
+    if (first >= buffer.limit()) {
+      return -1;
+    }
+    return lineStart(buffer, first + ThreadLocalRandom.current().nextInt(buffer.limit() - first));
+  }
+
+  /** Skips the license header, whose lines start with a space. */
+  @Override
+  public long getFirstLinePointer(POS pos, DictionaryFileType fileType) {
+    ByteBuffer buffer = buffer(pos, fileType);
+    if (buffer == null) {
+      return -1;
+    }
+    int offset = 0;
+    while (offset < buffer.limit() && buffer.get(offset) == ' ') {
+      offset = nextLine(buffer, offset);
+    }
+    return offset;
+  }
+
+  @Override
+  public void close() {
+    // Mapped buffers are released by the garbage collector.
+  }
+
+  private static boolean isLineBreak(byte b) {
+    return b == '\n' || b == '\r';
+  }
+
+  /** Returns the start of the line {@code offset} is in, counting a line break to its line. */
+  private static int lineStart(ByteBuffer buffer, int offset) {
+    if (offset > 0
+        && offset < buffer.limit()
+        && buffer.get(offset) == '\n'
+        && buffer.get(offset - 1) == '\r') {
+      offset--;
+    }
+    while (offset > 0 && !isLineBreak(buffer.get(offset - 1))) {
+      offset--;
+    }
+    return offset;
+  }
+
+  private static int nextLine(ByteBuffer buffer, int offset) {
+    int limit = buffer.limit();
+    while (offset < limit && !isLineBreak(buffer.get(offset))) {
+      offset++;
+    }
+    if (offset < limit && buffer.get(offset) == '\r') {
+      offset++;
+    }
+    if (offset < limit && buffer.get(offset) == '\n') {
+      offset++;
+    }
+    return offset;
+  }
+
+  /**
+   * Compares the first word of the line at {@code start} with {@code target} like {@link
+   * String#compareTo(String)}, decoding bytes as ISO-8859-1 as JWNL does.
+   */
+  private static int compareWord(ByteBuffer buffer, int start, String target) {
+    int limit = buffer.limit();
+    int i = 0;
+    for (int pos = start; ; pos++, i++) {
+      boolean wordEnded = pos >= limit || buffer.get(pos) == ' ' || isLineBreak(buffer.get(pos));
+      if (wordEnded) {
+        return i - target.length();
+      }
+      if (i == target.length()) {
+        return 1;
+      }
+      int diff = (buffer.get(pos) & 0xff) - target.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+  }
+
+  private static String decode(ByteBuffer buffer, int start, int end) {
+    byte[] bytes = new byte[end - start];
+    buffer.get(start, bytes);
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+}
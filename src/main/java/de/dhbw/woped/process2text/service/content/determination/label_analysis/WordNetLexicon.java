@@ -0,0 +1,214 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import net.didion.jwnl.JWNL;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.Exc;
+import net.didion.jwnl.data.IndexWord;
+import net.didion.jwnl.data.POS;
+import net.didion.jwnl.data.Pointer;
+import net.didion.jwnl.data.PointerType;
+import net.didion.jwnl.data.PointerUtils;
+import net.didion.jwnl.data.Synset;
+import net.didion.jwnl.data.Word;
+import net.didion.jwnl.data.list.PointerTargetNode;
+import net.didion.jwnl.data.list.PointerTargetNodeList;
+import net.didion.jwnl.data.list.PointerTargetTree;
+import net.didion.jwnl.dictionary.Dictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide access to the WordNet dictionary.
+ *
+ * <p>JWNL keeps its configuration and the installed {@link Dictionary} in static state, so it is
+ * initialized exactly once per JVM and the resulting instance is shared by all requests. The
+ * dictionary's internal LRU caches are not thread-safe; every lookup therefore goes through one of
+ * the methods below, which serialize access to JWNL and only hand out plain strings and flags.
+ *
+ * <p>Access is serialized with a {@link ReentrantLock} rather than {@code synchronized}, so that
+ * virtual threads waiting for the dictionary park instead of pinning their carrier thread.
+ */
+public final class WordNetLexicon {
+
+  private static final Logger logger = LoggerFactory.getLogger(WordNetLexicon.class);
+  private static final String PROPERTIES = "file_properties.xml";
+
+  private final Dictionary wordnet;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private WordNetLexicon(Dictionary wordnet) {
+    this.wordnet = wordnet;
+  }
+
+  /**
+   * Returns the shared lexicon, initializing JWNL on first use.
+   *
+   * @return the process-wide lexicon
+   */
+  public static WordNetLexicon getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Initializes JWNL from {@code file_properties.xml} and wraps the installed dictionary. JWNL's
+   * state is global, so only the holder calls this.
+   *
+   * @return a lexicon backed by a freshly installed dictionary
+   * @throws JWNLException if the WordNet configuration or files cannot be loaded
+   */
+  private static WordNetLexicon load() throws JWNLException {
+    long start = System.nanoTime();
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    try (InputStream input = classLoader.getResourceAsStream(PROPERTIES)) {
+      JWNL.initialize(input);
+    } catch (IOException e) {
+      throw new JWNLException("JWNL_EXCEPTION_001", e);
+    }
+    WordNetLexicon lexicon = new WordNetLexicon(Dictionary.getInstance());
+    logger.info("WordNet lexicon initialized in {} ms", (System.nanoTime() - start) / 1_000_000);
+    return lexicon;
+  }
+
+  /**
+   * Evaluates whether the given word (or one of its inflected base forms) exists for the given part
+   * of speech.
+   */
+  public boolean hasWord(POS pos, String word) throws JWNLException {
+    lock.lock();
+    try {
+      return wordnet.lookupAllIndexWords(word).getIndexWord(pos) != null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the base form of the given word for the given part of speech, or {@code null} if
+   * WordNet does not know it.
+   */
+  public String lookupLemma(POS pos, String word) throws JWNLException {
+    lock.lock();
+    try {
+      IndexWord iw = wordnet.lookupAllIndexWords(word).getIndexWord(pos);
+      return iw == null ? null : iw.getLemma();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Evaluates whether the given lemma has an exact index entry, without morphological lookup. */
+  public boolean hasLemma(POS pos, String lemma) throws JWNLException {
+    lock.lock();
+    try {
+      return wordnet.getIndexWord(pos, lemma) != null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Collects the lemmas of part of speech {@code target} that are derivationally related
+   * (nominalizations) to any sense of {@code lemma}.
+   *
+   * @param source part of speech of {@code lemma}
+   * @param lemma the word whose derivations are collected
+   * @param target part of speech of the derived words
+   * @return the derived lemmas, empty if none exist
+   */
+  public Set<String> getDerivedLemmas(POS source, String lemma, POS target) throws JWNLException {
+    lock.lock();
+    try {
+      Set<String> derivedLemmas = new HashSet<>();
+      IndexWord iw = wordnet.getIndexWord(source, lemma);
+      if (iw != null) {
+        for (Synset synset : iw.getSenses()) {
+          for (Pointer pointer : synset.getPointers(PointerType.NOMINALIZATION)) {
+            for (Word word : pointer.getTargetSynset().getWords()) {
+              if (word.getPOS() == target) {
+                derivedLemmas.add(word.getLemma());
+              }
+            }
+          }
+        }
+      }
+      return derivedLemmas;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Checks the WordNet hypernym tree of every sense of the given noun for the given lemma.
+   *
+   * @param noun the noun whose hypernyms are searched
+   * @param hypernym lemma of the hypernym, e.g. "person"
+   * @return true if one of the senses is a kind of {@code hypernym}
+   */
+  public boolean hasHypernym(String noun, String hypernym) throws JWNLException {
+    lock.lock();
+    try {
+      IndexWord word = wordnet.getIndexWord(POS.NOUN, noun);
+      if (word == null) {
+        return false;
+      }
+      for (Synset sense : word.getSenses()) {
+        PointerTargetTree relatedTree = PointerUtils.getInstance().getHypernymTree(sense);
+        for (PointerTargetNodeList relatedList : relatedTree.reverse()) {
+          for (Object related : relatedList) {
+            Synset syns = ((PointerTargetNode) related).getSynset();
+            for (Word w : syns.getWords()) {
+              if (w.getLemma().equals(hypernym)) {
+                return true;
+              }
+            }
+          }
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Lists every lemma of the given part of speech together with the inflected forms of its
+   * exception list (e.g. "went" for verbs).
+   */
+  public List<String> getAllForms(POS pos) throws JWNLException {
+    lock.lock();
+    try {
+      List<String> forms = new ArrayList<>();
+      Iterator<?> indexWords = wordnet.getIndexWordIterator(pos);
+      while (indexWords.hasNext()) {
+        forms.add(((IndexWord) indexWords.next()).getLemma());
+      }
+      Iterator<?> exceptions = wordnet.getExceptionIterator(pos);
+      while (exceptions.hasNext()) {
+        forms.add(((Exc) exceptions.next()).getLemma());
+      }
+      return forms;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static final class Holder {
+    private static final WordNetLexicon INSTANCE;
+
+    static {
+      try {
+        INSTANCE = load();
+      } catch (JWNLException e) {
+        throw new IllegalStateException("WordNet lexicon could not be initialized", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package de.dhbw.woped.process2text.service.content.determination.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.dhbw.woped.process2text.model.Pair;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.POS;
+
+/**
+ * Bounded, thread-safe cache of derivationally related words, e.g. the verb of a nominalized action
+ * ("approval" to "approve") and the noun of a verb. Both directions share one bound.
+ *
+ * <p>Derivations that find nothing return an empty string, which is cached like any other result.
+ * Only lookups that fail with an exception or return {@code null} are repeated. Concurrent misses
+ * on the same word compute it once. Hits, misses and evictions are published as {@code cache.*}
+ * meters tagged {@code cache=word_derivations}.
+ */
+public final class DerivationCache implements MeterBinder {
+
+  public static final long DEFAULT_MAX_ENTRIES = 10_000;
+
+  private static final String NAME = "word_derivations";
+
+  /** Computes the derived word, or an empty string if there is none. */
+  @FunctionalInterface
+  public interface Derivation {
+    String derive(String word) throws JWNLException;
+  }
+
+  private final Cache<Pair<POS, String>, String> cache;
+
+  private DerivationCache(Cache<Pair<POS, String>, String> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a cache with the given bounds.
+   *
+   * @param maxEntries maximum number of cached derivations
+   * @param expireAfterAccess time after which unused entries are dropped, zero to keep them until
+   *     evicted by size
+   * @return the new cache
+   */
+  public static DerivationCache create(long maxEntries, Duration expireAfterAccess) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(maxEntries).recordStats();
+    if (!expireAfterAccess.isZero()) {
+      builder.expireAfterAccess(expireAfterAccess);
+    }
+    return new DerivationCache(builder.build());
+  }
+
+  /**
+   * Returns the cache used outside of the Spring context, bounded by {@link #DEFAULT_MAX_ENTRIES}.
+   */
+  public static DerivationCache getDefault() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Returns the cached derivation of {@code word} into part of speech {@code target}, computing and
+   * caching it on a miss.
+   *
+   * @param target part of speech of the derived word
+   * @param word the source word
+   * @param derivation computes the derived word on a miss
+   * @return the derived word, an empty string if there is none, or {@code null} if the derivation
+   *     returned {@code null}, which is not cached
+   * @throws JWNLException if WordNet cannot be read; the failure is not cached
+   */
+  public String get(POS target, String word, Derivation derivation) throws JWNLException {
+    try {
+      return cache.get(new Pair<>(target, word), key -> derive(derivation, key.snd));
+    } catch (DerivationException e) {
+      throw e.getCause();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, NAME);
+  }
+
+  private static String derive(Derivation derivation, String word) {
+    try {
+      return derivation.derive(word);
+    } catch (JWNLException e) {
+      throw new DerivationException(e);
+    }
+  }
+
+  /** Carries a failed derivation out of the cache's mapping function. */
+  private static final class DerivationException extends RuntimeException {
+
+    DerivationException(JWNLException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized JWNLException getCause() {
+      return (JWNLException) super.getCause();
+    }
+  }
+
+  private static final class Holder {
+    private static final DerivationCache INSTANCE = create(DEFAULT_MAX_ENTRIES, Duration.ZERO);
+  }
+}
@@ -1,15 +1,15 @@
 package de.dhbw.woped.process2text.service.content.determination.support;
 
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
 import java.util.*;
-import net.didion.jwnl.data.*;
-import net.didion.jwnl.dictionary.Dictionary;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.POS;
 
 /**
  * @author Sergey Smirnov
  */
 public class Noun2VerbTransformer {
   private static final List<String> suffixes;
-  private static final Map<String, String> cache;
 
   static {
     suffixes = new ArrayList<>();
@@ -41,25 +41,14 @@ public class Noun2VerbTransformer {
     suffixes.add("izer");
     suffixes.add("ment");
     suffixes.add("ness");
-
-    cache = new HashMap<>();
   }
 
-  public static String toVerb(String noun, Dictionary dictionary) throws Exception {
-    if (cache.containsKey(noun)) return cache.get(noun);
-
-    Set<String> candidateVerbs = new HashSet<>();
-    IndexWord iw = dictionary.getIndexWord(POS.NOUN, noun);
-
-    if (iw != null)
-      for (Synset synset : iw.getSenses()) {
-        Pointer[] pointers = synset.getPointers(PointerType.NOMINALIZATION);
-        for (Pointer pointer : pointers) {
-          Synset derived = pointer.getTargetSynset();
-          for (Word word : derived.getWords())
-            if (word.getPOS() == POS.VERB) candidateVerbs.add(word.getLemma());
-        }
-      }
+  /**
+   * Returns the verb the given noun is derived from, or an empty string if there is none. Results
+   * are not cached here; callers go through {@link DerivationCache}.
+   */
+  public static String toVerb(String noun, WordNetLexicon lexicon) throws JWNLException {
+    Set<String> candidateVerbs = lexicon.getDerivedLemmas(POS.NOUN, noun, POS.VERB);
     int minDist = Integer.MAX_VALUE;
     String verb = noun;
     String stemmedNoun = stemNoun(noun);
@@ -76,12 +65,10 @@ public class Noun2VerbTransformer {
         verb = candidate;
       }
     }
-    cache.put(noun, verb);
-    if (minDist < 8 && stemmedNoun.substring(0, 1).equals(verb.substring(0, 1))) {
-      return verb;
-    } else {
-      return "";
+    if (minDist >= 8 || !stemmedNoun.substring(0, 1).equals(verb.substring(0, 1))) {
+      verb = "";
     }
+    return verb;
   }
 
   private static String stemNoun(String noun) {
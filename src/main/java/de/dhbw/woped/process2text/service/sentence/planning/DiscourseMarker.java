@@ -2,13 +2,12 @@ package de.dhbw.woped.process2text.service.sentence.planning;
 
 import de.dhbw.woped.process2text.model.dsynt.DSynTConditionSentence;
 import de.dhbw.woped.process2text.model.dsynt.DSynTMainSentence;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode;
 import de.dhbw.woped.process2text.model.dsynt.DSynTSentence;
 import de.dhbw.woped.process2text.service.text.planning.IntermediateToDSynTConverter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 public class DiscourseMarker {
   private static final List<String> SEQ_CONNECTIVES =
@@ -35,10 +34,8 @@ public class DiscourseMarker {
         if (!condS.getExecutableFragment().senHasConnective
             && index > 0
             && !condS.getConditionFragment().senHeadPosition) {
-          Element verb = condS.getVerb();
-          Document doc = condS.getDSynT();
-          IntermediateToDSynTConverter.insertConnective(
-              doc, verb, SEQ_CONNECTIVES.get(indexConnectors));
+          DSynTNode verb = condS.getVerb();
+          IntermediateToDSynTConverter.insertConnective(verb, SEQ_CONNECTIVES.get(indexConnectors));
           inserted = true;
         }
       }
@@ -47,15 +44,14 @@ public class DiscourseMarker {
         if (!mainS.getExecutableFragment().senHasConnective
             && index > 0
             && !mainS.getExecutableFragment().senHasBullet) {
-          Element verb = mainS.getVerb();
-          Document doc = mainS.getDSynT();
+          DSynTNode verb = mainS.getVerb();
 
           if (mainS.getExecutableFragment().getBo().equals("branch")
               && mainS.getExecutableFragment().getAction().equals("finish")) {
-            IntermediateToDSynTConverter.insertConnective(doc, verb, "Then");
+            IntermediateToDSynTConverter.insertConnective(verb, "Then");
           } else {
             IntermediateToDSynTConverter.insertConnective(
-                doc, verb, SEQ_CONNECTIVES.get(indexConnectors));
+                verb, SEQ_CONNECTIVES.get(indexConnectors));
           }
           inserted = true;
         }
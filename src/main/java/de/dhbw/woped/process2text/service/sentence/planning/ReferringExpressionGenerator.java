@@ -7,13 +7,6 @@ import de.dhbw.woped.process2text.service.content.determination.label_analysis.E
 import java.util.ArrayList;
 import java.util.List;
 import net.didion.jwnl.JWNLException;
-import net.didion.jwnl.data.IndexWord;
-import net.didion.jwnl.data.POS;
-import net.didion.jwnl.data.PointerUtils;
-import net.didion.jwnl.data.Synset;
-import net.didion.jwnl.data.list.PointerTargetNode;
-import net.didion.jwnl.data.list.PointerTargetNodeList;
-import net.didion.jwnl.data.list.PointerTargetTree;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,29 +99,10 @@ public class ReferringExpressionGenerator {
   // Checks WordNet HypernymTree whether "role" is a person
   private boolean isPerson(String role) {
     try {
-      IndexWord word = lHelper.getDictionary().getIndexWord(POS.NOUN, role.toLowerCase());
-      if (word != null) {
-        Synset[] senses = word.getSenses();
-        for (Synset sense : senses) {
-          PointerTargetTree relatedTree = PointerUtils.getInstance().getHypernymTree(sense);
-          PointerTargetNodeList[] relatedLists = relatedTree.reverse();
-          for (PointerTargetNodeList relatedList : relatedLists) {
-            for (Object aRelatedList : relatedList) {
-              PointerTargetNode elem = (PointerTargetNode) aRelatedList;
-              Synset syns = elem.getSynset();
-              for (int j = 0; j < syns.getWords().length; j++) {
-                if (syns.getWord(j).getLemma().equals("person")) {
-                  return true;
-                }
-              }
-            }
-          }
-        }
-      }
+      return lHelper.getLexicon().hasHypernym(role.toLowerCase(), "person");
     } catch (JWNLException e) {
       logger.error(e.getLocalizedMessage());
       return false;
     }
-    return false;
   }
 }
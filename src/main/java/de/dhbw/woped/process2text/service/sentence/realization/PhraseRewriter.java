@@ -0,0 +1,235 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Replaces literal phrases in a text in a single pass, however many rules there are.
+ *
+ * <p>The phrases are compiled into an Aho-Corasick automaton that finds all their occurrences in
+ * one scan of the text. The result is the same as replacing the occurrences of each rule's phrase
+ * from left to right, rule after rule, as long as no replacement creates a new occurrence: each
+ * rule only edits the part of its phrase that differs from the replacement, e.g. it inserts the
+ * comma after "If it is necessary", and an occurrence is skipped if it overlaps another occurrence
+ * of its rule or the edit of a rule listed before.
+ */
+public final class PhraseRewriter {
+
+  /** Replaces each occurrence of {@code phrase}, taken literally, with {@code replacement}. */
+  public record Rule(String phrase, String replacement) {
+
+    public Rule {
+      if (phrase.isEmpty()) {
+        throw new IllegalArgumentException("Phrase must not be empty");
+      }
+    }
+  }
+
+  private static final int[] NO_RULES = {};
+
+  private final List<Rule> rules;
+
+  /** Offsets of the edited part within the phrase, by rule. */
+  private final int[] editFrom;
+
+  private final int[] editTo;
+
+  /** Text replacing the edited part, by rule. */
+  private final String[] edits;
+
+  /** Characters occurring in the phrases, sorted; a character's index is its input symbol. */
+  private final char[] alphabet;
+
+  /** Transitions by state and input symbol. */
+  private final int[][] next;
+
+  /** Rules whose phrase ends in the state, by state. */
+  private final int[][] matches;
+
+  private PhraseRewriter(List<Rule> rules) {
+    this.rules = List.copyOf(rules);
+    editFrom = new int[rules.size()];
+    editTo = new int[rules.size()];
+    edits = new String[rules.size()];
+    for (int r = 0; r < rules.size(); r++) {
+      String phrase = rules.get(r).phrase();
+      String replacement = rules.get(r).replacement();
+      int max = Math.min(phrase.length(), replacement.length());
+      int before = 0;
+      while (before < max && phrase.charAt(before) == replacement.charAt(before)) {
+        before++;
+      }
+      int after = 0;
+      while (before + after < max
+          && phrase.charAt(phrase.length() - 1 - after)
+              == replacement.charAt(replacement.length() - 1 - after)) {
+        after++;
+      }
+      editFrom[r] = before;
+      editTo[r] = phrase.length() - after;
+      edits[r] = replacement.substring(before, replacement.length() - after);
+    }
+
+    TreeSet<Character> chars = new TreeSet<>();
+    for (Rule rule : rules) {
+      for (char c : rule.phrase().toCharArray()) {
+        chars.add(c);
+      }
+    }
+    alphabet = new char[chars.size()];
+    int symbol = 0;
+    for (char c : chars) {
+      alphabet[symbol++] = c;
+    }
+
+    // Trie of the phrases, -1 where there is no edge yet
+    List<int[]> trie = new ArrayList<>();
+    List<int[]> ends = new ArrayList<>();
+    trie.add(newState());
+    ends.add(NO_RULES);
+    for (int r = 0; r < this.rules.size(); r++) {
+      int state = 0;
+      for (char c : this.rules.get(r).phrase().toCharArray()) {
+        int s = Arrays.binarySearch(alphabet, c);
+        if (trie.get(state)[s] < 0) {
+          trie.get(state)[s] = trie.size();
+          trie.add(newState());
+          ends.add(NO_RULES);
+        }
+        state = trie.get(state)[s];
+      }
+      ends.set(state, append(ends.get(state), r));
+    }
+
+    // Turn the trie into the automaton, following failure links breadth first
+    next = trie.toArray(new int[0][]);
+    matches = ends.toArray(new int[0][]);
+    int[] fail = new int[next.length];
+    Queue<Integer> queue = new ArrayDeque<>();
+    for (int s = 0; s < alphabet.length; s++) {
+      if (next[0][s] < 0) {
+        next[0][s] = 0;
+      } else {
+        queue.add(next[0][s]);
+      }
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.remove();
+      for (int r : matches[fail[state]]) {
+        matches[state] = append(matches[state], r);
+      }
+      for (int s = 0; s < alphabet.length; s++) {
+        int child = next[state][s];
+        if (child < 0) {
+          next[state][s] = next[fail[state]][s];
+        } else {
+          fail[child] = next[fail[state]][s];
+          queue.add(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a rewriter applying the given rules.
+   *
+   * @param rules the rules, in the order they apply
+   * @return the new rewriter
+   */
+  public static PhraseRewriter create(List<Rule> rules) {
+    return new PhraseRewriter(rules);
+  }
+
+  /**
+   * Applies the rules to the text.
+   *
+   * @param text the text
+   * @return the rewritten text, or {@code text} itself if no phrase occurs in it
+   */
+  public String rewrite(String text) {
+    // Starts of the occurrences, by rule and from left to right
+    int[][] starts = new int[rules.size()][];
+    int[] counts = new int[rules.size()];
+    boolean found = false;
+    int state = 0;
+    for (int i = 0; i < text.length(); i++) {
+      int s = Arrays.binarySearch(alphabet, text.charAt(i));
+      state = s < 0 ? 0 : next[state][s];
+      for (int r : matches[state]) {
+        if (starts[r] == null) {
+          starts[r] = new int[4];
+        } else if (counts[r] == starts[r].length) {
+          starts[r] = Arrays.copyOf(starts[r], 2 * counts[r]);
+        }
+        starts[r][counts[r]++] = i - rules.get(r).phrase().length() + 1;
+        found = true;
+      }
+    }
+    if (!found) {
+      return text;
+    }
+
+    // Accept the occurrences rule after rule, as if each rule had been applied to the whole text
+    boolean[] edited = new boolean[text.length()];
+    boolean[] inserted = new boolean[text.length() + 1];
+    List<int[]> accepted = new ArrayList<>();
+    for (int r = 0; r < rules.size(); r++) {
+      int length = rules.get(r).phrase().length();
+      int end = 0;
+      for (int k = 0; k < counts[r]; k++) {
+        int start = starts[r][k];
+        if (start < end || isEdited(edited, inserted, start, start + length)) {
+          continue;
+        }
+        end = start + length;
+        int from = start + editFrom[r];
+        int to = start + editTo[r];
+        if (from == to) {
+          inserted[from] = true;
+        } else {
+          Arrays.fill(edited, from, to, true);
+        }
+        accepted.add(new int[] {from, to, r});
+      }
+    }
+
+    accepted.sort(
+        Comparator.<int[]>comparingInt(edit -> edit[0])
+            .thenComparingInt(edit -> edit[1] == edit[0] ? 0 : 1)
+            .thenComparingInt(edit -> edit[2]));
+    StringBuilder rewritten = new StringBuilder(text.length() + 16);
+    int copied = 0;
+    for (int[] edit : accepted) {
+      rewritten.append(text, copied, edit[0]).append(edits[edit[2]]);
+      copied = edit[1];
+    }
+    return rewritten.append(text, copied, text.length()).toString();
+  }
+
+  /** Returns whether an edit accepted before changes the text from {@code start} to {@code end}. */
+  private static boolean isEdited(boolean[] edited, boolean[] inserted, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (edited[i] || (i > start && inserted[i])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int[] newState() {
+    int[] state = new int[alphabet.length];
+    Arrays.fill(state, -1);
+    return state;
+  }
+
+  private static int[] append(int[] rules, int rule) {
+    int[] appended = Arrays.copyOf(rules, rules.length + 1);
+    appended[rules.length] = rule;
+    return appended;
+  }
+}
@@ -0,0 +1,178 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import com.cogentex.real.api.RealProMgr;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.w3c.dom.Document;
+
+/**
+ * Pool of {@link RealProMgr} instances shared by all requests, realizing the sentences of a text in
+ * parallel.
+ *
+ * <p>A {@code RealProMgr} keeps the last realized sentence, so each instance is borrowed by exactly
+ * one thread from realizing a sentence until its string has been read. Instances are created on
+ * demand up to the pool size and reused afterwards unless a realization failed on them; the
+ * sentences are realized by as many worker threads. Utilization is published as {@code
+ * realpro_pool_instances}, {@code realpro_pool_active} (borrowed instances) and {@code
+ * realpro_pool_pending} (sentences waiting for a worker).
+ */
+public final class RealProPool implements MeterBinder, AutoCloseable {
+
+  public static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private static final long WAIT_MILLIS = 50;
+
+  private final int size;
+  private final BlockingQueue<RealProMgr> idle = new LinkedBlockingQueue<>();
+  private final AtomicInteger instances = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final ThreadPoolExecutor workers;
+
+  private RealProPool(int size) {
+    this.size = size;
+    AtomicInteger threads = new AtomicInteger();
+    this.workers =
+        (ThreadPoolExecutor)
+            Executors.newFixedThreadPool(
+                size,
+                task -> {
+                  Thread thread = new Thread(task, "realpro-" + threads.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                });
+  }
+
+  /**
+   * Creates a pool of the given size.
+   *
+   * @param size maximum number of instances and of sentences realized at the same time
+   * @return the new pool
+   */
+  public static RealProPool create(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("RealPro pool size must be positive: " + size);
+    }
+    return new RealProPool(size);
+  }
+
+  /** Returns the maximum number of sentences realized at the same time. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Returns the pool used outside of the Spring context, sized by {@link #DEFAULT_SIZE}. */
+  public static RealProPool getDefault() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Realizes the given sentences.
+   *
+   * @param dsynts deep-syntactic structures of the sentences
+   * @return the realized sentences, in the order of {@code dsynts}
+   */
+  public List<String> realize(List<Document> dsynts) {
+    if (dsynts.size() == 1) {
+      return List.of(realize(dsynts.get(0)));
+    }
+    List<CompletableFuture<String>> sentences = new ArrayList<>(dsynts.size());
+    for (Document dsynt : dsynts) {
+      sentences.add(CompletableFuture.supplyAsync(() -> realize(dsynt), workers));
+    }
+    List<String> realized = new ArrayList<>(dsynts.size());
+    try {
+      for (CompletableFuture<String> sentence : sentences) {
+        realized.add(sentence.join());
+      }
+    } catch (CompletionException e) {
+      sentences.forEach(sentence -> sentence.cancel(false));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return realized;
+  }
+
+  private String realize(Document dsynt) {
+    RealProMgr realPro = borrow();
+    String sentence;
+    try {
+      realPro.realize(dsynt);
+      sentence = realPro.getSentenceString();
+    } catch (RuntimeException | Error e) {
+      // The instance may be left in an inconsistent state, a new one is created in its place
+      active.decrementAndGet();
+      instances.decrementAndGet();
+      throw e;
+    }
+    active.decrementAndGet();
+    idle.add(realPro);
+    return sentence;
+  }
+
+  private RealProMgr borrow() {
+    RealProMgr realPro = idle.poll();
+    try {
+      while (realPro == null) {
+        if (instances.getAndUpdate(n -> n < size ? n + 1 : n) < size) {
+          realPro = create();
+        } else {
+          // Polled, so that an instance discarded after a failure is replaced
+          realPro = idle.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a RealPro instance", e);
+    }
+    active.incrementAndGet();
+    return realPro;
+  }
+
+  private RealProMgr create() {
+    try {
+      return new RealProMgr();
+    } catch (RuntimeException | Error e) {
+      instances.decrementAndGet();
+      throw e;
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("realpro_pool_instances", instances, AtomicInteger::get)
+        .description("RealPro instances created by the pool")
+        .register(registry);
+    Gauge.builder("realpro_pool_active", active, AtomicInteger::get)
+        .description("RealPro instances realizing a sentence")
+        .register(registry);
+    Gauge.builder("realpro_pool_pending", workers, pool -> pool.getQueue().size())
+        .description("Sentences waiting for a RealPro worker")
+        .register(registry);
+  }
+
+  /** Stops the worker threads once the sentences already submitted are realized. */
+  @Override
+  public void close() {
+    workers.shutdown();
+  }
+
+  private static final class Holder {
+    private static final RealProPool INSTANCE = create(DEFAULT_SIZE);
+  }
+}
@@ -0,0 +1,146 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.w3c.dom.Document;
+
+/**
+ * Cache of realized sentences keyed by the canonical form of their DSynT, so that sentences
+ * recurring within a text or across requests, e.g. "Once both branches were finished", are realized
+ * by RealPro only once.
+ *
+ * <p>The canonical form covers the attributes of the DSynT nodes sorted by name, in tree order, so
+ * the order in which attributes were set does not change it. It is computed from the planned tree,
+ * and only sentences that are not cached are converted into the XML RealPro reads. The cache is
+ * bounded by the estimated memory footprint of keys and sentences. Hits and misses are published as
+ * {@code cache.*} meters tagged {@code cache=dsynt_realizations}.
+ */
+public final class RealizationCache implements MeterBinder {
+
+  /** Cache that stores nothing and realizes every sentence. */
+  public static final RealizationCache DISABLED = new RealizationCache(null);
+
+  private static final String NAME = "dsynt_realizations";
+
+  private final Cache<String, String> cache;
+
+  private RealizationCache(Cache<String, String> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Creates a cache with the given bound.
+   *
+   * @param maxBytes upper bound of the estimated size of all entries
+   * @return the new cache
+   */
+  public static RealizationCache create(long maxBytes) {
+    return new RealizationCache(
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, String>weigher((key, sentence) -> 2 * (key.length() + sentence.length()) + 96)
+            .recordStats()
+            .build());
+  }
+
+  /**
+   * Returns the realized sentences, taking the cached ones and realizing the others, each distinct
+   * DSynT once, through the pool.
+   *
+   * @param dsynts deep-syntactic structures of the sentences
+   * @param pool realizes the sentences that are not cached
+   * @return the realized sentences, in the order of {@code dsynts}
+   */
+  public List<String> realize(List<DSynTNode> dsynts, RealProPool pool) {
+    if (cache == null) {
+      List<Document> documents = new ArrayList<>(dsynts.size());
+      for (DSynTNode dsynt : dsynts) {
+        documents.add(dsynt.toDocument());
+      }
+      return pool.realize(documents);
+    }
+    Map<String, DSynTNode> byKey = new LinkedHashMap<>();
+    List<String> keys = new ArrayList<>(dsynts.size());
+    for (DSynTNode dsynt : dsynts) {
+      String key = canonical(dsynt);
+      byKey.putIfAbsent(key, dsynt);
+      keys.add(key);
+    }
+    Map<String, String> sentences =
+        cache.getAll(
+            byKey.keySet(),
+            missing -> {
+              List<String> missingKeys = new ArrayList<>();
+              List<Document> missingDsynts = new ArrayList<>();
+              for (String key : missing) {
+                missingKeys.add(key);
+                missingDsynts.add(byKey.get(key).toDocument());
+              }
+              List<String> realized = pool.realize(missingDsynts);
+              Map<String, String> loaded = new LinkedHashMap<>();
+              for (int i = 0; i < missingKeys.size(); i++) {
+                loaded.put(missingKeys.get(i), realized.get(i));
+              }
+              return loaded;
+            });
+    List<String> realized = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      realized.add(sentences.get(key));
+    }
+    return realized;
+  }
+
+  /**
+   * Serializes the DSynT independent of attribute order.
+   *
+   * @param dsynt the root of the deep-syntactic structure of a sentence
+   * @return the canonical form
+   */
+  static String canonical(DSynTNode dsynt) {
+    StringBuilder canonical = new StringBuilder();
+    appendCanonical(dsynt, canonical);
+    return canonical.toString();
+  }
+
+  private static void appendCanonical(DSynTNode node, StringBuilder canonical) {
+    Map<String, String> sorted = new TreeMap<>();
+    node.forEachAttribute(sorted::put);
+    canonical.append('<');
+    for (Map.Entry<String, String> attribute : sorted.entrySet()) {
+      canonical.append(' ').append(attribute.getKey()).append("=\"");
+      appendEscaped(attribute.getValue(), canonical);
+      canonical.append('"');
+    }
+    canonical.append('>');
+    for (DSynTNode child : node.getChildren()) {
+      appendCanonical(child, canonical);
+    }
+    canonical.append("</>");
+  }
+
+  private static void appendEscaped(String value, StringBuilder canonical) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        canonical.append('\\');
+      }
+      canonical.append(c);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (cache != null) {
+      CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+  }
+}
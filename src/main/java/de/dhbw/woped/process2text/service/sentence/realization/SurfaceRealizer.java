@@ -1,37 +1,110 @@
 package de.dhbw.woped.process2text.service.sentence.realization;
 
-import com.cogentex.real.api.RealProMgr;
 import de.dhbw.woped.process2text.model.dsynt.DSynTConditionSentence;
 import de.dhbw.woped.process2text.model.dsynt.DSynTMainSentence;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode;
 import de.dhbw.woped.process2text.model.dsynt.DSynTSentence;
 import de.dhbw.woped.process2text.model.intermediate.ConditionFragment;
 import de.dhbw.woped.process2text.model.intermediate.ExecutableFragment;
+import de.dhbw.woped.process2text.service.sentence.realization.PhraseRewriter.Rule;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
-import org.w3c.dom.Document;
+import java.util.List;
 
 public class SurfaceRealizer {
-  private final RealProMgr realproManager;
+  /**
+   * Phrases of the realized text that need punctuation RealPro does not produce. The phrases are
+   * taken literally: a dot only matches the period ending a sentence. The regular expressions these
+   * rules replaced left it unescaped, so that e.g. "parallel branches," became "parallel branches:"
+   * as well.
+   */
+  private static final PhraseRewriter POST_PROCESSING =
+      PhraseRewriter.create(
+          List.of(
+              new Rule("If it is necessary", "If it is necessary,"),
+              new Rule("one of the branches was executed", "one of the branches was executed,"),
+              new Rule("In concurrency to the latter steps", "In concurrency to the latter steps,"),
+              new Rule("Once both branches were finished", "Once both branches were finished,"),
+              new Rule("Once the loop is finished", "Once the loop is finished,"),
+              new Rule(
+                  "one of the following branches is executed.",
+                  "one of the following branches is executed:"),
+              new Rule(
+                  "one or more of the following branches is executed.",
+                  "one or more of the following branches is executed:"),
+              new Rule("parallel branches.", "parallel branches:"),
+              new Rule("The process begins", "The process begins,"),
+              new Rule("If it is required", "If it is required,"),
+              new Rule(" the a ", " a "),
+              new Rule("branches were executed ", "branches were executed, ")));
+
+  private final RealProPool realProPool;
+  private final RealizationCache realizationCache;
   private int prevSenLvl;
 
   public SurfaceRealizer() {
-    realproManager = new RealProMgr();
+    this(RealProPool.getDefault(), RealizationCache.DISABLED);
+  }
+
+  public SurfaceRealizer(RealProPool realProPool, RealizationCache realizationCache) {
+    this.realProPool = realProPool;
+    this.realizationCache = realizationCache;
     prevSenLvl = 0;
   }
 
+  /**
+   * Realizes the sentences of the plan, in parallel through the RealPro pool unless they are
+   * cached, and joins them in plan order, each as a phrase with the ids of the activities it
+   * describes.
+   */
   public String realizeSentenceMap(
       ArrayList<DSynTSentence> sentencePlan, HashMap<Integer, String> map) {
-    StringBuilder s = new StringBuilder("<text>\n");
+    List<DSynTNode> dsynts = new ArrayList<>(sentencePlan.size());
     for (DSynTSentence dsynt : sentencePlan) {
-      s.append(" ").append(realizeMapSentence(dsynt, map)).append("\n");
+      dsynts.add(dsynt.getDSynT());
+    }
+    List<String> sentences = realizationCache.realize(dsynts, realProPool);
+    StringBuilder s = new StringBuilder("<text>\n");
+    for (int i = 0; i < sentencePlan.size(); i++) {
+      s.append(" ").append(realizeMapSentence(sentencePlan.get(i), sentences.get(i), map));
+      s.append("\n");
     }
     return s + "</text>";
   }
 
-  private String realizeMapSentence(DSynTSentence s, HashMap<Integer, String> map) {
-    Document xmldoc = s.getDSynT();
-    realproManager.realize(xmldoc);
-    ArrayList<Integer> ids = s.getExecutableFragment().getAssociatedActivities();
+  /**
+   * Realizes the sentences of the plan like {@link #realizeSentenceMap}, but writes the text to
+   * {@code out} while it is realized: the sentences are realized in parallel chunks of the pool
+   * size, and the phrases of each chunk are post-processed one by one, written and flushed before
+   * the next chunk is realized.
+   */
+  public void realizeSentenceMap(
+      ArrayList<DSynTSentence> sentencePlan, HashMap<Integer, String> map, Writer out)
+      throws IOException {
+    out.write("<text>\n");
+    for (int from = 0; from < sentencePlan.size(); from += realProPool.getSize()) {
+      List<DSynTSentence> chunk =
+          sentencePlan.subList(from, Math.min(from + realProPool.getSize(), sentencePlan.size()));
+      List<DSynTNode> dsynts = new ArrayList<>(chunk.size());
+      for (DSynTSentence dsynt : chunk) {
+        dsynts.add(dsynt.getDSynT());
+      }
+      List<String> sentences = realizationCache.realize(dsynts, realProPool);
+      for (int i = 0; i < chunk.size(); i++) {
+        out.write(
+            postProcessText(" " + realizeMapSentence(chunk.get(i), sentences.get(i), map) + "\n"));
+      }
+      out.flush();
+    }
+    out.write("</text>");
+    out.flush();
+  }
+
+  private String realizeMapSentence(
+      DSynTSentence s, String sentence, HashMap<Integer, String> map) {
+    ArrayList<Integer> ids = new ArrayList<>(s.getExecutableFragment().getAssociatedActivities());
     if (s.getClass().toString().endsWith("DSynTConditionSentence")) {
       DSynTConditionSentence cs = (DSynTConditionSentence) s;
       ids.addAll(cs.getConditionFragment().getAssociatedActivities());
@@ -90,43 +163,14 @@ public class SurfaceRealizer {
           + idAttr
           + "\">"
           + spacer
-          + realproManager.getSentenceString()
+          + sentence
           + " </phrase>"; // Bulletpoints and margin according to sentence level
     }
-    return output
-        + "<phrase ids=\""
-        + idAttr
-        + "\"> "
-        + realproManager.getSentenceString()
-        + " </phrase>";
+    return output + "<phrase ids=\"" + idAttr + "\"> " + sentence + " </phrase>";
   }
 
+  /** Adds the punctuation RealPro does not produce, in a single pass over the text. */
   public String postProcessText(String surfaceText) {
-    surfaceText = surfaceText.replaceAll("If it is necessary", "If it is necessary,");
-    surfaceText =
-        surfaceText.replaceAll(
-            "one of the branches was executed", "one of the branches was executed,");
-    surfaceText =
-        surfaceText.replaceAll(
-            "In concurrency to the latter steps", "In concurrency to the latter steps,");
-    surfaceText =
-        surfaceText.replaceAll(
-            "Once both branches were finished", "Once both branches were finished,");
-    surfaceText = surfaceText.replaceAll("Once the loop is finished", "Once the loop is finished,");
-    surfaceText =
-        surfaceText.replaceAll(
-            "one of the following branches is executed.",
-            "one of the following branches is executed:");
-    surfaceText =
-        surfaceText.replaceAll(
-            "one or more of the following branches is executed.",
-            "one or more of the following branches is executed:");
-    surfaceText = surfaceText.replaceAll("parallel branches.", "parallel branches:");
-    surfaceText = surfaceText.replaceAll("The process begins", "The process begins,");
-    surfaceText = surfaceText.replaceAll("If it is required", "If it is required,");
-    surfaceText = surfaceText.replaceAll(" the a ", " a ");
-    surfaceText = surfaceText.replaceAll("branches were executed ", "branches were executed, ");
-
-    return surfaceText;
+    return POST_PROCESSING.rewrite(surfaceText);
   }
 }
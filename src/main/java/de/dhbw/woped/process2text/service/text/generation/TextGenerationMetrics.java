@@ -0,0 +1,127 @@
+package de.dhbw.woped.process2text.service.text.generation;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the {@link TextGenerator}: the duration of every pipeline stage ({@code
+ * text_generation_stage_duration_seconds}, tagged with stage, format and whether the model contains
+ * rigids) and the number of models that did not produce a text ({@code
+ * text_generation_failures_total}, tagged with format and reason).
+ */
+public final class TextGenerationMetrics {
+
+  /** Metrics that record nothing. */
+  public static final TextGenerationMetrics DISABLED =
+      new TextGenerationMetrics(new CompositeMeterRegistry());
+
+  /** Pipeline stages in execution order. */
+  public enum Stage {
+    /**
+     * Parsing the XML of the model. Near zero if it was parsed before, e.g. by the response cache,
+     * in which case {@code model_input_parse_duration_seconds} holds the parse.
+     */
+    PARSING,
+    /** Converting the Petri net or BPMN document into a process model. */
+    CONVERSION,
+    ANNOTATION,
+    RPST,
+    RIGID_STRUCTURING,
+    TEXT_PLANNING,
+    /** Merging sentences of the same role. */
+    AGGREGATION,
+    /** Referring expressions and discourse markers. */
+    SENTENCE_PLANNING,
+    REALIZATION
+  }
+
+  /** Reasons why a model did not produce a text. */
+  public enum Failure {
+    /** Neither PNML nor BPMN with a process. */
+    REJECTED,
+    PARSE_FAILURE,
+    /** The text contains no sentence. */
+    EMPTY_OUTPUT,
+    /** Any exception thrown by the generation. */
+    ERROR
+  }
+
+  private final MeterRegistry registry;
+
+  public TextGenerationMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Starts recording the generation of one model. The first stage starts now.
+   *
+   * @param format format of the model
+   * @return the recording, to be closed when the generation ends
+   */
+  public Recording start(ModelInput.Format format) {
+    return new Recording(format);
+  }
+
+  /** Stage durations and outcome of one generation, published when closed. */
+  public final class Recording implements AutoCloseable {
+    private final ModelInput.Format format;
+    private final long[] durations = new long[Stage.values().length];
+    private long stageStart = System.nanoTime();
+    private String rigids = "unknown";
+    private Failure failure;
+
+    private Recording(ModelInput.Format format) {
+      this.format = format;
+    }
+
+    /** Ends the given stage; the next one starts now. */
+    public void finished(Stage stage) {
+      long now = System.nanoTime();
+      durations[stage.ordinal()] += now - stageStart;
+      stageStart = now;
+    }
+
+    public void containsRigids(boolean containsRigids) {
+      rigids = String.valueOf(containsRigids);
+    }
+
+    /** Marks the generation as failed, unless a failure has been recorded already. */
+    public void failed(Failure reason) {
+      if (failure == null) {
+        failure = reason;
+      }
+    }
+
+    @Override
+    public void close() {
+      for (Stage stage : Stage.values()) {
+        if (durations[stage.ordinal()] > 0) {
+          Timer.builder("text_generation_stage_duration_seconds")
+              .description("Duration of the stages of the text generation")
+              .tag("stage", tagValue(stage))
+              .tag("format", format.name())
+              .tag("rigids", rigids)
+              .register(registry)
+              .record(durations[stage.ordinal()], TimeUnit.NANOSECONDS);
+        }
+      }
+      if (failure != null) {
+        Counter.builder("text_generation_failures_total")
+            .description("Models for which no text was generated")
+            .tag("format", format.name())
+            .tag("reason", tagValue(failure))
+            .register(registry)
+            .increment();
+      }
+    }
+  }
+
+  private static String tagValue(Enum<?> value) {
+    return value.name().toLowerCase(Locale.ROOT);
+  }
+}
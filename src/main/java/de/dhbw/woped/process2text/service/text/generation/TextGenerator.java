@@ -2,74 +2,182 @@ package de.dhbw.woped.process2text.service.text.generation;
 
 import de.dhbw.woped.process2text.model.dsynt.DSynTSentence;
 import de.dhbw.woped.process2text.model.process.ProcessModel;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
 import de.dhbw.woped.process2text.model.reader.bpmn.BPMNReader;
-import de.dhbw.woped.process2text.model.reader.pnml.PNMLReader;
 import de.dhbw.woped.process2text.model.reader.pnml.PetriNetToProcessConverter;
 import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.CompiledLabelLexicon;
 import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelDeriver;
 import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelHelper;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
 import de.dhbw.woped.process2text.service.content.determination.preprocessing.FormatConverter;
 import de.dhbw.woped.process2text.service.content.determination.preprocessing.RigidStructurer;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
 import de.dhbw.woped.process2text.service.sentence.planning.DiscourseMarker;
 import de.dhbw.woped.process2text.service.sentence.planning.ReferringExpressionGenerator;
 import de.dhbw.woped.process2text.service.sentence.planning.SentenceAggregator;
+import de.dhbw.woped.process2text.service.sentence.realization.RealProPool;
+import de.dhbw.woped.process2text.service.sentence.realization.RealizationCache;
 import de.dhbw.woped.process2text.service.sentence.realization.SurfaceRealizer;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerationMetrics.Failure;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerationMetrics.Stage;
 import de.dhbw.woped.process2text.service.text.planning.PlanningHelper;
 import de.dhbw.woped.process2text.service.text.planning.TextPlanner;
 import de.hpi.bpt.graph.algo.rpst.RPST;
 import de.hpi.bpt.process.ControlFlow;
 import de.hpi.bpt.process.Node;
 import de.hpi.bpt.process.Process;
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
 
 public class TextGenerator {
   ////////////////////////////////////
 
+  private static final String REJECTED = "Bitte Datei im BPMN- oder PNML-Format verwenden.";
+
   Logger logger = LoggerFactory.getLogger(TextGenerator.class);
 
   public String testGenerator;
   public List<String> roleList;
-  private String contextPath = "";
+  private final WordNetLexicon lexicon;
+  private final LabelAnnotationCache labelCache;
+  private final DerivationCache derivations;
+  private final TextGenerationMetrics metrics;
+  private final RealProPool realProPool;
+  private final RealizationCache realizationCache;
 
+  /** Creates a generator with the shared lexicon and RealPro pool and without caches or metrics. */
   public TextGenerator() {
-    this.contextPath = contextPath;
+    this(
+        WordNetLexicon.getInstance(),
+        LabelAnnotationCache.DISABLED,
+        DerivationCache.getDefault(),
+        TextGenerationMetrics.DISABLED,
+        RealProPool.getDefault(),
+        RealizationCache.DISABLED);
+  }
+
+  public TextGenerator(
+      WordNetLexicon lexicon,
+      LabelAnnotationCache labelCache,
+      DerivationCache derivations,
+      TextGenerationMetrics metrics,
+      RealProPool realProPool,
+      RealizationCache realizationCache) {
+    this.lexicon = lexicon;
+    this.labelCache = labelCache;
+    this.derivations = derivations;
+    this.metrics = metrics;
+    this.realProPool = realProPool;
+    this.realizationCache = realizationCache;
   }
 
   public String toText(String input) throws Exception {
+    return toText(ModelInput.sniff(input));
+  }
+
+  /**
+   * Generates the text of a model whose format has already been determined. The model is read from
+   * the parsed form held by {@code input}, so it is not parsed again.
+   */
+  public String toText(ModelInput input) throws Exception {
+    try (TextGenerationMetrics.Recording recording = metrics.start(input.getFormat())) {
+      try {
+        return toText(input, recording);
+      } catch (Exception e) {
+        recording.failed(Failure.ERROR);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Generates the text of a model like {@link #toText(ModelInput)}, but writes it to {@code out}
+   * phrase by phrase while the sentences are realized instead of returning it once it is complete.
+   */
+  public void toText(ModelInput input, Writer out) throws Exception {
+    try (TextGenerationMetrics.Recording recording = metrics.start(input.getFormat())) {
+      try {
+        SentencePlan plan = planSentences(input, recording);
+        if (plan == null) {
+          out.write(REJECTED);
+          return;
+        }
+        SurfaceRealizer surfaceRealizer = new SurfaceRealizer(realProPool, realizationCache);
+        surfaceRealizer.realizeSentenceMap(plan.sentences(), plan.ids(), out);
+        recording.finished(Stage.REALIZATION);
+      } catch (Exception e) {
+        recording.failed(Failure.ERROR);
+        throw e;
+      }
+    }
+  }
+
+  private String toText(ModelInput input, TextGenerationMetrics.Recording recording)
+      throws Exception {
+    SentencePlan plan = planSentences(input, recording);
+    if (plan == null) {
+      return REJECTED;
+    }
+
+    // Realization
+    SurfaceRealizer surfaceRealizer = new SurfaceRealizer(realProPool, realizationCache);
+    String surfaceText = surfaceRealizer.realizeSentenceMap(plan.sentences(), plan.ids());
+
+    // Cleaning
+    surfaceText = surfaceRealizer.postProcessText(surfaceText);
+    recording.finished(Stage.REALIZATION);
+
+    return surfaceText;
+  }
+
+  /**
+   * Reads the model and plans the sentences of its text.
+   *
+   * @return the sentence plan with the ids of the model elements, or {@code null} if the input is
+   *     not a PNML or BPMN model
+   */
+  private SentencePlan planSentences(ModelInput input, TextGenerationMetrics.Recording recording)
+      throws Exception {
     String imperativeRole = "";
-    ByteArrayInputStream is = new ByteArrayInputStream(input.getBytes());
-    ByteArrayInputStream helpis = new ByteArrayInputStream(input.getBytes());
-    DocumentBuilderFactory helpdbf = DocumentBuilderFactory.newInstance();
-    DocumentBuilder helpdb = helpdbf.newDocumentBuilder();
-    Document helpdoc = helpdb.parse(helpis);
-    helpdoc.getDocumentElement().normalize();
-    NodeList isPnml = helpdoc.getElementsByTagName("pnml");
     ProcessModel model = null;
     HashMap<Integer, String> transformedElemsRev = null;
-    NodeList isBPMN = helpdoc.getElementsByTagName("bpmn:process");
-    if (isPnml.getLength() > 0) {
-      PNMLReader pnmlReader = new PNMLReader();
-      PetriNet petriNet = pnmlReader.getPetriNetFromPNMLString(is);
+    PetriNet petriNet = null;
+    Document bpmn = null;
+    if (input.getFormat() == ModelInput.Format.PNML) {
+      petriNet = input.getPetriNet();
+      if (petriNet == null) {
+        recording.failed(Failure.PARSE_FAILURE);
+        throw new IOException("PNML document could not be parsed");
+      }
+    } else if (input.getFormat() == ModelInput.Format.BPMN) {
+      bpmn = bpmnDocument(input, recording);
+    }
+    recording.finished(Stage.PARSING);
+
+    if (petriNet != null) {
       PetriNetToProcessConverter pnConverter = new PetriNetToProcessConverter();
       model = pnConverter.convertToProcess(petriNet);
       transformedElemsRev = pnConverter.transformedElemsRev;
       pnConverter.printConversion();
       logger.info("PNML");
-    } else if (isBPMN.getLength() > 0) {
+    } else if (bpmn != null && bpmn.getElementsByTagName("bpmn:process").getLength() > 0) {
       BPMNReader bpmnReader = new BPMNReader();
-      model = bpmnReader.getProcessModelFromBPMNString(is);
+      model = bpmnReader.getProcessModelFromBPMNDocument(bpmn);
       transformedElemsRev = bpmnReader.transformedElemsRev;
+      if (model == null) {
+        recording.failed(Failure.PARSE_FAILURE);
+      }
       logger.info("BPMN");
     }
+    recording.finished(Stage.CONVERSION);
 
     // check number splits/joins
 
@@ -80,11 +188,13 @@ public class TextGenerator {
         logger.info(transformedElemsRev.get(keys));
       }
 
-      EnglishLabelHelper lHelper = new EnglishLabelHelper();
+      EnglishLabelHelper lHelper =
+          new EnglishLabelHelper(lexicon, CompiledLabelLexicon.getInstance(), derivations);
       EnglishLabelDeriver lDeriver = new EnglishLabelDeriver(lHelper);
 
       // Annotate model
-      model.annotateModel(lDeriver, lHelper);
+      model.annotateModel(lDeriver, lHelper, labelCache);
+      recording.finished(Stage.ANNOTATION);
       // Convert to RPST
       FormatConverter formatConverter = new FormatConverter();
       Process p = formatConverter.transformToRPSTFormat(model);
@@ -92,6 +202,8 @@ public class TextGenerator {
 
       // Check for Rigids
       boolean containsRigids = PlanningHelper.containsRigid(rpst.getRoot(), rpst);
+      recording.containsRigids(containsRigids);
+      recording.finished(Stage.RPST);
       // Structure Rigid and convert back
       if (containsRigids) {
         p = formatConverter.transformToRigidFormat(model);
@@ -100,6 +212,7 @@ public class TextGenerator {
         model = formatConverter.transformFromRigidFormat(p);
         p = formatConverter.transformToRPSTFormat(model);
         rpst = new RPST<>(p);
+        recording.finished(Stage.RIGID_STRUCTURING);
       }
 
       // Convert to Text
@@ -108,10 +221,12 @@ public class TextGenerator {
       converter.convertToText(rpst.getRoot(), 0);
       ///////////////////////////////////////////////////////////
       ArrayList<DSynTSentence> sentencePlan = converter.getSentencePlan();
+      recording.finished(Stage.TEXT_PLANNING);
 
       // Aggregation
       SentenceAggregator sentenceAggregator = new SentenceAggregator();
       sentencePlan = sentenceAggregator.performRoleAggregation(sentencePlan);
+      recording.finished(Stage.AGGREGATION);
 
       // Referring Expression
       ReferringExpressionGenerator refExpGenerator = new ReferringExpressionGenerator(lHelper);
@@ -122,17 +237,27 @@ public class TextGenerator {
       // Discourse Marker
       DiscourseMarker discourseMarker = new DiscourseMarker();
       sentencePlan = discourseMarker.insertSequenceConnectives(sentencePlan);
+      recording.finished(Stage.SENTENCE_PLANNING);
+      if (sentencePlan.isEmpty()) {
+        recording.failed(Failure.EMPTY_OUTPUT);
+      }
 
-      // Realization
-      SurfaceRealizer surfaceRealizer = new SurfaceRealizer();
-      String surfaceText = surfaceRealizer.realizeSentenceMap(sentencePlan, transformedElemsRev);
+      return new SentencePlan(sentencePlan, transformedElemsRev);
+    } else {
+      recording.failed(Failure.REJECTED);
+      return null;
+    }
+  }
 
-      // Cleaning
-      surfaceText = surfaceRealizer.postProcessText(surfaceText);
+  private record SentencePlan(ArrayList<DSynTSentence> sentences, HashMap<Integer, String> ids) {}
 
-      return surfaceText;
-    } else {
-      return "Bitte Datei im BPMN- oder PNML-Format verwenden.";
+  private static Document bpmnDocument(ModelInput input, TextGenerationMetrics.Recording recording)
+      throws IOException {
+    try {
+      return input.getBpmnDocument();
+    } catch (IOException e) {
+      recording.failed(Failure.PARSE_FAILURE);
+      throw e;
     }
   }
 }
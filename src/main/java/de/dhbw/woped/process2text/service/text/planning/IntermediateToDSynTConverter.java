@@ -2,12 +2,13 @@ package de.dhbw.woped.process2text.service.text.planning;
 
 import de.dhbw.woped.process2text.model.Pair;
 import de.dhbw.woped.process2text.model.dsynt.DSynTMainSentence;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.NodeClass;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.Relation;
 import de.dhbw.woped.process2text.model.intermediate.AbstractFragment;
 import de.dhbw.woped.process2text.model.intermediate.ConditionFragment;
 import de.dhbw.woped.process2text.model.intermediate.ExecutableFragment;
 import de.dhbw.woped.process2text.service.text.planning.record.ModifierRecord;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 public class IntermediateToDSynTConverter {
   public static final int VERB_TYPE_MAIN = 0;
@@ -15,91 +16,91 @@ public class IntermediateToDSynTConverter {
   public static final int VERB_TYPE_SUBCONDITION = 2;
 
   /** Create DSynT representation for verb. Returns the according DSynT element. */
-  public static Element createVerb(Document doc, AbstractFragment frag, int verbType) {
-    Element verb = doc.createElement("dsyntnode");
-    verb.setAttribute("class", "verb");
+  public static DSynTNode createVerb(AbstractFragment frag, int verbType) {
+    DSynTNode verb = new DSynTNode();
+    verb.setNodeClass(NodeClass.VERB);
 
     String action = frag.getAction();
     String[] splitAction;
     if (action.contains(" ")) {
       splitAction = action.split(" ");
-      verb.setAttribute("lexeme", splitAction[0]);
-      Element verbAdd = doc.createElement("dsyntnode");
-      verbAdd.setAttribute("class", "adverb");
-      verbAdd.setAttribute("lexeme", splitAction[1]);
-      verbAdd.setAttribute("position", "post-verbal");
-      verbAdd.setAttribute("rel", "ATTR");
-      verb.appendChild(verbAdd);
+      verb.setLexeme(splitAction[0]);
+      DSynTNode verbAdd = new DSynTNode();
+      verbAdd.setNodeClass(NodeClass.ADVERB);
+      verbAdd.setLexeme(splitAction[1]);
+      verbAdd.set("position", "post-verbal");
+      verbAdd.setRelation(Relation.ATTR);
+      verb.add(verbAdd);
     } else {
-      verb.setAttribute("lexeme", action);
+      verb.setLexeme(action);
     }
 
     // Check attributes
     if (frag.verbIsPassive) {
-      verb.setAttribute("voice", "pass");
+      verb.set("voice", "pass");
     }
     if (frag.verbIsParticiple) {
-      verb.setAttribute("mood", "pres-part");
+      verb.set("mood", "pres-part");
     }
     if (frag.verbIsPast) {
-      verb.setAttribute("tense", "past");
+      verb.set("tense", "past");
     }
     if (frag.verbIsNegated) {
-      verb.setAttribute("polarity", "neg");
+      verb.set("polarity", "neg");
     }
     if (frag.verbIsImperative) {
-      verb.setAttribute("mood", "imp");
+      verb.set("mood", "imp");
     }
 
     switch (verbType) {
       case VERB_TYPE_MAIN:
-        verb.setAttribute("rel", "nil");
+        verb.setRelation(Relation.NIL);
         break;
       case VERB_TYPE_CONDITION:
         if (((ConditionFragment) frag).senHeadPosition) {
-          verb.setAttribute("starting_point", "+");
-          verb.setAttribute("rel", "ATTR");
+          verb.set("starting_point", "+");
+          verb.setRelation(Relation.ATTR);
         } else {
-          verb.setAttribute("rel", "ATTR");
+          verb.setRelation(Relation.ATTR);
         }
         break;
       case VERB_TYPE_SUBCONDITION:
-        verb.setAttribute("rel", "II");
+        verb.setRelation(Relation.II);
         break;
     }
     return verb;
   }
 
   /** Create DSynT representation for business object. Returns the according DSynt element. */
-  public static Element createBO(Document doc, AbstractFragment frag) {
-    Element object = doc.createElement("dsyntnode");
+  public static DSynTNode createBO(AbstractFragment frag) {
+    DSynTNode object = new DSynTNode();
     if (!frag.getBo().equals("") && !frag.boReplaceWithPronoun) {
-      object.setAttribute("class", "common_noun");
+      object.setNodeClass(NodeClass.COMMON_NOUN);
       if (frag.boIsSubject) {
-        object.setAttribute("rel", "I");
+        object.setRelation(Relation.I);
       } else {
-        object.setAttribute("rel", "II");
+        object.setRelation(Relation.II);
       }
       if (frag.boIsPlural) {
-        object.setAttribute("number", "pl");
+        object.set("number", "pl");
       }
       if (frag.boHasArticle) {
-        object.setAttribute("article", "def");
+        object.set("article", "def");
         if (frag.boHasIndefArticle) {
-          object.setAttribute("article", "indef");
+          object.set("article", "indef");
         }
       } else {
-        object.setAttribute("article", "no");
+        object.set("article", "no");
       }
-      object.setAttribute("lexeme", frag.getBo());
+      object.setLexeme(frag.getBo());
     }
     if (frag.boReplaceWithPronoun) {
-      object.setAttribute("class", "common_noun");
-      object.setAttribute("rel", "I");
-      object.setAttribute("article", "def");
-      object.setAttribute("lexeme", "dummy");
-      object.setAttribute("pro", "pro");
-      object.setAttribute("gender", "neut");
+      object.setNodeClass(NodeClass.COMMON_NOUN);
+      object.setRelation(Relation.I);
+      object.set("article", "def");
+      object.setLexeme("dummy");
+      object.set("pro", "pro");
+      object.set("gender", "neut");
     }
     return object;
   }
@@ -111,46 +112,45 @@ public class IntermediateToDSynTConverter {
    * @param verbRoot: affected verb
    * @param objectRoot: affected object
    */
-  public static void appendMods(
-      Document doc, AbstractFragment frag, Element verbRoot, Element objectRoot) {
-    Element lastVerbMod = null;
+  public static void appendMods(AbstractFragment frag, DSynTNode verbRoot, DSynTNode objectRoot) {
+    DSynTNode lastVerbMod = null;
     for (String modS : frag.getAllMods()) {
-      Element mod = doc.createElement("dsyntnode");
+      DSynTNode mod = new DSynTNode();
       switch (frag.getModType(modS)) {
         case ModifierRecord.TYPE_ADV:
-          mod.setAttribute("class", "adverb");
+          mod.setNodeClass(NodeClass.ADVERB);
           break;
         case ModifierRecord.TYPE_ADJ:
-          mod.setAttribute("class", "adjective");
+          mod.setNodeClass(NodeClass.ADJECTIVE);
           break;
         case ModifierRecord.TYPE_QUANT:
-          mod.setAttribute("class", "quantifier");
-          objectRoot.setAttribute("article", "no");
+          mod.setNodeClass(NodeClass.QUANTIFIER);
+          objectRoot.set("article", "no");
           break;
         case ModifierRecord.TYPE_PREP:
-          mod.setAttribute("punct", "comma");
+          mod.set("punct", "comma");
           break;
       }
-      mod.setAttribute("rel", "ATTR");
-      mod.setAttribute("lexeme", modS);
+      mod.setRelation(Relation.ATTR);
+      mod.setLexeme(modS);
       for (Pair<String, String> att : frag.getModOptions(modS)) {
-        mod.setAttribute(att.fst, att.snd);
+        mod.set(att.fst, att.snd);
       }
       switch (frag.getModTarget(modS)) {
         case ModifierRecord.TARGET_VERB:
           if (lastVerbMod == null) {
-            verbRoot.appendChild(mod);
+            verbRoot.add(mod);
             lastVerbMod = mod;
           } else {
-            lastVerbMod.appendChild(mod);
+            lastVerbMod.add(mod);
             lastVerbMod = mod;
           }
           break;
         case ModifierRecord.TARGET_ROLE:
-          objectRoot.appendChild(mod);
+          objectRoot.add(mod);
           break;
         case ModifierRecord.TARGET_BO:
-          objectRoot.appendChild(mod);
+          objectRoot.add(mod);
           break;
       }
       // FINISH: implement for other elements
@@ -158,77 +158,74 @@ public class IntermediateToDSynTConverter {
   }
 
   /** Create DSynT representation for role. Returns the according DSynt element. */
-  public static Element createRole(Document doc, AbstractFragment frag) {
-    Element role = doc.createElement("dsyntnode");
+  public static DSynTNode createRole(AbstractFragment frag) {
+    DSynTNode role = new DSynTNode();
 
     if (AbstractFragment.DEM_PRONOUNS.contains(frag.getRole())) {
-      role.setAttribute("class", "demonstrative_pronoun");
+      role.setNodeClass(NodeClass.DEMONSTRATIVE_PRONOUN);
     } else if (AbstractFragment.PRONOUNS.contains(frag.getRole())) {
-      role.setAttribute("class", "proper_noun");
+      role.setNodeClass(NodeClass.PROPER_NOUN);
     } else {
-      role.setAttribute("class", "proper_noun");
-      role.setAttribute("article", "def");
+      role.setNodeClass(NodeClass.PROPER_NOUN);
+      role.set("article", "def");
     }
 
     if (frag.roleIsImperative) {
-      role.setAttribute("pro", "pro");
-      role.setAttribute("person", "2nd");
+      role.set("pro", "pro");
+      role.set("person", "2nd");
     }
 
-    role.setAttribute("rel", "I");
-    role.setAttribute("lexeme", frag.getRole());
+    role.setRelation(Relation.I);
+    role.setLexeme(frag.getRole());
 
     if (frag.verbIsPassive) {
-      Element by = doc.createElement("dsyntnode");
-      by.setAttribute("rel", "ATTR");
-      by.setAttribute("lexeme", "BY");
-      by.appendChild(role);
+      DSynTNode by = new DSynTNode();
+      by.setRelation(Relation.ATTR);
+      by.setLexeme("BY");
+      by.add(role);
       return by;
     }
     return role;
   }
 
   /** Adds addition to given DSynT representation */
-  public static void createAddition(Document doc, Element root, AbstractFragment frag) {
-    Element prep = doc.createElement("dsyntnode");
-    Element add = doc.createElement("dsyntnode");
+  public static void createAddition(DSynTNode root, AbstractFragment frag) {
+    DSynTNode prep = new DSynTNode();
+    DSynTNode add = new DSynTNode();
 
     String prepLex = getPrepFromAddition(frag.getAddition());
     String addLex = getAdditionOnly(frag.getAddition());
 
-    prep.setAttribute("rel", "ATTR");
-    prep.setAttribute("lexeme", prepLex.toLowerCase());
-    prep.setAttribute("class", "subordinating_conj");
-    root.appendChild(prep);
+    prep.setRelation(Relation.ATTR);
+    prep.setLexeme(prepLex.toLowerCase());
+    prep.setNodeClass(NodeClass.SUBORDINATING_CONJ);
+    root.add(prep);
 
-    add.setAttribute("class", "common_noun");
-    add.setAttribute("rel", "II");
-    add.setAttribute("lexeme", addLex);
+    add.setNodeClass(NodeClass.COMMON_NOUN);
+    add.setRelation(Relation.II);
+    add.setLexeme(addLex);
     if (addLex.endsWith("ing") || !frag.addHasArticle) {
-      add.setAttribute("article", "no");
+      add.set("article", "no");
     } else {
-      add.setAttribute("article", "def");
+      add.set("article", "def");
     }
-    prep.appendChild(add);
+    prep.add(add);
   }
 
-  public static void createAddSentences(Document doc, Element root, ExecutableFragment eFrag) {
+  public static void createAddSentences(DSynTNode root, ExecutableFragment eFrag) {
     for (ExecutableFragment frag : eFrag.getSentencList()) {
-      DSynTMainSentence s = new DSynTMainSentence(frag);
-      s.createDSynTRepresentation();
-
+      // The sentence only serves to build the verb, so its tree is taken over as is
+      DSynTNode v = new DSynTMainSentence(frag).getVerb();
       if (frag.senIsCoord) {
-        Element add = doc.createElement("dsyntnode");
-        add.setAttribute("rel", "COORD");
-        add.setAttribute("lexeme", "AND");
-        root.appendChild(add);
-        Element v = (Element) doc.importNode(s.getVerb(), true);
-        v.setAttribute("rel", "II");
-        add.appendChild(v);
+        DSynTNode add = new DSynTNode();
+        add.setRelation(Relation.COORD);
+        add.setLexeme("AND");
+        root.add(add);
+        v.setRelation(Relation.II);
+        add.add(v);
       } else {
-        Element v = (Element) doc.importNode(s.getVerb(), true);
-        v.setAttribute("rel", "ATTR");
-        root.appendChild(v);
+        v.setRelation(Relation.ATTR);
+        root.add(v);
       }
     }
   }
@@ -247,28 +244,28 @@ public class IntermediateToDSynTConverter {
     return s.toString().toLowerCase();
   }
 
-  public static Element createConditionNode(Document doc, ConditionFragment cFrag) {
+  public static DSynTNode createConditionNode(ConditionFragment cFrag) {
     if (cFrag.getType() != ConditionFragment.TYPE_NONE) {
-      Element ifNode = doc.createElement("dsyntnode");
-      ifNode.setAttribute("rel", "COORD");
+      DSynTNode ifNode = new DSynTNode();
+      ifNode.setRelation(Relation.COORD);
       switch (cFrag.getType()) {
         case ConditionFragment.TYPE_IF:
-          ifNode.setAttribute("lexeme", "IF");
+          ifNode.setLexeme("IF");
           break;
         case ConditionFragment.TYPE_AS_LONG_AS:
-          ifNode.setAttribute("lexeme", "as long as");
+          ifNode.setLexeme("as long as");
           break;
         case ConditionFragment.TYPE_ONCE:
-          ifNode.setAttribute("lexeme", "once");
+          ifNode.setLexeme("once");
           break;
         case ConditionFragment.TYPE_WHETHER:
-          ifNode.setAttribute("lexeme", "whether");
+          ifNode.setLexeme("whether");
           break;
         case ConditionFragment.TYPE_WHEN:
-          ifNode.setAttribute("lexeme", "when");
+          ifNode.setLexeme("when");
           break;
         case ConditionFragment.TYPE_IN_CASE:
-          ifNode.setAttribute("lexeme", "in case");
+          ifNode.setLexeme("in case");
           break;
       }
       return ifNode;
@@ -277,12 +274,12 @@ public class IntermediateToDSynTConverter {
     }
   }
 
-  public static void insertConnective(Document doc, Element verb, String lemma) {
-    Element mod = doc.createElement("dsyntnode");
-    mod.setAttribute("adv-type", "sentential");
-    mod.setAttribute("rel", "ATTR");
-    mod.setAttribute("lexeme", lemma);
-    mod.setAttribute("punct", "comma");
-    verb.appendChild(mod);
+  public static void insertConnective(DSynTNode verb, String lemma) {
+    DSynTNode mod = new DSynTNode();
+    mod.set("adv-type", "sentential");
+    mod.setRelation(Relation.ATTR);
+    mod.setLexeme(lemma);
+    mod.set("punct", "comma");
+    verb.add(mod);
   }
 }
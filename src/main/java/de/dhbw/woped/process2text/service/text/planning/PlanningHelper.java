@@ -1,14 +1,13 @@
 package de.dhbw.woped.process2text.service.text.planning;
 
+import de.dhbw.woped.process2text.service.text.planning.RPSTNodeTable.BondKind;
 import de.hpi.bpt.graph.algo.rpst.RPST;
 import de.hpi.bpt.graph.algo.rpst.RPSTNode;
 import de.hpi.bpt.process.ControlFlow;
 import de.hpi.bpt.process.Event;
 import de.hpi.bpt.process.Gateway;
 import de.hpi.bpt.process.Node;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,45 +16,9 @@ public class PlanningHelper {
   static Logger logger = LoggerFactory.getLogger(PlanningHelper.class);
 
   /** Creates an order for the top level of a given RPST Tree. */
-  static ArrayList<RPSTNode<ControlFlow, Node>> sortTreeLevel(
-      RPSTNode<ControlFlow, Node> lnode, Node startElem, RPST<ControlFlow, Node> rpst) {
-    if (PlanningHelper.isSplit(lnode, rpst)) {
-      ArrayList<RPSTNode<ControlFlow, Node>> unordered = new ArrayList<>();
-
-      if (rpst.getChildren((lnode)).size() != 2) {
-        unordered.addAll(rpst.getChildren((lnode)));
-        return unordered;
-      } else {
-        unordered.addAll(rpst.getChildren((lnode)));
-        if (getDepth(unordered.get(0), rpst) > getDepth(unordered.get(1), rpst)) {
-          ArrayList<RPSTNode<ControlFlow, Node>> ordered = new ArrayList<>();
-          ordered.add(unordered.get(1));
-          ordered.add(unordered.get(0));
-          return ordered;
-        } else {
-          return new ArrayList<>(rpst.getChildren((lnode)));
-        }
-      }
-    }
-
-    Collection<RPSTNode<ControlFlow, Node>> topNodes = rpst.getChildren((lnode));
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes = new ArrayList<>();
-
-    if (isRigid(lnode)) {
-      return orderedTopNodes;
-    }
-
-    Node currentElem = startElem;
-    while (orderedTopNodes.size() < topNodes.size()) {
-      for (RPSTNode<ControlFlow, Node> node : topNodes) {
-        if (node.getEntry().equals(currentElem)) {
-          orderedTopNodes.add(node);
-          currentElem = node.getExit();
-          break;
-        }
-      }
-    }
-    return orderedTopNodes;
+  static List<RPSTNode<ControlFlow, Node>> sortTreeLevel(
+      RPSTNode<ControlFlow, Node> lnode, RPSTNodeTable table) {
+    return table.getOrderedChildren(lnode);
   }
 
   /** Returns String representation of node. */
@@ -81,130 +44,55 @@ public class PlanningHelper {
   }
 
   /** Returns amount of nodes of the next level in the RPST. */
-  private static int getSubLevelCount(
-      RPSTNode<ControlFlow, Node> node, RPST<ControlFlow, Node> rpst) {
-    return rpst.getChildren(node).size();
+  private static int getSubLevelCount(RPSTNode<ControlFlow, Node> node, RPSTNodeTable table) {
+    return table.getChildren(node).size();
   }
 
   /** Compute depth of a given component. */
-  public static int getDepth(RPSTNode<ControlFlow, Node> node, RPST<ControlFlow, Node> rpst) {
-    int depth = getDepthHelper(node, rpst);
-    if (depth > 1) {
-      return depth - 1;
-    } else {
-      return depth;
-    }
-  }
-
-  /** Helper for depth computation. */
-  private static int getDepthHelper(
-      RPSTNode<ControlFlow, Node> node, RPST<ControlFlow, Node> rpst) {
-    if (node.getName().startsWith("T")) {
-      return 0;
-    }
-    ArrayList<Integer> depthValues = new ArrayList<>();
-    for (RPSTNode<ControlFlow, Node> n : rpst.getChildren(node)) {
-      depthValues.add(getDepthHelper(n, rpst) + 1);
-    }
-    return Collections.max(depthValues);
+  public static int getDepth(RPSTNode<ControlFlow, Node> node, RPSTNodeTable table) {
+    return table.getDepth(node);
   }
 
   /** Returns type of given bond. */
-  private static String getBondType(
-      RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isEventSplit(bond, rpst)) {
-      return "EVENTBASED";
-    }
-    if (isANDSplit(bond, rpst)) {
-      return "AND";
-    }
-    if (isXORSplit(bond, rpst)) {
-      return "XOR";
-    }
-    if (isORSplit(bond, rpst)) {
-      return "OR";
-    }
-    if (isSkip(bond, rpst)) {
-      return "Skip";
-    }
-    if (isLoop(bond, rpst)) {
-      return "Loop";
-    }
-    return "";
+  private static String getBondType(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return switch (table.getBondKind(bond)) {
+      case EVENT_SPLIT -> "EVENTBASED";
+      case AND_SPLIT -> "AND";
+      case XOR_SPLIT -> "XOR";
+      case OR_SPLIT -> "OR";
+      case SKIP -> "Skip";
+      case LOOP -> "Loop";
+      case NONE -> "";
+    };
   }
 
   /** Decides whether a given bond is a loop (Arc from exit gateway to entry gateway). */
-  static boolean isLoop(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry()) && ((Gateway) bond.getEntry()).isXOR()) {
-      for (RPSTNode<ControlFlow, Node> node : rpst.getChildren((bond))) {
-        if (isTrivial(node)
-            && node.getEntry().equals(bond.getExit())
-            && node.getExit().equals(bond.getEntry())
-            && isGateway(node.getExit())) {
-          return true;
-        }
-        if (bond.getEntry().equals(node.getExit()) && isGateway(node.getExit())) {
-          return true;
-        }
-      }
-    }
-    return false;
+  static boolean isLoop(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.LOOP;
   }
 
   /** Decides whether a given bond is a skip (Arc from entry gateway to exit gateway). */
-  static boolean isSkip(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry()) && ((Gateway) bond.getEntry()).isXOR()) {
-      for (RPSTNode<ControlFlow, Node> node : rpst.getChildren((bond))) {
-        if (isTrivial(node)
-            && node.getEntry().equals(bond.getEntry())
-            && node.getExit().equals(bond.getExit())
-            && isGateway(node.getExit())) {
-          return true;
-        }
-      }
-    }
-    return false;
+  static boolean isSkip(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.SKIP;
   }
 
-  /** Decides whether a given bond is a skip (All arcs are outgoing). */
-  private static boolean isSplit(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    for (RPSTNode<ControlFlow, Node> node : rpst.getChildren((bond))) {
-      if (node.getEntry() != bond.getEntry()) {
-        return false;
-      }
-    }
-    return true;
-  }
-
-  static boolean isEventSplit(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry())) {
-      return ((Gateway) bond.getEntry()).isEventBased() && isSplit(bond, rpst);
-    }
-    return false;
+  static boolean isEventSplit(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.EVENT_SPLIT;
   }
 
   /** Decides whether a given bond is an AND split. */
-  static boolean isANDSplit(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry())) {
-      return ((Gateway) bond.getEntry()).isAND() && isSplit(bond, rpst);
-    }
-    return false;
+  static boolean isANDSplit(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.AND_SPLIT;
   }
 
   /** Decides whether a given bond is an XOR split. */
-  static boolean isXORSplit(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry())) {
-      return ((Gateway) bond.getEntry()).isXOR() && isSplit(bond, rpst) && !isSkip(bond, rpst);
-    }
-    return false;
+  static boolean isXORSplit(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.XOR_SPLIT;
   }
 
   /** Decides whether a given bond is an OR split. */
-  static boolean isORSplit(RPSTNode<ControlFlow, Node> bond, RPST<ControlFlow, Node> rpst) {
-    if (isBond(bond) && isGateway(bond.getEntry())) {
-      return ((Gateway) bond.getEntry()).isOR() && isSplit(bond, rpst);
-    }
-    return false;
+  static boolean isORSplit(RPSTNode<ControlFlow, Node> bond, RPSTNodeTable table) {
+    return table.getBondKind(bond) == BondKind.OR_SPLIT;
   }
 
   /** Decides whether a given component is a Bond. */
@@ -213,17 +101,17 @@ public class PlanningHelper {
   }
 
   /** Decides whether a given component is a trivial one. */
-  private static boolean isTrivial(RPSTNode<ControlFlow, Node> node) {
+  static boolean isTrivial(RPSTNode<ControlFlow, Node> node) {
     return node.getName().startsWith("T");
   }
 
   /** Decides whether a given component is a Rigid. */
-  private static boolean isRigid(RPSTNode<ControlFlow, Node> node) {
+  static boolean isRigid(RPSTNode<ControlFlow, Node> node) {
     return node.getName().startsWith("R");
   }
 
   /** Decides whether a given node is a gateway. */
-  private static boolean isGateway(Node node) {
+  static boolean isGateway(Node node) {
     return node.getClass().toString().equals("class de.hpi.bpt.process.Gateway");
   }
 
@@ -250,42 +138,39 @@ public class PlanningHelper {
 
   /** Return next activity. */
   static RPSTNode<ControlFlow, Node> getNextActivity(
-      RPSTNode<ControlFlow, Node> root, RPST<ControlFlow, Node> rpst) {
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes =
-        PlanningHelper.sortTreeLevel(root, root.getEntry(), rpst);
+      RPSTNode<ControlFlow, Node> root, RPSTNodeTable table) {
+    List<RPSTNode<ControlFlow, Node>> orderedTopNodes = PlanningHelper.sortTreeLevel(root, table);
     for (RPSTNode<ControlFlow, Node> node : orderedTopNodes) {
-      int depth = PlanningHelper.getDepth(node, rpst);
+      int depth = PlanningHelper.getDepth(node, table);
       if (depth == 0 && PlanningHelper.isTrivial(node)) {
         return node;
       } else {
-        return getNextActivity(node, rpst);
+        return getNextActivity(node, table);
       }
     }
     return null;
   }
 
   /** Determines activity count in RPST. */
-  static int getActivityCount(RPSTNode<ControlFlow, Node> root, RPST<ControlFlow, Node> rpst) {
+  static int getActivityCount(RPSTNode<ControlFlow, Node> root, RPSTNodeTable table) {
     int c = 0;
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes =
-        PlanningHelper.sortTreeLevel(root, root.getEntry(), rpst);
+    List<RPSTNode<ControlFlow, Node>> orderedTopNodes = PlanningHelper.sortTreeLevel(root, table);
     for (RPSTNode<ControlFlow, Node> node : orderedTopNodes) {
-      int depth = PlanningHelper.getDepth(node, rpst);
+      int depth = PlanningHelper.getDepth(node, table);
       if (depth == 0 && (PlanningHelper.isTask(node.getEntry()))) {
         c++;
       } else {
-        c = c + getActivityCount(node, rpst);
+        c = c + getActivityCount(node, table);
       }
     }
     return c;
   }
 
   /** Print a given RPST Tree. */
-  static void printTree(RPSTNode<ControlFlow, Node> root, int level, RPST<ControlFlow, Node> rpst) {
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes =
-        PlanningHelper.sortTreeLevel(root, root.getEntry(), rpst);
+  static void printTree(RPSTNode<ControlFlow, Node> root, int level, RPSTNodeTable table) {
+    List<RPSTNode<ControlFlow, Node>> orderedTopNodes = PlanningHelper.sortTreeLevel(root, table);
     for (RPSTNode<ControlFlow, Node> node : orderedTopNodes) {
-      int depth = PlanningHelper.getDepth(node, rpst);
+      int depth = PlanningHelper.getDepth(node, table);
       for (int i = 0; i < level; i++) {
         logger.info("\t");
       }
@@ -298,11 +183,11 @@ public class PlanningHelper {
         logger.info(
             node.getName()
                 + " ("
-                + PlanningHelper.getBondType(node, rpst)
+                + PlanningHelper.getBondType(node, table)
                 + ","
                 + depth
                 + ", "
-                + PlanningHelper.getSubLevelCount(node, rpst)
+                + PlanningHelper.getSubLevelCount(node, table)
                 + ") ["
                 + entryString
                 + " --> "
@@ -314,7 +199,7 @@ public class PlanningHelper {
                 + " ("
                 + depth
                 + ", "
-                + PlanningHelper.getSubLevelCount(node, rpst)
+                + PlanningHelper.getSubLevelCount(node, table)
                 + ") ["
                 + entryString
                 + " --> "
@@ -323,20 +208,19 @@ public class PlanningHelper {
       }
 
       if (depth > 0) {
-        printTree(node, level + 1, rpst);
+        printTree(node, level + 1, table);
       }
     }
   }
 
   public static boolean containsRigid(
       RPSTNode<ControlFlow, Node> root, RPST<ControlFlow, Node> rpst) {
-    if (root == null) {
+    if (root == null || isRigid(root)) {
       return false;
     }
 
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes =
-        PlanningHelper.sortTreeLevel(root, root.getEntry(), rpst);
-    for (RPSTNode<ControlFlow, Node> node : orderedTopNodes) {
+    // The order of the top level does not matter here, so no table is needed for it
+    for (RPSTNode<ControlFlow, Node> node : rpst.getChildren(root)) {
       if (isRigid(node)) {
         return true;
       }
@@ -0,0 +1,221 @@
+package de.dhbw.woped.process2text.service.text.planning;
+
+import de.hpi.bpt.graph.algo.rpst.RPST;
+import de.hpi.bpt.graph.algo.rpst.RPSTNode;
+import de.hpi.bpt.process.ControlFlow;
+import de.hpi.bpt.process.Gateway;
+import de.hpi.bpt.process.GatewayType;
+import de.hpi.bpt.process.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The properties text planning looks up for the nodes of an RPST, computed in one post-order pass.
+ *
+ * <p>Planning asks for the depth, kind and order of the same fragments again and again while it
+ * descends into them; with the table each lookup is constant, so planning stays linear in the size
+ * of the model however deeply its fragments are nested.
+ */
+public final class RPSTNodeTable {
+
+  /** Kind of a bond, as text planning distinguishes them. */
+  public enum BondKind {
+    /** Not a bond, or a bond planning has no conversion for. */
+    NONE,
+    /** Arc from the exit gateway back to the entry gateway. */
+    LOOP,
+    /** Arc from the entry gateway directly to the exit gateway. */
+    SKIP,
+    XOR_SPLIT,
+    EVENT_SPLIT,
+    OR_SPLIT,
+    AND_SPLIT
+  }
+
+  private record Row(
+      List<RPSTNode<ControlFlow, Node>> children,
+      List<RPSTNode<ControlFlow, Node>> orderedChildren,
+      int depth,
+      BondKind bondKind) {}
+
+  private final Map<RPSTNode<ControlFlow, Node>, Row> rows = new IdentityHashMap<>();
+
+  private RPSTNodeTable(RPST<ControlFlow, Node> rpst) {
+    if (rpst.getRoot() == null) {
+      return;
+    }
+    // Iterative, so that deeply nested models do not exhaust the stack
+    Deque<RPSTNode<ControlFlow, Node>> pending = new ArrayDeque<>();
+    Map<RPSTNode<ControlFlow, Node>, List<RPSTNode<ControlFlow, Node>>> children =
+        new IdentityHashMap<>();
+    pending.push(rpst.getRoot());
+    while (!pending.isEmpty()) {
+      RPSTNode<ControlFlow, Node> node = pending.peek();
+      List<RPSTNode<ControlFlow, Node>> nodeChildren = children.get(node);
+      if (nodeChildren == null) {
+        nodeChildren = List.copyOf(rpst.getChildren(node));
+        children.put(node, nodeChildren);
+        nodeChildren.forEach(pending::push);
+      } else {
+        pending.pop();
+        rows.put(node, createRow(node, nodeChildren));
+      }
+    }
+  }
+
+  /**
+   * Computes the table for all nodes of an RPST.
+   *
+   * @param rpst the RPST
+   * @return the new table
+   */
+  public static RPSTNodeTable create(RPST<ControlFlow, Node> rpst) {
+    return new RPSTNodeTable(rpst);
+  }
+
+  /** Returns the children of a node, in the order the RPST lists them. */
+  public List<RPSTNode<ControlFlow, Node>> getChildren(RPSTNode<ControlFlow, Node> node) {
+    return row(node).children();
+  }
+
+  /**
+   * Returns the children of a node in the order they are planned: the paths of a split with the
+   * shallower one first if there are two, the fragments of a chain from its entry to its exit, and
+   * none for a rigid.
+   */
+  public List<RPSTNode<ControlFlow, Node>> getOrderedChildren(RPSTNode<ControlFlow, Node> node) {
+    return row(node).orderedChildren();
+  }
+
+  /** Returns the depth of a node, 0 for trivial ones. */
+  public int getDepth(RPSTNode<ControlFlow, Node> node) {
+    int depth = row(node).depth();
+    return depth > 1 ? depth - 1 : depth;
+  }
+
+  public BondKind getBondKind(RPSTNode<ControlFlow, Node> node) {
+    return row(node).bondKind();
+  }
+
+  private Row row(RPSTNode<ControlFlow, Node> node) {
+    Row row = rows.get(node);
+    if (row == null) {
+      throw new IllegalArgumentException("Node is not part of the RPST: " + node);
+    }
+    return row;
+  }
+
+  /** Creates the row of a node whose children already have theirs. */
+  private Row createRow(
+      RPSTNode<ControlFlow, Node> node, List<RPSTNode<ControlFlow, Node>> children) {
+    int depth = 0;
+    if (!PlanningHelper.isTrivial(node)) {
+      for (RPSTNode<ControlFlow, Node> child : children) {
+        depth = Math.max(depth, rows.get(child).depth() + 1);
+      }
+    }
+    boolean split = isSplit(node, children);
+    return new Row(
+        children,
+        order(node, children, split),
+        depth,
+        classify(node, children, split, gatewayType(node.getEntry()), gatewayType(node.getExit())));
+  }
+
+  private List<RPSTNode<ControlFlow, Node>> order(
+      RPSTNode<ControlFlow, Node> node, List<RPSTNode<ControlFlow, Node>> children, boolean split) {
+    if (split) {
+      if (children.size() == 2 && getDepth(children.get(0)) > getDepth(children.get(1))) {
+        return List.of(children.get(1), children.get(0));
+      }
+      return children;
+    }
+    if (PlanningHelper.isRigid(node)) {
+      return List.of();
+    }
+    Map<Node, RPSTNode<ControlFlow, Node>> byEntry = new HashMap<>();
+    for (RPSTNode<ControlFlow, Node> child : children) {
+      byEntry.putIfAbsent(child.getEntry(), child);
+    }
+    List<RPSTNode<ControlFlow, Node>> ordered = new ArrayList<>(children.size());
+    Node current = node.getEntry();
+    while (ordered.size() < children.size() && byEntry.containsKey(current)) {
+      RPSTNode<ControlFlow, Node> child = byEntry.get(current);
+      ordered.add(child);
+      current = child.getExit();
+    }
+    return List.copyOf(ordered);
+  }
+
+  private static BondKind classify(
+      RPSTNode<ControlFlow, Node> bond,
+      List<RPSTNode<ControlFlow, Node>> children,
+      boolean split,
+      GatewayType entryType,
+      GatewayType exitType) {
+    if (!PlanningHelper.isBond(bond) || entryType == null) {
+      return BondKind.NONE;
+    }
+    if (entryType == GatewayType.XOR) {
+      // A loop whose body is a single arc is planned as a skip
+      if (exitType != null && isSkip(bond, children)) {
+        return BondKind.SKIP;
+      }
+      if (isLoop(bond, children)) {
+        return BondKind.LOOP;
+      }
+    }
+    if (!split) {
+      return BondKind.NONE;
+    }
+    return switch (entryType) {
+      case XOR -> BondKind.XOR_SPLIT;
+      case EVENT -> BondKind.EVENT_SPLIT;
+      case OR -> BondKind.OR_SPLIT;
+      case AND -> BondKind.AND_SPLIT;
+      default -> BondKind.NONE;
+    };
+  }
+
+  private static boolean isLoop(
+      RPSTNode<ControlFlow, Node> bond, List<RPSTNode<ControlFlow, Node>> children) {
+    for (RPSTNode<ControlFlow, Node> node : children) {
+      if (bond.getEntry().equals(node.getExit())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isSkip(
+      RPSTNode<ControlFlow, Node> bond, List<RPSTNode<ControlFlow, Node>> children) {
+    for (RPSTNode<ControlFlow, Node> node : children) {
+      if (PlanningHelper.isTrivial(node)
+          && node.getEntry().equals(bond.getEntry())
+          && node.getExit().equals(bond.getExit())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Decides whether all children of a node start where it starts. */
+  private static boolean isSplit(
+      RPSTNode<ControlFlow, Node> node, List<RPSTNode<ControlFlow, Node>> children) {
+    for (RPSTNode<ControlFlow, Node> child : children) {
+      if (child.getEntry() != node.getEntry()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static GatewayType gatewayType(Node node) {
+    return PlanningHelper.isGateway(node) ? ((Gateway) node).getGatewayType() : null;
+  }
+}
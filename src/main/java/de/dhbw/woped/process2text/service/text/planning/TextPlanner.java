@@ -24,6 +24,7 @@ import java.io.FileNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import net.didion.jwnl.JWNLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +37,7 @@ public class TextPlanner {
     "a", "the", "all", "any", "more", "most", "none", "some", "such", "one", "two", "three", "four",
     "five", "six", "seven", "eight", "nine", "ten"
   };
-  private final RPST<ControlFlow, Node> rpst;
+  private final RPSTNodeTable table;
   private final ProcessModel process;
   private final TextToIntermediateConverter textToIMConverter;
   private final ArrayList<ConditionFragment> passedFragments;
@@ -60,7 +61,7 @@ public class TextPlanner {
       String imperativeRole,
       boolean imperative,
       boolean isAlternative) {
-    this.rpst = rpst;
+    table = RPSTNodeTable.create(rpst);
     this.process = process;
     this.lHelper = lHelper;
     this.lDeriver = lDeriver;
@@ -83,8 +84,7 @@ public class TextPlanner {
     }
 
     // Order nodes of current level with respect to control flow
-    ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes =
-        PlanningHelper.sortTreeLevel(root, root.getEntry(), rpst);
+    List<RPSTNode<ControlFlow, Node>> orderedTopNodes = PlanningHelper.sortTreeLevel(root, table);
 
     // For each node of current level
     for (RPSTNode<ControlFlow, Node> node : orderedTopNodes) {
@@ -93,7 +93,7 @@ public class TextPlanner {
         orderedTopNodes.indexOf(node);
         orderedTopNodes.size();
       }
-      int depth = PlanningHelper.getDepth(node, rpst);
+      int depth = PlanningHelper.getDepth(node, table);
       if (PlanningHelper.isBond(node)) {
 
         // Converter Record
@@ -101,32 +101,32 @@ public class TextPlanner {
 
         // **************************************  LOOP - SPLIT
         // **************************************
-        if (PlanningHelper.isLoop(node, rpst)) {
+        if (PlanningHelper.isLoop(node, table)) {
           convRecord = getLoopConverterRecord(node);
         }
         // **************************************  SKIP - SPLIT
         // **************************************
-        if (PlanningHelper.isSkip(node, rpst)) {
+        if (PlanningHelper.isSkip(node, table)) {
           convRecord = getSkipConverterRecord(orderedTopNodes, node);
         }
         // **************************************  XOR - SPLIT
         // **************************************
-        if (PlanningHelper.isXORSplit(node, rpst)) {
+        if (PlanningHelper.isXORSplit(node, table)) {
           convRecord = getXORConverterRecord(node);
         }
         // **************************************  EVENT BASED - SPLIT
         // **************************************
-        if (PlanningHelper.isEventSplit(node, rpst)) {
+        if (PlanningHelper.isEventSplit(node, table)) {
           convRecord = getXORConverterRecord(node);
         }
         // **************************************  OR - SPLIT
         // **************************************
-        if (PlanningHelper.isORSplit(node, rpst)) {
+        if (PlanningHelper.isORSplit(node, table)) {
           convRecord = getORConverterRecord(node);
         }
         // **************************************  AND - SPLIT
         // **************************************
-        if (PlanningHelper.isANDSplit(node, rpst)) {
+        if (PlanningHelper.isANDSplit(node, table)) {
           convRecord = getANDConverterRecord(node);
         }
 
@@ -176,30 +176,27 @@ public class TextPlanner {
 
         // Convert to Text
         // LOOP
-        if (PlanningHelper.isLoop(node, rpst) || PlanningHelper.isSkip(node, rpst)) {
+        if (PlanningHelper.isLoop(node, table) || PlanningHelper.isSkip(node, table)) {
           convertToText(node, level + 1);
         }
         // XOR - OR - Event
-        if (PlanningHelper.isXORSplit(node, rpst)
-            || PlanningHelper.isORSplit(node, rpst)
-            || PlanningHelper.isEventSplit(node, rpst)) {
-          ArrayList<RPSTNode<ControlFlow, Node>> paths =
-              PlanningHelper.sortTreeLevel(node, node.getEntry(), rpst);
+        if (PlanningHelper.isXORSplit(node, table)
+            || PlanningHelper.isORSplit(node, table)
+            || PlanningHelper.isEventSplit(node, table)) {
+          List<RPSTNode<ControlFlow, Node>> paths = PlanningHelper.sortTreeLevel(node, table);
           for (RPSTNode<ControlFlow, Node> path : paths) {
             tagWithBullet = true;
             convertToText(path, level + 1);
           }
         }
         // AND
-        if (PlanningHelper.isANDSplit(node, rpst)) {
+        if (PlanningHelper.isANDSplit(node, table)) {
 
           // Determine path count
-          ArrayList<RPSTNode<ControlFlow, Node>> andNodes =
-              PlanningHelper.sortTreeLevel(node, node.getEntry(), rpst);
+          List<RPSTNode<ControlFlow, Node>> andNodes = PlanningHelper.sortTreeLevel(node, table);
 
           if (andNodes.size() == 2) {
-            ArrayList<RPSTNode<ControlFlow, Node>> topNodes =
-                PlanningHelper.sortTreeLevel(node, node.getEntry(), rpst);
+            List<RPSTNode<ControlFlow, Node>> topNodes = PlanningHelper.sortTreeLevel(node, table);
             RPSTNode<ControlFlow, Node> path1 = topNodes.get(0);
             RPSTNode<ControlFlow, Node> path2 = topNodes.get(1);
 
@@ -208,8 +205,7 @@ public class TextPlanner {
             passedMod = convRecord.mod;
             convertToText(path2, level);
           } else {
-            ArrayList<RPSTNode<ControlFlow, Node>> paths =
-                PlanningHelper.sortTreeLevel(node, node.getEntry(), rpst);
+            List<RPSTNode<ControlFlow, Node>> paths = PlanningHelper.sortTreeLevel(node, table);
             for (RPSTNode<ControlFlow, Node> path : paths) {
               tagWithBullet = true;
               convertToText(path, level + 1);
@@ -498,7 +494,7 @@ public class TextPlanner {
           TextPlanner converter =
               new TextPlanner(
                   rpst, alternative, lDeriver, lHelper, imperativeRole, imperative, true);
-          PlanningHelper.printTree(rpst.getRoot(), 0, rpst);
+          PlanningHelper.printTree(rpst.getRoot(), 0, converter.table);
           converter.convertToText(rpst.getRoot(), level + 1);
           ArrayList<DSynTSentence> subSentencePlan = converter.getSentencePlan();
           for (int i = 0; i < subSentencePlan.size(); i++) {
@@ -528,14 +524,13 @@ public class TextPlanner {
   /** Get ConverterRecord for AND */
   private ConverterRecord getANDConverterRecord(RPSTNode<ControlFlow, Node> node) {
     // Determine path count
-    ArrayList<RPSTNode<ControlFlow, Node>> andNodes =
-        PlanningHelper.sortTreeLevel(node, node.getEntry(), rpst);
+    List<RPSTNode<ControlFlow, Node>> andNodes = PlanningHelper.sortTreeLevel(node, table);
     return textToIMConverter.convertANDGeneral(node, andNodes.size());
   }
 
   /** Get ConverterRecord for OR */
   private ConverterRecord getORConverterRecord(RPSTNode<ControlFlow, Node> node) {
-    GatewayPropertyRecord orPropRec = new GatewayPropertyRecord(node, rpst);
+    GatewayPropertyRecord orPropRec = new GatewayPropertyRecord(node, table);
 
     // Labeled Case
     if (orPropRec.isGatewayLabeled()) {
@@ -549,7 +544,7 @@ public class TextPlanner {
 
   /** Get ConverterRecord for XOR */
   private ConverterRecord getXORConverterRecord(RPSTNode<ControlFlow, Node> node) {
-    GatewayPropertyRecord propRec = new GatewayPropertyRecord(node, rpst);
+    GatewayPropertyRecord propRec = new GatewayPropertyRecord(node, table);
 
     // Labeled Case with Yes/No - arcs and Max. Depth of 1
     if (propRec.isGatewayLabeled() && propRec.hasYNArcs() && propRec.getMaxPathDepth() == 1) {
@@ -566,14 +561,14 @@ public class TextPlanner {
 
   /** Get ConverterRecord for Loop */
   private ConverterRecord getLoopConverterRecord(RPSTNode<ControlFlow, Node> node) {
-    RPSTNode<ControlFlow, Node> firstNodeInLoop = PlanningHelper.getNextActivity(node, rpst);
+    RPSTNode<ControlFlow, Node> firstNodeInLoop = PlanningHelper.getNextActivity(node, table);
     return textToIMConverter.convertLoop(node, firstNodeInLoop);
   }
 
   /** Get ConverterRecord for Skip */
   private ConverterRecord getSkipConverterRecord(
-      ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes, RPSTNode<ControlFlow, Node> node) {
-    GatewayPropertyRecord propRec = new GatewayPropertyRecord(node, rpst);
+      List<RPSTNode<ControlFlow, Node>> orderedTopNodes, RPSTNode<ControlFlow, Node> node) {
+    GatewayPropertyRecord propRec = new GatewayPropertyRecord(node, table);
 
     // Yes-No Case
     if (propRec.isGatewayLabeled() && propRec.hasYNArcs()) {
@@ -595,7 +590,7 @@ public class TextPlanner {
 
   /** Evaluate whether skip leads to an end */
   private boolean isToEndSkip(
-      ArrayList<RPSTNode<ControlFlow, Node>> orderedTopNodes, RPSTNode<ControlFlow, Node> node) {
+      List<RPSTNode<ControlFlow, Node>> orderedTopNodes, RPSTNode<ControlFlow, Node> node) {
     int currentPosition = orderedTopNodes.indexOf(node);
     if (currentPosition < orderedTopNodes.size() - 1) {
       Node potEndNode = orderedTopNodes.get(currentPosition + 1).getExit();
@@ -1,34 +1,33 @@
 package de.dhbw.woped.process2text.service.text.planning.record;
 
 import de.dhbw.woped.process2text.service.text.planning.PlanningHelper;
-import de.hpi.bpt.graph.algo.rpst.RPST;
+import de.dhbw.woped.process2text.service.text.planning.RPSTNodeTable;
 import de.hpi.bpt.graph.algo.rpst.RPSTNode;
 import de.hpi.bpt.process.ControlFlow;
 import de.hpi.bpt.process.Node;
-import java.util.ArrayList;
+import java.util.List;
 
 public class GatewayPropertyRecord {
   private final RPSTNode<ControlFlow, Node> node;
-  private final RPST<ControlFlow, Node> rpst;
+  private final RPSTNodeTable table;
   private int maxPathDepth = 0;
   private int maxPathActivityNumber = 0;
   private boolean isGatewayLabeled = false;
   private boolean hasYNArcs = false;
 
-  public GatewayPropertyRecord(RPSTNode<ControlFlow, Node> node, RPST<ControlFlow, Node> rpst) {
+  public GatewayPropertyRecord(RPSTNode<ControlFlow, Node> node, RPSTNodeTable table) {
     this.node = node;
-    this.rpst = rpst;
+    this.table = table;
     setGatewayPropertyRecord();
   }
 
   /** Evaluates and determines according values for Gateway. */
   private void setGatewayPropertyRecord() {
     // maxPathDepth / maxPathActivityNumber
-    ArrayList<RPSTNode<ControlFlow, Node>> paths =
-        (ArrayList<RPSTNode<ControlFlow, Node>>) rpst.getChildren(node);
+    List<RPSTNode<ControlFlow, Node>> paths = table.getChildren(node);
     for (RPSTNode<ControlFlow, Node> pnode : paths) {
-      int depth = PlanningHelper.getDepth(pnode, rpst);
-      int number = rpst.getChildren(pnode).size() - 1;
+      int depth = PlanningHelper.getDepth(pnode, table);
+      int number = table.getChildren(pnode).size() - 1;
       if (depth > maxPathDepth) {
         maxPathDepth = depth;
       }
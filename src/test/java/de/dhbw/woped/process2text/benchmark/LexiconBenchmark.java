@@ -0,0 +1,95 @@
+package de.dhbw.woped.process2text.benchmark;
+
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.CompiledLabelLexicon;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelDeriver;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelHelper;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelProperties;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import net.didion.jwnl.data.POS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups on the shared {@link WordNetLexicon} for a fixed list of activity labels of the bundled
+ * models: the WordNet lookups of their words alone, and the analysis of the labels by a label
+ * helper created per operation, as the generator creates one per request. The lexicon is loaded
+ * once per trial, outside the measurement, since JWNL keeps its dictionary in global state; the
+ * time the load takes is logged by the lexicon itself.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test-compile exec:exec@benchmark -Djmh.args=Lexicon}; the
+ * profile adds the {@code gc} profiler and writes {@code target/jmh-result.json}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexiconBenchmark {
+
+  private static final List<String> LABELS =
+      List.of(
+          "buy ingredients",
+          "check for veggie recipe",
+          "check funds",
+          "inform customer about taxes",
+          "prepare meal",
+          "print receipt",
+          "send approval",
+          "update customer database",
+          "archive",
+          "customer is informed",
+          "meal prepared",
+          "payment is valid");
+
+  private static final POS[] PARTS_OF_SPEECH = {POS.VERB, POS.NOUN, POS.ADJECTIVE};
+
+  private WordNetLexicon lexicon;
+  private List<String[]> words;
+
+  @Setup(Level.Trial)
+  public void load() {
+    lexicon = WordNetLexicon.getInstance();
+    words = LABELS.stream().map(label -> label.toLowerCase(Locale.ROOT).split(" ")).toList();
+  }
+
+  /** Looks up every word of the labels as verb, noun and adjective. */
+  @Benchmark
+  public void wordLookups(Blackhole blackhole) throws Exception {
+    for (String[] label : words) {
+      for (String word : label) {
+        for (POS pos : PARTS_OF_SPEECH) {
+          blackhole.consume(lexicon.lookupLemma(pos, word));
+        }
+      }
+    }
+  }
+
+  /** Derives action, business object and addition of every label. */
+  @Benchmark
+  public void labelAnalysis(Blackhole blackhole) throws Exception {
+    EnglishLabelHelper lHelper =
+        new EnglishLabelHelper(
+            lexicon, CompiledLabelLexicon.getInstance(), DerivationCache.getDefault());
+    EnglishLabelDeriver lDeriver = new EnglishLabelDeriver(lHelper);
+    for (int i = 0; i < LABELS.size(); i++) {
+      EnglishLabelProperties props = new EnglishLabelProperties();
+      lDeriver.deriveFromVOS(LABELS.get(i), words.get(i), props);
+      blackhole.consume(props);
+    }
+  }
+}
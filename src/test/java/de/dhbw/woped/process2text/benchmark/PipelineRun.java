@@ -0,0 +1,197 @@
+package de.dhbw.woped.process2text.benchmark;
+
+import de.dhbw.woped.process2text.model.dsynt.DSynTSentence;
+import de.dhbw.woped.process2text.model.process.Activity;
+import de.dhbw.woped.process2text.model.process.ProcessModel;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import de.dhbw.woped.process2text.model.reader.bpmn.BPMNReader;
+import de.dhbw.woped.process2text.model.reader.pnml.PetriNetToProcessConverter;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.CompiledLabelLexicon;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelDeriver;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.EnglishLabelHelper;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
+import de.dhbw.woped.process2text.service.content.determination.preprocessing.FormatConverter;
+import de.dhbw.woped.process2text.service.content.determination.preprocessing.RigidStructurer;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import de.dhbw.woped.process2text.service.sentence.planning.DiscourseMarker;
+import de.dhbw.woped.process2text.service.sentence.planning.ReferringExpressionGenerator;
+import de.dhbw.woped.process2text.service.sentence.planning.SentenceAggregator;
+import de.dhbw.woped.process2text.service.sentence.realization.RealProPool;
+import de.dhbw.woped.process2text.service.sentence.realization.RealizationCache;
+import de.dhbw.woped.process2text.service.sentence.realization.SurfaceRealizer;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerator;
+import de.dhbw.woped.process2text.service.text.planning.PlanningHelper;
+import de.dhbw.woped.process2text.service.text.planning.TextPlanner;
+import de.hpi.bpt.graph.algo.rpst.RPST;
+import de.hpi.bpt.process.ControlFlow;
+import de.hpi.bpt.process.Node;
+import de.hpi.bpt.process.Process;
+import java.util.ArrayList;
+import java.util.HashMap;
+import org.w3c.dom.Document;
+
+/**
+ * The stages of {@link TextGenerator#toText(ModelInput)} for a single model. The products of all
+ * stages are built once, so that every stage can be run again and again on the products of the
+ * stages before it.
+ */
+final class PipelineRun {
+
+  private final String text;
+  private final EnglishLabelHelper lHelper;
+  private final EnglishLabelDeriver lDeriver;
+  private final FormatConverter formatConverter = new FormatConverter();
+  private final SurfaceRealizer surfaceRealizer =
+      new SurfaceRealizer(RealProPool.getDefault(), RealizationCache.DISABLED);
+
+  private ModelInput input;
+  private ProcessModel converted;
+  private ProcessModel model;
+  private HashMap<Integer, String> transformedElemsRev;
+  private RPST<ControlFlow, Node> rpst;
+  private boolean containsRigids;
+  private ProcessModel structuredModel;
+  private RPST<ControlFlow, Node> structuredRpst;
+  private ArrayList<DSynTSentence> sentencePlan;
+
+  private PipelineRun(String text) {
+    this.text = text;
+    lHelper =
+        new EnglishLabelHelper(
+            WordNetLexicon.getInstance(),
+            CompiledLabelLexicon.getInstance(),
+            DerivationCache.getDefault());
+    lDeriver = new EnglishLabelDeriver(lHelper);
+  }
+
+  /**
+   * Runs all stages on a model.
+   *
+   * @return the products of the stages, or {@code null} if the readers reject the model, in which
+   *     case the generator answers with an error message right after reading
+   */
+  static PipelineRun create(String text) throws Exception {
+    PipelineRun run = new PipelineRun(text);
+    run.input = ModelInput.sniff(text);
+    Converted converted = run.convertInput();
+    if (converted == null) {
+      return null;
+    }
+    run.converted = run.convert();
+    run.model = converted.model();
+    run.transformedElemsRev = converted.ids();
+    run.model.annotateModel(run.lDeriver, run.lHelper, LabelAnnotationCache.DISABLED);
+    run.rpst = run.buildRpst();
+    run.containsRigids = run.containsRigids(run.rpst);
+    run.structuredModel = run.model;
+    run.structuredRpst = run.rpst;
+    if (run.containsRigids) {
+      run.structuredModel = run.restructure();
+      run.structuredRpst = run.buildRpst(run.structuredModel);
+    }
+    run.sentencePlan = run.planSentences(run.aggregate(run.planText()));
+    return run;
+  }
+
+  /** Parses the text of the model again. */
+  Object parse() throws Exception {
+    ModelInput parsed = ModelInput.sniff(text);
+    return parsed.getFormat() == ModelInput.Format.PNML
+        ? parsed.getPetriNet()
+        : parsed.getBpmnDocument();
+  }
+
+  /** Converts the parsed model into a new process model. */
+  ProcessModel convert() throws Exception {
+    return convertInput().model();
+  }
+
+  /**
+   * Annotates the converted model. The annotations are dropped again afterwards, since the model
+   * appends them to those of earlier calls.
+   */
+  ProcessModel annotate() {
+    converted.annotateModel(lDeriver, lHelper, LabelAnnotationCache.DISABLED);
+    for (Activity activity : converted.getActivites().values()) {
+      activity.getAnnotations().clear();
+    }
+    return converted;
+  }
+
+  /** Converts the annotated model into the RPST graph format and decomposes it. */
+  RPST<ControlFlow, Node> buildRpst() {
+    return buildRpst(model);
+  }
+
+  boolean containsRigids(RPST<ControlFlow, Node> tree) {
+    return PlanningHelper.containsRigid(tree.getRoot(), tree);
+  }
+
+  /**
+   * Restructures the rigid fragments of the annotated model and decomposes the result again.
+   *
+   * @return the RPST of the structured model, or of the annotated one if it contains no rigids
+   */
+  RPST<ControlFlow, Node> structureRigids() {
+    return containsRigids ? buildRpst(restructure()) : rpst;
+  }
+
+  /** Plans the sentences of the structured model into a new sentence plan. */
+  ArrayList<DSynTSentence> planText() throws Exception {
+    TextPlanner planner =
+        new TextPlanner(structuredRpst, structuredModel, lDeriver, lHelper, "", false, false);
+    planner.convertToText(structuredRpst.getRoot(), 0);
+    return planner.getSentencePlan();
+  }
+
+  /** Merges sentences of the same role. Modifies the given plan. */
+  ArrayList<DSynTSentence> aggregate(ArrayList<DSynTSentence> plan) {
+    return new SentenceAggregator().performRoleAggregation(plan);
+  }
+
+  /** Inserts referring expressions and discourse markers. Modifies the given plan. */
+  ArrayList<DSynTSentence> planSentences(ArrayList<DSynTSentence> plan) {
+    ReferringExpressionGenerator refExpGenerator = new ReferringExpressionGenerator(lHelper);
+    refExpGenerator.insertReferringExpressions(plan, false);
+    plan = refExpGenerator.insertReferringExpressions(plan, false);
+    refExpGenerator.generateRoleList(plan);
+    return new DiscourseMarker().insertSequenceConnectives(plan);
+  }
+
+  /** Realizes the final sentence plan. */
+  String realize() {
+    return surfaceRealizer.postProcessText(
+        surfaceRealizer.realizeSentenceMap(sentencePlan, transformedElemsRev));
+  }
+
+  private Converted convertInput() throws Exception {
+    if (input.getFormat() == ModelInput.Format.PNML) {
+      if (input.getPetriNet() == null) {
+        return null;
+      }
+      PetriNetToProcessConverter converter = new PetriNetToProcessConverter();
+      return new Converted(
+          converter.convertToProcess(input.getPetriNet()), converter.transformedElemsRev);
+    }
+    Document bpmn = input.getFormat() == ModelInput.Format.BPMN ? input.getBpmnDocument() : null;
+    if (bpmn == null || bpmn.getElementsByTagName("bpmn:process").getLength() == 0) {
+      return null;
+    }
+    BPMNReader reader = new BPMNReader();
+    ProcessModel processModel = reader.getProcessModelFromBPMNDocument(bpmn);
+    return processModel == null ? null : new Converted(processModel, reader.transformedElemsRev);
+  }
+
+  private ProcessModel restructure() {
+    Process p = formatConverter.transformToRigidFormat(model);
+    p = new RigidStructurer().structureProcess(p);
+    return formatConverter.transformFromRigidFormat(p);
+  }
+
+  private RPST<ControlFlow, Node> buildRpst(ProcessModel processModel) {
+    return new RPST<>(formatConverter.transformToRPSTFormat(processModel));
+  }
+
+  private record Converted(ProcessModel model, HashMap<Integer, String> ids) {}
+}
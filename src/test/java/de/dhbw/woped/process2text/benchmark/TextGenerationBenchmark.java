@@ -0,0 +1,217 @@
+package de.dhbw.woped.process2text.benchmark;
+
+import de.dhbw.woped.process2text.model.dsynt.DSynTSentence;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerationMetrics;
+import de.dhbw.woped.process2text.service.text.generation.TextGenerator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks of the text generation, end to end and one per {@link TextGenerationMetrics.Stage
+ * stage}. Every operation processes all bundled models of one format: {@code
+ * src/main/resources/Petrinets/*.pnml} or {@code models/BPMN/*.bpmn}, resolved against the working
+ * directory.
+ *
+ * <p>The products of all stages are built once per trial, and every stage runs on the products of
+ * the stages before it. Aggregation and sentence planning modify the sentence plan in place, so
+ * they run in single-shot mode instead, on {@value #BATCH} fresh plans built before every
+ * iteration; their score is the time of the whole batch.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test-compile exec:exec@benchmark}. The profile adds the
+ * {@code gc} profiler and writes {@code target/jmh-result.json}; further JMH options such as a
+ * benchmark filter go into {@code -Djmh.args=...}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextGenerationBenchmark {
+
+  /** Operations of one single-shot iteration. */
+  static final int BATCH = 50;
+
+  /**
+   * The bundled models of one format. Models the readers reject are left out, since the generator
+   * answers them with an error message right after reading, and so are models it fails on.
+   */
+  @State(Scope.Benchmark)
+  public static class Corpus {
+
+    @Param({"pnml", "bpmn"})
+    public String format;
+
+    List<String> models;
+    List<PipelineRun> runs;
+    TextGenerator generator;
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+      Path dir = Path.of(format.equals("pnml") ? "src/main/resources/Petrinets" : "models/BPMN");
+      models = new ArrayList<>();
+      runs = new ArrayList<>();
+      try (Stream<Path> files = Files.list(dir)) {
+        for (Path file : files.filter(f -> f.toString().endsWith("." + format)).sorted().toList()) {
+          String model = Files.readString(file, StandardCharsets.UTF_8);
+          PipelineRun run;
+          try {
+            run = PipelineRun.create(model);
+          } catch (Exception e) {
+            // The generator fails on it as well
+            continue;
+          }
+          if (run != null) {
+            models.add(model);
+            runs.add(run);
+          }
+        }
+      }
+      if (models.isEmpty()) {
+        throw new IOException("No " + format + " models in " + dir.toAbsolutePath());
+      }
+      generator = new TextGenerator();
+    }
+  }
+
+  /** Fresh sentence plans of all models for every operation of a single-shot iteration. */
+  public abstract static class FreshPlans {
+
+    private final Deque<List<ArrayList<DSynTSentence>>> batch = new ArrayDeque<>();
+
+    abstract ArrayList<DSynTSentence> plan(PipelineRun run) throws Exception;
+
+    @Setup(Level.Iteration)
+    public void prepare(Corpus corpus) throws Exception {
+      batch.clear();
+      for (int i = 0; i < BATCH; i++) {
+        List<ArrayList<DSynTSentence>> plans = new ArrayList<>(corpus.runs.size());
+        for (PipelineRun run : corpus.runs) {
+          plans.add(plan(run));
+        }
+        batch.add(plans);
+      }
+    }
+
+    List<ArrayList<DSynTSentence>> next() {
+      return batch.remove();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TextPlans extends FreshPlans {
+    @Override
+    ArrayList<DSynTSentence> plan(PipelineRun run) throws Exception {
+      return run.planText();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class AggregatedPlans extends FreshPlans {
+    @Override
+    ArrayList<DSynTSentence> plan(PipelineRun run) throws Exception {
+      return run.aggregate(run.planText());
+    }
+  }
+
+  @Benchmark
+  public void endToEnd(Corpus corpus, Blackhole blackhole) throws Exception {
+    for (String model : corpus.models) {
+      blackhole.consume(corpus.generator.toText(model));
+    }
+  }
+
+  @Benchmark
+  public void parsing(Corpus corpus, Blackhole blackhole) throws Exception {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.parse());
+    }
+  }
+
+  @Benchmark
+  public void conversion(Corpus corpus, Blackhole blackhole) throws Exception {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.convert());
+    }
+  }
+
+  @Benchmark
+  public void annotation(Corpus corpus, Blackhole blackhole) {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.annotate());
+    }
+  }
+
+  /** Conversion into the RPST graph format, the RPST decomposition and the search for rigids. */
+  @Benchmark
+  public void rpst(Corpus corpus, Blackhole blackhole) {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.containsRigids(run.buildRpst()));
+    }
+  }
+
+  /** Restructures only the models whose RPST contains rigid fragments. */
+  @Benchmark
+  public void rigidStructuring(Corpus corpus, Blackhole blackhole) {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.structureRigids());
+    }
+  }
+
+  @Benchmark
+  public void textPlanning(Corpus corpus, Blackhole blackhole) throws Exception {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.planText());
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 20, batchSize = BATCH)
+  @Measurement(iterations = 20, batchSize = BATCH)
+  public void aggregation(Corpus corpus, TextPlans plans, Blackhole blackhole) {
+    List<ArrayList<DSynTSentence>> next = plans.next();
+    for (int i = 0; i < next.size(); i++) {
+      blackhole.consume(corpus.runs.get(i).aggregate(next.get(i)));
+    }
+  }
+
+  /** Referring expressions and discourse markers. */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 20, batchSize = BATCH)
+  @Measurement(iterations = 20, batchSize = BATCH)
+  public void sentencePlanning(Corpus corpus, AggregatedPlans plans, Blackhole blackhole) {
+    List<ArrayList<DSynTSentence>> next = plans.next();
+    for (int i = 0; i < next.size(); i++) {
+      blackhole.consume(corpus.runs.get(i).planSentences(next.get(i)));
+    }
+  }
+
+  @Benchmark
+  public void realization(Corpus corpus, Blackhole blackhole) {
+    for (PipelineRun run : corpus.runs) {
+      blackhole.consume(run.realize());
+    }
+  }
+}
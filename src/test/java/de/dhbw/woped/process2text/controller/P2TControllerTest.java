@@ -0,0 +1,124 @@
+package de.dhbw.woped.process2text.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import de.dhbw.woped.process2text.config.MetricsConfig;
+import de.dhbw.woped.process2text.exception.TextGenerationException;
+import de.dhbw.woped.process2text.service.P2TBatchService;
+import de.dhbw.woped.process2text.service.P2TLLMService;
+import de.dhbw.woped.process2text.service.P2TService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@WebMvcTest(P2TController.class)
+@Import({MetricsConfig.class, P2TBatchService.class, P2TControllerTest.Registry.class})
+class P2TControllerTest {
+
+  @TestConfiguration
+  static class Registry {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired private MockMvc mvc;
+  @MockBean private P2TService p2tService;
+  @MockBean private P2TLLMService llmService;
+
+  @Test
+  void streamSendsTokensAndTheErrorAsJsonStrings() throws Exception {
+    when(llmService.streamLLM(anyString(), any()))
+        .thenReturn(
+            Flux.just("Check", " the \"invoice\"")
+                .concatWith(
+                    Flux.error(
+                        new ResponseStatusException(
+                            HttpStatus.BAD_REQUEST, "OpenAI API error: \"invalid key\""))));
+
+    MvcResult result =
+        mvc.perform(
+                post("/generateTextLLM/stream")
+                    .param("prompt", "Describe")
+                    .param("gptModel", "gpt-4o")
+                    .param("provider", "openAi")
+                    .param("useRag", "false")
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .content("<pnml/>"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .string(
+                    "data:\"Check\"\n\n"
+                        + "data:\" the \\\"invoice\\\"\"\n\n"
+                        + "event:error\n"
+                        + "data:\"OpenAI API error: \\\"invalid key\\\"\"\n\n"));
+  }
+
+  @Test
+  void batchKeepsTheRequestOrder() throws Exception {
+    when(p2tService.generateTextOrThrow(anyString()))
+        .thenAnswer(
+            invocation -> {
+              String model = invocation.getArgument(0);
+              if (model.equals("<first/>")) {
+                // Finishes after the second model
+                Thread.sleep(200);
+              }
+              return "text of " + model;
+            });
+
+    mvc.perform(
+            post("/generateText/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"<first/>\", \"<second/>\"]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[0].index").value(0))
+        .andExpect(jsonPath("$[0].text").value("text of <first/>"))
+        .andExpect(jsonPath("$[1].index").value(1))
+        .andExpect(jsonPath("$[1].text").value("text of <second/>"));
+  }
+
+  @Test
+  void batchReportsAFailedModelWithoutFailingTheOthers() throws Exception {
+    when(p2tService.generateTextOrThrow("<good/>")).thenReturn("text");
+    when(p2tService.generateTextOrThrow("<bad/>"))
+        .thenThrow(new TextGenerationException(new IllegalStateException("unreadable model")));
+
+    mvc.perform(
+            post("/generateText/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"<bad/>\", \"<good/>\"]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].text").doesNotExist())
+        .andExpect(jsonPath("$[0].error").value("unreadable model"))
+        .andExpect(jsonPath("$[1].text").value("text"))
+        .andExpect(jsonPath("$[1].error").doesNotExist());
+  }
+}
@@ -0,0 +1,77 @@
+package de.dhbw.woped.process2text.model.dsynt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.NodeClass;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.Relation;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class DSynTNodeTest {
+
+  @Test
+  void convertsTheTreeIntoRealProXml() throws Exception {
+    DSynTNode verb = new DSynTNode(NodeClass.VERB, null, "check").set("voice", "pass");
+    DSynTNode object = new DSynTNode().set("class", "common_noun").set("rel", "II");
+    object.setLexeme("invoice").set("article", "def");
+    verb.add(object);
+    DSynTNode removed = new DSynTNode(NodeClass.ADVERB, Relation.ATTR, "quickly");
+    verb.add(removed);
+    verb.add(new DSynTNode(NodeClass.COMMON_NOUN, Relation.I, "clerk"));
+    verb.remove(removed);
+    // Setting an attribute again replaces its value in place
+    verb.set("voice", "active");
+
+    assertEquals(
+        "<dsynts><dsyntnode class=\"verb\" lexeme=\"check\" voice=\"active\">"
+            + "<dsyntnode article=\"def\" class=\"common_noun\" lexeme=\"invoice\" rel=\"II\"/>"
+            + "<dsyntnode class=\"common_noun\" lexeme=\"clerk\" rel=\"I\"/>"
+            + "</dsyntnode></dsynts>",
+        toXml(verb.toDocument()));
+
+    List<String> attributes = new ArrayList<>();
+    object.forEachAttribute((name, value) -> attributes.add(name + "=" + value));
+    assertEquals(
+        List.of("class=common_noun", "rel=II", "lexeme=invoice", "article=def"), attributes);
+    assertNull(verb.get("rel"));
+    assertNull(verb.get("tense"));
+    assertThrows(NoSuchElementException.class, () -> verb.remove(removed));
+  }
+
+  @Test
+  void mapsAttributeValuesToClassesAndRelations() {
+    for (NodeClass nodeClass : NodeClass.values()) {
+      assertEquals(nodeClass, NodeClass.of(nodeClass.getValue()));
+    }
+    for (Relation relation : Relation.values()) {
+      assertEquals(relation, Relation.of(relation.getValue()));
+    }
+    DSynTNode node = new DSynTNode().set("class", "coordinating_conj").set("rel", "COORD");
+
+    assertEquals(NodeClass.COORDINATING_CONJ, node.getNodeClass());
+    assertEquals(Relation.COORD, node.getRelation());
+    assertEquals("COORD", node.get("rel"));
+    assertThrows(IllegalArgumentException.class, () -> node.set("class", "preposition"));
+    assertThrows(IllegalArgumentException.class, () -> node.set("rel", "III"));
+    assertEquals(Relation.COORD, node.getRelation());
+  }
+
+  private static String toXml(Document doc) throws Exception {
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+    StringWriter xml = new StringWriter();
+    transformer.transform(new DOMSource(doc), new StreamResult(xml));
+    return xml.toString();
+  }
+}
@@ -0,0 +1,137 @@
+package de.dhbw.woped.process2text.model.reader.pnml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Arc;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Element;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.PetriNet;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Place;
+import de.dhbw.woped.process2text.model.reader.pnml.petri_net.Transition;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+class PNMLReaderTest {
+
+  static Stream<Path> samples() throws IOException {
+    return Files.list(Path.of("src/main/resources/Petrinets"))
+        .filter(f -> f.toString().endsWith(".pnml"))
+        .sorted();
+  }
+
+  @ParameterizedTest
+  @MethodSource("samples")
+  void readsTheSamplesLikeTheDomReader(Path sample) throws Exception {
+    PetriNet expected;
+    PetriNet actual;
+    try (InputStream in = Files.newInputStream(sample)) {
+      expected = DomReader.read(in);
+    }
+    try (InputStream in = Files.newInputStream(sample)) {
+      actual = new PNMLReader().getPetriNetFromPNMLString(in);
+    }
+
+    assertFalse(expected.getElements().isEmpty());
+    assertEquals(describe(expected), describe(actual));
+  }
+
+  /** Every element and arc of the net with all of its attributes, one per line in id order. */
+  private static List<String> describe(PetriNet net) {
+    List<String> lines = new ArrayList<>();
+    for (Element e : net.getElements().values()) {
+      lines.add(
+          String.join(
+              "|",
+              e.getId(),
+              e.getClass().getSimpleName(),
+              e.getLabel(),
+              e.getRole(),
+              e.getGroup(),
+              e.getType(),
+              e.getTrigger()));
+    }
+    for (Arc arc : net.getArcs().values()) {
+      lines.add(String.join("|", "arc", arc.getId(), arc.getSource(), arc.getTarget()));
+    }
+    lines.sort(null);
+    return lines;
+  }
+
+  /** The DOM based reader the StAX reader replaced, kept as the reference of its output. */
+  private static final class DomReader {
+
+    static PetriNet read(InputStream input) throws Exception {
+      Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(input);
+      doc.getDocumentElement().normalize();
+      PetriNet petriNet = new PetriNet();
+      extractElements(doc, "place", petriNet);
+      extractElements(doc, "transition", petriNet);
+      NodeList list = doc.getElementsByTagName("arc");
+      for (int i = 0; i < list.getLength(); i++) {
+        org.w3c.dom.Element arc = (org.w3c.dom.Element) list.item(i);
+        String id = arc.getAttribute("id");
+        while (petriNet.getArcs().containsKey(id)) {
+          id = id + "_exists";
+        }
+        petriNet.addArc(new Arc(id, arc.getAttribute("source"), arc.getAttribute("target")));
+      }
+      return petriNet;
+    }
+
+    private static void extractElements(Document doc, String type, PetriNet petriNet) {
+      NodeList list = doc.getElementsByTagName(type);
+      for (int i = 0; i < list.getLength(); i++) {
+        Node node = list.item(i);
+        String id = ((org.w3c.dom.Element) node).getAttribute("id");
+        String operatorType = "none";
+        String role = "none";
+        String group = "none";
+        String trigger = "none";
+        NodeList children = node.getChildNodes();
+        for (int o = 0; o < children.getLength(); o++) {
+          if (children.item(o).getNodeName().equals("toolspecific")) {
+            NodeList tools = children.item(o).getChildNodes();
+            for (int u = 0; u < tools.getLength(); u++) {
+              Node tool = tools.item(u);
+              if (tool.getNodeName().equals("operator")) {
+                operatorType = ((org.w3c.dom.Element) tool).getAttribute("type");
+              }
+              if (tool.getNodeName().equals("transitionResource")) {
+                role = ((org.w3c.dom.Element) tool).getAttribute("roleName");
+                group = ((org.w3c.dom.Element) tool).getAttribute("organizationalUnitName");
+              }
+              if (tool.getNodeName().equals("trigger")) {
+                trigger = ((org.w3c.dom.Element) tool).getAttribute("type");
+              }
+            }
+          }
+        }
+        for (int j = 0; j < children.getLength(); j++) {
+          NodeList grandchildren = children.item(j).getChildNodes();
+          for (int k = 0; k < grandchildren.getLength(); k++) {
+            Node text = grandchildren.item(k);
+            if (text.getNodeType() == Node.ELEMENT_NODE && text.getNodeName().contains("text")) {
+              if (type.equals("place")) {
+                petriNet.addElements(new Place(id, text.getTextContent()));
+              } else {
+                petriNet.addElements(
+                    new Transition(id, text.getTextContent(), role, group, operatorType, trigger));
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+}
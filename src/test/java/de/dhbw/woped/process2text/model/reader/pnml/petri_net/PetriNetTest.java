@@ -0,0 +1,93 @@
+package de.dhbw.woped.process2text.model.reader.pnml.petri_net;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.dhbw.woped.process2text.model.reader.pnml.PNMLReader;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PetriNetTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"LoanApplication", "Schleife-XOR-Split", "Mehrfachkombination"})
+  void indexMatchesTheArcScan(String model) throws Exception {
+    PetriNet net;
+    try (InputStream in =
+        Files.newInputStream(Path.of("src/main/resources/Petrinets", model + ".pnml"))) {
+      net = new PNMLReader().getPetriNetFromPNMLString(in);
+    }
+
+    assertFalse(net.getArcs().isEmpty());
+    assertMatchesArcScan(net);
+  }
+
+  @Test
+  void listsPlacesWithoutOutgoingArcsAsSinks() {
+    PetriNet net = new PetriNet();
+    net.addElements(new Place("p1", "start"));
+    net.addElements(new Place("p2", "end"));
+    net.addArc(new Arc("a1", "p1", "t1"));
+    assertMatchesArcScan(net);
+
+    // Adding an arc invalidates the index
+    net.addArc(new Arc("a2", "t1", "p2"));
+
+    assertMatchesArcScan(net);
+    assertEquals(List.of(), net.getSuccessor("p2"));
+    assertEquals(0, net.getSuccessorCount("p2"));
+    assertEquals(List.of("t1"), net.getPredecessor("p2"));
+    assertEquals(List.of("p2"), net.getSinks());
+    assertEquals("p1", net.getStartPlace());
+    assertEquals(List.of(), net.getSuccessor("unknown"));
+  }
+
+  @Test
+  void changesOnlyThroughTheAddMethods() {
+    PetriNet net = new PetriNet();
+    net.addElements(new Place("p1", "start"));
+
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> net.getArcs().put("a1", new Arc("a1", "p1", "t1")));
+    assertThrows(UnsupportedOperationException.class, () -> net.getElements().remove("p1"));
+    assertEquals(List.of("p1"), net.getSinks());
+  }
+
+  /** Compares every neighbour query with the scan over all arcs the index replaced. */
+  private static void assertMatchesArcScan(PetriNet net) {
+    List<String> sources = new ArrayList<>();
+    List<String> sinks = new ArrayList<>();
+    for (String id : net.getElements().keySet()) {
+      List<String> predecessors = new ArrayList<>();
+      List<String> successors = new ArrayList<>();
+      for (Arc arc : net.getArcs().values()) {
+        if (arc.getTarget().equals(id)) {
+          predecessors.add(arc.getSource());
+        }
+        if (arc.getSource().equals(id)) {
+          successors.add(arc.getTarget());
+        }
+      }
+      assertEquals(predecessors, net.getPredecessor(id), id);
+      assertEquals(successors, net.getSuccessor(id), id);
+      assertEquals(predecessors.size(), net.getPredecessorCount(id), id);
+      assertEquals(successors.size(), net.getSuccessorCount(id), id);
+      if (predecessors.isEmpty()) {
+        sources.add(id);
+      }
+      if (successors.isEmpty()) {
+        sinks.add(id);
+      }
+    }
+    assertEquals(sources, net.getSources());
+    assertEquals(sinks, net.getSinks());
+  }
+}
@@ -0,0 +1,97 @@
+package de.dhbw.woped.process2text.model.writer.bpmn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import de.dhbw.woped.process2text.model.process.Arc;
+import de.dhbw.woped.process2text.model.process.Element;
+import de.dhbw.woped.process2text.model.process.Gateway;
+import de.dhbw.woped.process2text.model.process.ProcessModel;
+import de.dhbw.woped.process2text.model.reader.bpmn.BPMNReader;
+import de.dhbw.woped.process2text.model.reader.pnml.PNMLReader;
+import de.dhbw.woped.process2text.model.reader.pnml.PetriNetToProcessConverter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class BPMNWriterTest {
+
+  /** Label the {@link BPMNReader} gives the activity it reads an end event as. */
+  private static final String END_ACTIVITY = "complete process";
+
+  /** Type the {@link BPMNReader} gives the gateway it reads a start event as. */
+  private static final int START_GATEWAY = 0;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"XOR-SplitnJoin", "LoanApplication", "Schleife-XOR-Split", "AND-Split"})
+  void bpmnReaderReadsTheWrittenModel(String net) throws Exception {
+    ProcessModel model;
+    try (InputStream in =
+        Files.newInputStream(Path.of("src/main/resources/Petrinets", net + ".pnml"))) {
+      model =
+          new PetriNetToProcessConverter()
+              .convertToProcess(new PNMLReader().getPetriNetFromPNMLString(in));
+    }
+
+    String bpmn = new BPMNWriter().write(model);
+    ProcessModel read =
+        new BPMNReader()
+            .getProcessModelFromBPMNString(
+                new ByteArrayInputStream(bpmn.getBytes(StandardCharsets.UTF_8)));
+
+    assertNotNull(read);
+    // The start and end event come back as a gateway and an activity
+    List<String> labels = labels(model.getActivites().values());
+    labels.add(END_ACTIVITY);
+    assertEquals(sorted(labels), sorted(labels(read.getActivites().values())));
+    List<Integer> gatewayTypes = types(model.getGateways().values());
+    gatewayTypes.add(START_GATEWAY);
+    assertEquals(sorted(gatewayTypes), sorted(types(read.getGateways().values())));
+    assertEquals(
+        model.getArcs().size() + connectedToStartOrEnd(model),
+        read.getArcs().size(),
+        "sequence flows");
+  }
+
+  /** Number of flows the writer adds from its start event and to its end event. */
+  private static int connectedToStartOrEnd(ProcessModel model) {
+    Set<Integer> withIncoming = new HashSet<>();
+    Set<Integer> withOutgoing = new HashSet<>();
+    for (Arc arc : model.getArcs().values()) {
+      withOutgoing.add(arc.getSource().getId());
+      withIncoming.add(arc.getTarget().getId());
+    }
+    List<Element> nodes = new ArrayList<>(model.getActivites().values());
+    nodes.addAll(model.getGateways().values());
+    int flows = 0;
+    for (Element node : nodes) {
+      flows += withIncoming.contains(node.getId()) ? 0 : 1;
+      flows += withOutgoing.contains(node.getId()) ? 0 : 1;
+    }
+    return flows;
+  }
+
+  private static List<String> labels(Iterable<? extends Element> elements) {
+    List<String> labels = new ArrayList<>();
+    elements.forEach(element -> labels.add(element.getLabel()));
+    return labels;
+  }
+
+  private static List<Integer> types(Iterable<Gateway> gateways) {
+    List<Integer> types = new ArrayList<>();
+    gateways.forEach(gateway -> types.add(gateway.getType()));
+    return types;
+  }
+
+  private static <T extends Comparable<T>> List<T> sorted(List<T> values) {
+    return values.stream().sorted().toList();
+  }
+}
@@ -0,0 +1,89 @@
+package de.dhbw.woped.process2text.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class GeneratedTextCacheTest {
+
+  private static final String PNML =
+      "<pnml><net id=\"noID\">"
+          + "<place id=\"p1\"><name><text>invoice received</text></name></place>"
+          + "<transition id=\"t1\"><name><text>check invoice</text></name></transition>"
+          + "<arc id=\"a1\" source=\"p1\" target=\"t1\"/>"
+          + "</net></pnml>";
+
+  private final GeneratedTextCache cache =
+      GeneratedTextCache.create(Duration.ofMinutes(5), 1 << 20);
+  private final AtomicInteger generations = new AtomicInteger();
+
+  @Test
+  void generatesOnceWhileIdenticalRequestsWait() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Void> release = new CompletableFuture<>();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> first =
+          executor.submit(
+              () ->
+                  cache.get(
+                      model(PNML),
+                      () -> {
+                        started.countDown();
+                        release.join();
+                        return generate("text");
+                      }));
+      started.await();
+      Future<String> second = executor.submit(() -> cache.get(model(PNML), () -> generate("")));
+
+      // Other models are generated while the first one is still running
+      assertEquals("other", cache.get(model(PNML.replace("check", "send")), () -> "other"));
+      assertNull(cache.getIfPresent(model(PNML)));
+      release.complete(null);
+
+      assertEquals("text", first.get(10, TimeUnit.SECONDS));
+      assertEquals("text", second.get(10, TimeUnit.SECONDS));
+      assertEquals(1, generations.get());
+      assertEquals("text", cache.getIfPresent(model(PNML)));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void doesNotCacheEmptyTextsOrFailures() {
+    assertEquals("", cache.get(model(PNML), () -> generate("")));
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.get(
+                model(PNML),
+                () -> {
+                  throw new IllegalStateException();
+                }));
+    assertEquals("text", cache.get(model(PNML), () -> generate("text")));
+    assertEquals("text", cache.get(model(PNML), () -> generate("other")));
+
+    assertEquals(2, generations.get());
+  }
+
+  private String generate(String text) {
+    generations.incrementAndGet();
+    return text;
+  }
+
+  private static ModelInput model(String text) {
+    return ModelInput.sniff(text);
+  }
+}
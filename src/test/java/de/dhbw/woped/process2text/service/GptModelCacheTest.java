@@ -0,0 +1,103 @@
+package de.dhbw.woped.process2text.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class GptModelCacheTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final GptModelCache cache =
+      GptModelCache.create(
+          Duration.ofMinutes(60), Duration.ofMinutes(45), 1 << 20, nanos::get, refreshes::add);
+  private final List<String> loadedKeys = new ArrayList<>();
+
+  private List<String> load(String apiKey) {
+    loadedKeys.add(apiKey);
+    return List.of("gpt-" + loadedKeys.size());
+  }
+
+  @Test
+  void loadsOncePerApiKey() {
+    assertEquals(List.of("gpt-1"), cache.get("key-a", this::load));
+    assertEquals(List.of("gpt-1"), cache.get("key-a", this::load));
+    assertEquals(List.of("gpt-2"), cache.get("key-b", this::load));
+
+    assertEquals(List.of("key-a", "key-b"), loadedKeys);
+  }
+
+  @Test
+  void returnsStaleModelsWhileRefreshingInTheBackground() {
+    cache.get("key", this::load);
+    advance(Duration.ofMinutes(50));
+
+    assertEquals(List.of("gpt-1"), cache.get("key", this::load));
+    assertEquals(List.of("gpt-1"), cache.get("key", this::load));
+    assertEquals(1, refreshes.size());
+
+    refreshes.get(0).run();
+    assertEquals(List.of("gpt-2"), cache.get("key", this::load));
+  }
+
+  @Test
+  void retriesRefreshesRejectedByABusyPool() {
+    List<Runnable> accepted = new ArrayList<>();
+    AtomicBoolean busy = new AtomicBoolean(true);
+    GptModelCache cache =
+        GptModelCache.create(
+            Duration.ofMinutes(60),
+            Duration.ofMinutes(45),
+            1 << 20,
+            nanos::get,
+            task -> {
+              if (busy.get()) {
+                throw new RejectedExecutionException();
+              }
+              accepted.add(task);
+            });
+    cache.get("key", this::load);
+    advance(Duration.ofMinutes(50));
+
+    assertEquals(List.of("gpt-1"), cache.get("key", this::load));
+    busy.set(false);
+    assertEquals(List.of("gpt-1"), cache.get("key", this::load));
+    assertEquals(1, accepted.size());
+
+    accepted.get(0).run();
+    assertEquals(List.of("gpt-2"), cache.get("key", this::load));
+  }
+
+  @Test
+  void reloadsExpiredModels() {
+    cache.get("key", this::load);
+    advance(Duration.ofMinutes(61));
+
+    assertEquals(List.of("gpt-2"), cache.get("key", this::load));
+  }
+
+  @Test
+  void doesNotCacheFailedLoads() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            cache.get(
+                "key",
+                apiKey -> {
+                  throw new IllegalStateException("invalid API key");
+                }));
+
+    assertEquals(List.of("gpt-1"), cache.get("key", this::load));
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
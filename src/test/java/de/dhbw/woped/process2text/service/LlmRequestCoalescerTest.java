@@ -0,0 +1,220 @@
+package de.dhbw.woped.process2text.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.dhbw.woped.process2text.model.process.OpenAiApiDTO;
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+class LlmRequestCoalescerTest {
+
+  private static final int REQUESTS = 8;
+
+  private final LlmRequestCoalescer coalescer = LlmRequestCoalescer.create();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    coalescer.bindTo(registry);
+    executor = Executors.newFixedThreadPool(REQUESTS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void identicalCallsInFlightShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    List<Future<String>> responses =
+        submitAndRelease(
+            () -> {
+              calls.incrementAndGet();
+              awaitRelease();
+              return "text";
+            });
+
+    for (Future<String> response : responses) {
+      assertEquals("text", response.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, calls.get());
+    assertEquals(0, registry.get("llm_requests_in_flight").gauge().value());
+  }
+
+  @Test
+  void identicalCallsInFlightShareTheError() throws Exception {
+    IllegalStateException error = new IllegalStateException("LLM failed");
+    List<Future<String>> responses =
+        submitAndRelease(
+            () -> {
+              awaitRelease();
+              throw error;
+            });
+
+    for (Future<String> response : responses) {
+      ExecutionException thrown =
+          assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+      assertSame(error, thrown.getCause());
+    }
+  }
+
+  @Test
+  void interruptedWaiterGivesUpWithoutCancellingTheCall() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    Future<String> running =
+        executor.submit(
+            () ->
+                coalescer.execute(
+                    "key",
+                    () -> {
+                      started.countDown();
+                      awaitRelease();
+                      return "text";
+                    }));
+    started.await();
+    AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    AtomicBoolean interrupted = new AtomicBoolean();
+    Thread waiter =
+        new Thread(
+            () -> {
+              try {
+                coalescer.execute("key", () -> "other");
+              } catch (RuntimeException e) {
+                failure.set(e);
+                interrupted.set(Thread.currentThread().isInterrupted());
+              }
+            });
+    waiter.start();
+    while (registry.get("llm_requests_coalesced_total").functionCounter().count() < 1) {
+      Thread.sleep(10);
+    }
+
+    waiter.interrupt();
+    waiter.join(5000);
+    assertInstanceOf(ResponseStatusException.class, failure.get());
+    assertTrue(interrupted.get());
+    release.countDown();
+
+    assertEquals("text", running.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void callsAfterCompletionAreNotShared() {
+    AtomicInteger calls = new AtomicInteger();
+
+    coalescer.execute("key", () -> "text" + calls.incrementAndGet());
+
+    assertEquals("text2", coalescer.execute("key", () -> "text" + calls.incrementAndGet()));
+  }
+
+  @Test
+  void requestsWithOtherApiKeysShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    List<Future<String>> responses = new ArrayList<>();
+    for (String apiKey : List.of("key-a", "key-b")) {
+      String key = P2TLLMService.coalescingKey(sample(), "prompt", request(apiKey), false);
+      responses.add(
+          executor.submit(
+              () ->
+                  coalescer.execute(
+                      key,
+                      () -> {
+                        calls.incrementAndGet();
+                        awaitRelease();
+                        return "text";
+                      })));
+    }
+    while (registry.get("llm_requests_coalesced_total").functionCounter().count() < 1) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+
+    for (Future<String> response : responses) {
+      assertEquals("text", response.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void requestsWithOtherApiKeysCallOnTheirOwnWhenIsolated() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    List<Future<String>> responses = new ArrayList<>();
+    for (String apiKey : List.of("key-a", "key-b")) {
+      String key = P2TLLMService.coalescingKey(sample(), "prompt", request(apiKey), true);
+      responses.add(
+          executor.submit(
+              () ->
+                  coalescer.execute(
+                      key,
+                      () -> {
+                        started.countDown();
+                        awaitRelease();
+                        return apiKey;
+                      })));
+    }
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    release.countDown();
+    assertEquals("key-a", responses.get(0).get(5, TimeUnit.SECONDS));
+    assertEquals("key-b", responses.get(1).get(5, TimeUnit.SECONDS));
+    assertEquals(0, registry.get("llm_requests_coalesced_total").functionCounter().count());
+  }
+
+  /** Submits identical calls and releases the running one once all others wait for it. */
+  private List<Future<String>> submitAndRelease(Supplier<String> call) throws InterruptedException {
+    List<Future<String>> responses = new ArrayList<>();
+    for (int i = 0; i < REQUESTS; i++) {
+      responses.add(executor.submit(() -> coalescer.execute("key", call)));
+    }
+    while (registry.get("llm_requests_coalesced_total").functionCounter().count() < REQUESTS - 1) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+    return responses;
+  }
+
+  private static ModelInput sample() throws IOException {
+    return ModelInput.sniff(
+        Files.readString(
+            Path.of("src/main/resources/Petrinets/Sequenz.pnml"), StandardCharsets.UTF_8));
+  }
+
+  private static OpenAiApiDTO request(String apiKey) {
+    return new OpenAiApiDTO(apiKey, "gpt-4o", "prompt", "openAi", false);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package de.dhbw.woped.process2text.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import org.junit.jupiter.api.Test;
+
+class ModelFingerprintTest {
+
+  private static final String PNML =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+          + "<pnml>\n"
+          + "  <net id=\"noID\">\n"
+          + "    <place id=\"p1\">\n"
+          + "      <name><text>invoice received</text><graphics><offset x=\"30\" y=\"110\"/>"
+          + "</graphics></name>\n"
+          + "    </place>\n"
+          + "    <transition id=\"t1\">\n"
+          + "      <name><text>check invoice</text></name>\n"
+          + "      <graphics><position x=\"100\" y=\"70\"/></graphics>\n"
+          + "    </transition>\n"
+          + "    <arc id=\"a1\" source=\"p1\" target=\"t1\"/>\n"
+          + "  </net>\n"
+          + "</pnml>";
+
+  private static final String PNML_REFORMATTED =
+      "<pnml><net id=\"noID\">"
+          + "<arc target=\"t1\" source=\"p1\" id=\"a1\"/>"
+          + "<transition id=\"t1\"><graphics><position y=\"5\" x=\"7\"/></graphics>"
+          + "<name><text>check invoice</text></name></transition>"
+          + "<place id=\"p1\"><name><text>invoice received</text></name></place>"
+          + "</net></pnml>";
+
+  @Test
+  void ignoresFormattingAttributeOrderAndGraphics() {
+    assertNotNull(fingerprint(PNML));
+    assertEquals(fingerprint(PNML), fingerprint(PNML_REFORMATTED));
+  }
+
+  @Test
+  void distinguishesLabels() {
+    assertNotEquals(
+        fingerprint(PNML), fingerprint(PNML.replace("check invoice", "approve invoice")));
+  }
+
+  @Test
+  void rejectsUnknownInput() {
+    assertNull(fingerprint("<definitions/>"));
+    assertNull(fingerprint("no xml"));
+  }
+
+  private static String fingerprint(String model) {
+    return ModelFingerprint.of(ModelInput.sniff(model));
+  }
+}
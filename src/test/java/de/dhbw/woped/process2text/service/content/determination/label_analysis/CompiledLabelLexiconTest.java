@@ -0,0 +1,113 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompiledLabelLexiconTest {
+
+  /** Deterministic stand-in for the WordNet backed helper. */
+  private static final EnglishLabelHelper FAKE_HELPER =
+      new EnglishLabelHelper(null, CompiledLabelLexicon.EMPTY) {
+        @Override
+        public boolean isNoun(String word) {
+          return word.length() % 2 == 0;
+        }
+
+        @Override
+        public boolean isVerb(String word) {
+          return word.startsWith("v");
+        }
+
+        @Override
+        public boolean isAdjective(String word) {
+          return false;
+        }
+
+        @Override
+        public boolean isVerbLemma(String word) {
+          return word.contains(" ");
+        }
+
+        @Override
+        String getVerbFromNoun(String noun) {
+          return "";
+        }
+
+        @Override
+        public String getInfinitiveOfAction(String action) {
+          return "inf-" + action;
+        }
+
+        @Override
+        public String getNoun(String verb) {
+          return verb + "tion";
+        }
+      };
+
+  @Test
+  void everyWordIsFoundInItsOwnSlot() throws Exception {
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      words.add((i % 3 == 0 ? "v" : "w") + Integer.toString(i, 36) + (i % 7 == 0 ? " up" : ""));
+    }
+
+    CompiledLabelLexicon compiled = LabelLexiconCompiler.compile(words, FAKE_HELPER);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiled.writeTo(out);
+    CompiledLabelLexicon lexicon =
+        CompiledLabelLexicon.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+    boolean[] used = new boolean[words.size()];
+    for (String word : words) {
+      int entry = lexicon.find(word);
+      assertTrue(entry >= 0, word);
+      assertFalse(used[entry], word);
+      used[entry] = true;
+      assertEquals(FAKE_HELPER.isNoun(word), lexicon.isNoun(entry));
+      assertEquals(FAKE_HELPER.isVerb(word), lexicon.isVerb(entry));
+      assertEquals(FAKE_HELPER.isVerbLemma(word), lexicon.isVerbLemma(entry));
+      assertEquals("inf-" + word, lexicon.getInfinitive(entry));
+      assertEquals(word + "tion", lexicon.getNoun(entry));
+      assertEquals("", lexicon.getVerb(entry));
+    }
+  }
+
+  @Test
+  void compiledEntriesMatchTheWordNetAnalysis() {
+    EnglishLabelHelper live =
+        new EnglishLabelHelper(WordNetLexicon.getInstance(), CompiledLabelLexicon.EMPTY);
+    List<String> words = List.of("approved", "checked", "sent", "quick", "approval");
+
+    EnglishLabelHelper compiled =
+        new EnglishLabelHelper(
+            WordNetLexicon.getInstance(), LabelLexiconCompiler.compile(words, live));
+
+    for (String word : words) {
+      assertEquals(live.isNoun(word), compiled.isNoun(word), word);
+      assertEquals(live.isVerb(word), compiled.isVerb(word), word);
+      assertEquals(live.isAdjective(word), compiled.isAdjective(word), word);
+      assertEquals(live.isVerbLemma(word), compiled.isVerbLemma(word), word);
+      assertEquals(live.getInfinitiveOfAction(word), compiled.getInfinitiveOfAction(word), word);
+      assertEquals(live.getNoun(word), compiled.getNoun(word), word);
+    }
+    assertTrue(compiled.isVerb("approved"));
+    assertEquals("send", compiled.getInfinitiveOfAction("sent"));
+  }
+
+  @Test
+  void unknownWordsAreNotFound() {
+    CompiledLabelLexicon lexicon =
+        LabelLexiconCompiler.compile(List.of("check", "invoice", "send"), FAKE_HELPER);
+
+    assertEquals(-1, lexicon.find("checks"));
+    assertEquals(-1, lexicon.find(""));
+    assertEquals(-1, CompiledLabelLexicon.EMPTY.find("check"));
+  }
+}
@@ -0,0 +1,130 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.dhbw.woped.process2text.model.process.Annotation;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class LabelAnnotationCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger analyses = new AtomicInteger();
+
+  @Test
+  void analyzesEachLabelOnce() {
+    LabelAnnotationCache cache = create();
+    Object lexicon = new Object();
+
+    Annotation first = cache.get(lexicon, "check invoice", analysis("checked"));
+    Annotation second = cache.get(lexicon, "check invoice", analysis("other"));
+    cache.get(lexicon, "send rejection", analysis("sent"));
+
+    assertSame(first, second);
+    assertEquals(2, analyses.get());
+    assertEquals(1, gets("hit"));
+    assertEquals(2, gets("miss"));
+  }
+
+  @Test
+  void separatesAnalysisContexts() {
+    LabelAnnotationCache cache = create();
+
+    Annotation first = cache.get(new Object(), "check invoice", analysis("first"));
+    Annotation second = cache.get(new Object(), "check invoice", analysis("second"));
+
+    assertEquals("first", first.getAddition());
+    assertEquals("second", second.getAddition());
+    assertEquals(2, analyses.get());
+    assertEquals(0, gets("hit"));
+    assertEquals(2, gets("miss"));
+  }
+
+  @Test
+  void separatesHelpersOnOtherDerivationCaches() {
+    DerivationCache derivations = DerivationCache.create(10, Duration.ZERO);
+    Object context = new EnglishLabelHelper(null, null, derivations).getAnalysisContext();
+    Object same = new EnglishLabelHelper(null, null, derivations).getAnalysisContext();
+    Object other =
+        new EnglishLabelHelper(null, null, DerivationCache.create(10, Duration.ZERO))
+            .getAnalysisContext();
+    LabelAnnotationCache cache = create();
+
+    cache.get(context, "check invoice", analysis("first"));
+    cache.get(same, "check invoice", analysis("same"));
+    cache.get(other, "check invoice", analysis("other"));
+
+    assertEquals(2, analyses.get());
+  }
+
+  @Test
+  void analyzesOutsideTheCacheLock() {
+    LabelAnnotationCache cache = create();
+    Object lexicon = new Object();
+
+    // Looking up the same label during its analysis fails inside a compute; the first result wins
+    Annotation annotation =
+        cache.get(
+            lexicon,
+            "check invoice",
+            label ->
+                cache.get(lexicon, label, analysis("inner")) == null ? null : new Annotation());
+
+    assertSame(annotation, cache.get(lexicon, "check invoice", analysis("later")));
+    assertEquals("inner", annotation.getAddition());
+  }
+
+  @Test
+  void doesNotCacheFailedAnalyses() {
+    LabelAnnotationCache cache = create();
+    Object lexicon = new Object();
+
+    assertNull(cache.get(lexicon, "???", analysis(null)));
+    assertEquals("later", cache.get(lexicon, "???", analysis("later")).getAddition());
+    assertEquals(2, analyses.get());
+  }
+
+  @Test
+  void disabledCacheAlwaysAnalyzes() {
+    Object lexicon = new Object();
+
+    LabelAnnotationCache.DISABLED.get(lexicon, "check invoice", analysis("a"));
+    LabelAnnotationCache.DISABLED.get(lexicon, "check invoice", analysis("b"));
+
+    assertEquals(2, analyses.get());
+  }
+
+  private LabelAnnotationCache create() {
+    LabelAnnotationCache cache = LabelAnnotationCache.create(1 << 20);
+    cache.bindTo(registry);
+    return cache;
+  }
+
+  /** Counts its calls and returns an annotation with the given addition, or null. */
+  private Function<String, Annotation> analysis(String addition) {
+    return label -> {
+      analyses.incrementAndGet();
+      if (addition == null) {
+        return null;
+      }
+      Annotation annotation = new Annotation();
+      annotation.setAddition(addition);
+      return annotation;
+    };
+  }
+
+  private double gets(String result) {
+    return registry
+        .get("cache.gets")
+        .tag("cache", "label_annotations")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,139 @@
+package de.dhbw.woped.process2text.service.content.determination.label_analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.POS;
+import net.didion.jwnl.dictionary.file.DictionaryFileType;
+import net.didion.jwnl.dictionary.file_manager.FileManager;
+import net.didion.jwnl.util.factory.ValueParam;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileManagerTest {
+
+  private static final List<String> HEADER =
+      List.of("  1 This software and database is being provided", "  2 without any warranty.");
+  private static final List<String> VERBS =
+      List.of(
+          "approve v 2 2 @ ~ 2 0 00671351 00670261",
+          "check v 25 4 @ ~ $ + 25 5 00661824 00662589",
+          "send v 11 3 @ ~ + 11 3 01437254 01955127",
+          "verify v 2 3 @ ~ + 2 1 00662589 00920778");
+  private static final List<String> ADJECTIVES =
+      List.of("able a 2 4 ! & ^ = 2 1 00001740 00002016", "quick a 5 3 & ^ + 5 1 00979366");
+
+  @TempDir Path dir;
+
+  @Test
+  void findsIndexLinesByBinarySearch() throws Exception {
+    FileManager manager = create();
+
+    for (String line : VERBS) {
+      long pointer = manager.getIndexedLinePointer(POS.VERB, DictionaryFileType.INDEX, lemma(line));
+      assertEquals(line, manager.readLineAt(POS.VERB, DictionaryFileType.INDEX, pointer));
+    }
+    assertEquals(-1, manager.getIndexedLinePointer(POS.VERB, DictionaryFileType.INDEX, "chec"));
+    assertEquals(-1, manager.getIndexedLinePointer(POS.VERB, DictionaryFileType.INDEX, "checks"));
+    assertEquals(-1, manager.getIndexedLinePointer(POS.VERB, DictionaryFileType.INDEX, "zoom"));
+    assertEquals(-1, manager.getIndexedLinePointer(POS.VERB, DictionaryFileType.INDEX, "1"));
+  }
+
+  @Test
+  void skipsTheLicenseHeader() throws Exception {
+    FileManager manager = create();
+
+    long first = manager.getFirstLinePointer(POS.VERB, DictionaryFileType.INDEX);
+    assertEquals(VERBS.get(0), manager.readLineAt(POS.VERB, DictionaryFileType.INDEX, first));
+    long next = manager.getNextLinePointer(POS.VERB, DictionaryFileType.INDEX, first);
+    assertEquals(VERBS.get(1), manager.readLineAt(POS.VERB, DictionaryFileType.INDEX, next));
+  }
+
+  @Test
+  void readsFilesWithWindowsLineBreaks() throws Exception {
+    FileManager manager = create();
+
+    // index.adj is written with CRLF line breaks
+    for (String line : ADJECTIVES) {
+      long pointer =
+          manager.getIndexedLinePointer(POS.ADJECTIVE, DictionaryFileType.INDEX, lemma(line));
+      assertEquals(line, manager.readLineAt(POS.ADJECTIVE, DictionaryFileType.INDEX, pointer));
+    }
+    long first = manager.getFirstLinePointer(POS.ADJECTIVE, DictionaryFileType.INDEX);
+    long second = manager.getNextLinePointer(POS.ADJECTIVE, DictionaryFileType.INDEX, first);
+    assertEquals(
+        ADJECTIVES.get(1), manager.readLineAt(POS.ADJECTIVE, DictionaryFileType.INDEX, second));
+    assertEquals(-1, manager.getIndexedLinePointer(POS.ADJECTIVE, DictionaryFileType.INDEX, "b"));
+  }
+
+  @Test
+  void pointersOfMatchesAndRandomLinesAreLineStarts() throws Exception {
+    FileManager manager = create();
+    long first = manager.getFirstLinePointer(POS.VERB, DictionaryFileType.INDEX);
+
+    long match = manager.getMatchingLinePointer(POS.VERB, DictionaryFileType.INDEX, first, "end");
+    assertEquals(VERBS.get(2), manager.readLineAt(POS.VERB, DictionaryFileType.INDEX, match));
+    assertEquals(
+        -1, manager.getMatchingLinePointer(POS.VERB, DictionaryFileType.INDEX, first, "zoom"));
+    for (int i = 0; i < 50; i++) {
+      long random = manager.getRandomLinePointer(POS.ADJECTIVE, DictionaryFileType.INDEX);
+      assertTrue(
+          ADJECTIVES.contains(manager.readLineAt(POS.ADJECTIVE, DictionaryFileType.INDEX, random)));
+    }
+  }
+
+  @Test
+  void failsForMissingDictionaryFiles() throws Exception {
+    writeDictionary();
+    Files.delete(dir.resolve("data.noun"));
+    Files.delete(dir.resolve("verb.exc"));
+
+    JWNLException e = assertThrows(JWNLException.class, () -> load());
+    assertTrue(e.getMessage().contains("data.noun"), e.getMessage());
+    assertTrue(e.getMessage().contains("verb.exc"), e.getMessage());
+  }
+
+  private FileManager create() throws Exception {
+    writeDictionary();
+    return load();
+  }
+
+  private FileManager load() throws JWNLException {
+    return (FileManager)
+        new MappedFileManager()
+            .create(Map.of(MappedFileManager.DICTIONARY_PATH, new ValueParam(dir.toString())));
+  }
+
+  private void writeDictionary() throws Exception {
+    for (String pos : List.of("noun", "verb", "adj", "adv")) {
+      for (String name : List.of("index." + pos, "data." + pos, pos + ".exc")) {
+        Files.writeString(dir.resolve(name), "");
+      }
+    }
+    write("index.verb", "\n", HEADER, VERBS);
+    write("index.adj", "\r\n", HEADER, ADJECTIVES);
+  }
+
+  private void write(String name, String lineBreak, List<String> header, List<String> lines)
+      throws Exception {
+    StringBuilder text = new StringBuilder();
+    for (String line : header) {
+      text.append(line).append(lineBreak);
+    }
+    for (String line : lines) {
+      text.append(line).append(lineBreak);
+    }
+    Files.writeString(dir.resolve(name), text, StandardCharsets.ISO_8859_1);
+  }
+
+  private static String lemma(String line) {
+    return line.substring(0, line.indexOf(' '));
+  }
+}
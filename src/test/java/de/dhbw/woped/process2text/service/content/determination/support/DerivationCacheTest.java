@@ -0,0 +1,88 @@
+package de.dhbw.woped.process2text.service.content.determination.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.didion.jwnl.JWNLException;
+import net.didion.jwnl.data.POS;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DerivationCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger derivations = new AtomicInteger();
+  private DerivationCache cache;
+
+  @BeforeEach
+  void createCache() {
+    cache = DerivationCache.create(100, Duration.ZERO);
+    cache.bindTo(registry);
+  }
+
+  @Test
+  void countsHitsAndMisses() throws JWNLException {
+    assertEquals("approve", cache.get(POS.VERB, "approval", counted("approve")));
+    assertEquals("approve", cache.get(POS.VERB, "approval", counted("other")));
+    assertEquals("", cache.get(POS.VERB, "invoice", counted("")));
+    assertEquals("", cache.get(POS.VERB, "invoice", counted("other")));
+    // The target part of speech is part of the key
+    assertEquals("approval", cache.get(POS.NOUN, "approval", counted("approval")));
+
+    assertEquals(3, derivations.get());
+    assertEquals(2, gets("hit"));
+    assertEquals(3, gets("miss"));
+  }
+
+  @Test
+  void doesNotCacheNullResults() throws JWNLException {
+    assertNull(cache.get(POS.NOUN, "check", counted(null)));
+    assertEquals("checking", cache.get(POS.NOUN, "check", counted("checking")));
+    assertEquals("checking", cache.get(POS.NOUN, "check", counted("other")));
+
+    assertEquals(2, derivations.get());
+    assertEquals(1, gets("hit"));
+    assertEquals(2, gets("miss"));
+  }
+
+  @Test
+  void rethrowsAndDoesNotCacheFailures() throws JWNLException {
+    JWNLException failure = new JWNLException("DICTIONARY_EXCEPTION_001");
+
+    JWNLException thrown =
+        assertThrows(
+            JWNLException.class,
+            () ->
+                cache.get(
+                    POS.NOUN,
+                    "send",
+                    word -> {
+                      throw failure;
+                    }));
+    assertSame(failure, thrown);
+    assertEquals("sending", cache.get(POS.NOUN, "send", counted("sending")));
+    assertEquals(1, derivations.get());
+  }
+
+  /** Counts its calls and returns the given result. */
+  private DerivationCache.Derivation counted(String result) {
+    return word -> {
+      derivations.incrementAndGet();
+      return result;
+    };
+  }
+
+  private double gets(String result) {
+    return registry
+        .get("cache.gets")
+        .tag("cache", "word_derivations")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,75 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.dhbw.woped.process2text.service.sentence.realization.PhraseRewriter.Rule;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PhraseRewriterTest {
+
+  @Test
+  void replacesAllPhrasesLiterally() {
+    PhraseRewriter rewriter =
+        PhraseRewriter.create(
+            List.of(
+                new Rule("parallel branches.", "parallel branches:"),
+                new Rule("The process begins", "The process begins,")));
+
+    assertEquals(
+        "The process begins, when it is split into 2 parallel branches: parallel branches!",
+        rewriter.rewrite(
+            "The process begins when it is split into 2 parallel branches. parallel branches!"));
+  }
+
+  @Test
+  void matchesTheDotOfAPhraseOnlyAsAPeriod() {
+    Rule rule =
+        new Rule(
+            "one of the following branches is executed.",
+            "one of the following branches is executed:");
+    PhraseRewriter rewriter = PhraseRewriter.create(List.of(rule));
+    String text = "Then one of the following branches is executed, depending on the amount";
+
+    // The regular expressions this replaced matched any character in place of the dot
+    assertEquals(
+        "Then one of the following branches is executed: depending on the amount",
+        text.replaceAll(rule.phrase(), rule.replacement()));
+    assertSame(text, rewriter.rewrite(text));
+    assertEquals(
+        "Then one of the following branches is executed: The clerk",
+        rewriter.rewrite("Then one of the following branches is executed. The clerk"));
+  }
+
+  @Test
+  void appliesRulesOneAfterTheOther() {
+    PhraseRewriter rewriter =
+        PhraseRewriter.create(
+            List.of(new Rule("hers", "H"), new Rule("she", "S"), new Rule("s", "-")));
+
+    assertEquals("u-H", rewriter.rewrite("ushers"));
+    assertEquals("-S-", rewriter.rewrite("sshes"));
+  }
+
+  @Test
+  void keepsPhrasesWhoseOnlyOverlapIsUnchanged() {
+    PhraseRewriter rewriter =
+        PhraseRewriter.create(
+            List.of(
+                new Rule(" the a ", " a "),
+                new Rule("branches were executed ", "branches were executed, ")));
+
+    assertEquals(
+        "All branches were executed, a clerk and the a a ",
+        rewriter.rewrite("All branches were executed the a clerk and the the a a "));
+  }
+
+  @Test
+  void returnsTextWithoutPhrasesAsIs() {
+    PhraseRewriter rewriter = PhraseRewriter.create(List.of(new Rule(" the a ", " a ")));
+    String text = "The clerk checks the invoice.";
+
+    assertSame(text, rewriter.rewrite(text));
+  }
+}
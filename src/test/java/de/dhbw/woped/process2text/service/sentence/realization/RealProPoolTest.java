@@ -0,0 +1,83 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+class RealProPoolTest {
+
+  private static final List<String> VERBS =
+      List.of("check", "approve", "send", "archive", "register", "reject", "sign", "file");
+
+  @Test
+  void realizesInParallelInInputOrder() throws Exception {
+    List<Document> dsynts = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (String verb : VERBS) {
+      dsynts.add(dsynt(verb));
+      expected.add("The clerk " + verb + "s the invoice.");
+    }
+
+    try (RealProPool pool = RealProPool.create(3)) {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      pool.bindTo(registry);
+
+      assertEquals(expected, pool.realize(dsynts));
+      assertEquals(List.of(expected.get(0)), pool.realize(dsynts.subList(0, 1)));
+      // Instances are only created while no other one is idle, so fewer may be needed
+      double instances = registry.get("realpro_pool_instances").gauge().value();
+      assertTrue(instances >= 1 && instances <= 3, "instances: " + instances);
+      assertEquals(0, registry.get("realpro_pool_active").gauge().value());
+    }
+  }
+
+  @Test
+  void discardsInstancesThatFailed() throws Exception {
+    Document broken =
+        (Document)
+            Proxy.newProxyInstance(
+                Document.class.getClassLoader(),
+                new Class<?>[] {Document.class},
+                (proxy, method, args) -> {
+                  // RealPro catches exceptions but not errors such as a deep recursion
+                  throw new StackOverflowError();
+                });
+
+    try (RealProPool pool = RealProPool.create(1)) {
+      SimpleMeterRegistry registry = new SimpleMeterRegistry();
+      pool.bindTo(registry);
+
+      assertThrows(StackOverflowError.class, () -> pool.realize(List.of(broken, broken)));
+      assertEquals(0, registry.get("realpro_pool_active").gauge().value());
+
+      // The discarded instance is replaced instead of blocking the next sentences
+      assertEquals(
+          List.of("The clerk checks the invoice.", "The clerk signs the invoice."),
+          pool.realize(List.of(dsynt("check"), dsynt("sign"))));
+      assertEquals(1, registry.get("realpro_pool_instances").gauge().value());
+    }
+  }
+
+  private static Document dsynt(String verb) throws Exception {
+    String xml =
+        "<dsynts><dsyntnode class=\"verb\" lexeme=\""
+            + verb
+            + "\" voice=\"active\" tense=\"pres\">"
+            + "<dsyntnode class=\"common_noun\" lexeme=\"clerk\" rel=\"I\" article=\"def\"/>"
+            + "<dsyntnode class=\"common_noun\" lexeme=\"invoice\" rel=\"II\" article=\"def\"/>"
+            + "</dsyntnode></dsynts>";
+    return DocumentBuilderFactory.newInstance()
+        .newDocumentBuilder()
+        .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,62 @@
+package de.dhbw.woped.process2text.service.sentence.realization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.NodeClass;
+import de.dhbw.woped.process2text.model.dsynt.DSynTNode.Relation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RealizationCacheTest {
+
+  @Test
+  void canonicalFormIgnoresAttributeOrder() {
+    assertEquals(
+        RealizationCache.canonical(dsynt("check")), RealizationCache.canonical(reordered("check")));
+    assertNotEquals(
+        RealizationCache.canonical(dsynt("check")), RealizationCache.canonical(dsynt("approve")));
+  }
+
+  @Test
+  void realizesEachDistinctSentenceOnce() {
+    RealizationCache cache = RealizationCache.create(1 << 20);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+
+    try (RealProPool pool = RealProPool.create(2)) {
+      assertEquals(
+          List.of(
+              "The clerk checks the invoice.",
+              "The clerk approves the invoice.",
+              "The clerk checks the invoice."),
+          cache.realize(List.of(dsynt("check"), dsynt("approve"), reordered("check")), pool));
+      assertEquals(
+          List.of("The clerk approves the invoice."),
+          cache.realize(List.of(dsynt("approve")), pool));
+    }
+
+    assertEquals(2, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+  }
+
+  private static DSynTNode dsynt(String verb) {
+    DSynTNode root = new DSynTNode(NodeClass.VERB, null, verb);
+    root.set("voice", "active").set("tense", "pres");
+    root.add(new DSynTNode(NodeClass.COMMON_NOUN, Relation.I, "clerk").set("article", "def"));
+    root.add(new DSynTNode(NodeClass.COMMON_NOUN, Relation.II, "invoice").set("article", "def"));
+    return root;
+  }
+
+  private static DSynTNode reordered(String verb) {
+    DSynTNode root = new DSynTNode().set("tense", "pres").set("voice", "active");
+    root.set("lexeme", verb).set("class", "verb");
+    root.add(new DSynTNode().set("article", "def").set("rel", "I").set("lexeme", "clerk"));
+    root.getChildren().get(0).set("class", "common_noun");
+    root.add(new DSynTNode().set("rel", "II").set("class", "common_noun").set("article", "def"));
+    root.getChildren().get(1).setLexeme("invoice");
+    return root;
+  }
+}
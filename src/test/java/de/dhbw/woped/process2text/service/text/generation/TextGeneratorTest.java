@@ -0,0 +1,94 @@
+package de.dhbw.woped.process2text.service.text.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.dhbw.woped.process2text.model.reader.ModelInput;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.LabelAnnotationCache;
+import de.dhbw.woped.process2text.service.content.determination.label_analysis.WordNetLexicon;
+import de.dhbw.woped.process2text.service.content.determination.support.DerivationCache;
+import de.dhbw.woped.process2text.service.sentence.realization.RealProPool;
+import de.dhbw.woped.process2text.service.sentence.realization.RealizationCache;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TextGeneratorTest {
+
+  /** Connectives inserted by DiscourseMarker in the order in which the sentences are planned. */
+  private static final Pattern CONNECTIVE =
+      Pattern.compile(
+          "\\b(afterwards|subsequently|next|latterly|thereafter|after that|consequently"
+              + "|following|thereon|later on|hereafter|then), ");
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Sequenz", "XOR-SplitnJoin", "AND-Join", "LoanApplication"})
+  void streamsTheTextItReturns(String model) throws Exception {
+    String xml =
+        Files.readString(
+            Path.of("src/main/resources/Petrinets", model + ".pnml"), StandardCharsets.UTF_8);
+    TextGenerator generator = new TextGenerator();
+    String text = generator.toText(xml);
+
+    StringWriter streamed = new StringWriter();
+    generator.toText(ModelInput.sniff(xml), streamed);
+
+    assertTrue(text.contains("</phrase>"), text);
+    assertTrue(streamed.toString().endsWith("</text>"), streamed.toString());
+    // Parallel and alternative branches are planned in no fixed order
+    assertEquals(phrases(text), phrases(streamed.toString()));
+  }
+
+  @Test
+  void timesEveryStageOfAnAcyclicNet() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TextGenerator generator =
+        new TextGenerator(
+            WordNetLexicon.getInstance(),
+            LabelAnnotationCache.DISABLED,
+            DerivationCache.getDefault(),
+            new TextGenerationMetrics(registry),
+            RealProPool.getDefault(),
+            RealizationCache.DISABLED);
+
+    generator.toText(
+        Files.readString(
+            Path.of("src/main/resources/Petrinets/LoanApplication.pnml"), StandardCharsets.UTF_8));
+
+    Set<String> stages = new TreeSet<>();
+    for (Timer timer : registry.find("text_generation_stage_duration_seconds").timers()) {
+      stages.add(timer.getId().getTag("stage"));
+    }
+    // No rigid fragment to restructure
+    assertEquals(
+        new TreeSet<>(
+            List.of(
+                "parsing",
+                "conversion",
+                "annotation",
+                "rpst",
+                "text_planning",
+                "aggregation",
+                "sentence_planning",
+                "realization")),
+        stages);
+  }
+
+  private static List<String> phrases(String text) {
+    return text.lines()
+        .map(line -> CONNECTIVE.matcher(line.toLowerCase(Locale.ROOT)).replaceAll(""))
+        .sorted()
+        .toList();
+  }
+}
@@ -0,0 +1,109 @@
+package de.dhbw.woped.process2text.service.text.planning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.dhbw.woped.process2text.service.text.planning.RPSTNodeTable.BondKind;
+import de.hpi.bpt.graph.algo.rpst.RPST;
+import de.hpi.bpt.graph.algo.rpst.RPSTNode;
+import de.hpi.bpt.graph.algo.tctree.TCType;
+import de.hpi.bpt.process.ControlFlow;
+import de.hpi.bpt.process.Gateway;
+import de.hpi.bpt.process.GatewayType;
+import de.hpi.bpt.process.Node;
+import de.hpi.bpt.process.Process;
+import de.hpi.bpt.process.Task;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RPSTNodeTableTest {
+
+  private final Process process = new Process();
+  private final Task start = task("start");
+  private final Task approve = task("approve");
+  private final Task reject = task("reject");
+  private final Task check = task("check");
+  private final Task notify = task("notify");
+  private final Task end = task("end");
+  private final Gateway split = gateway("split");
+  private final Gateway merge = gateway("merge");
+  private final Gateway loopEntry = gateway("loop entry");
+  private final Gateway loopExit = gateway("loop exit");
+  private final Gateway skipSplit = gateway("skip split");
+  private final Gateway skipJoin = gateway("skip join");
+
+  /** start, an XOR split into approve or reject, a loop repeating check, notify or skip it, end. */
+  private RPST<ControlFlow, Node> rpst() {
+    process.addControlFlow(start, split);
+    process.addControlFlow(split, approve);
+    process.addControlFlow(approve, merge);
+    process.addControlFlow(split, reject);
+    process.addControlFlow(reject, merge);
+    process.addControlFlow(merge, loopEntry);
+    process.addControlFlow(loopEntry, check);
+    process.addControlFlow(check, loopExit);
+    process.addControlFlow(loopExit, loopEntry);
+    process.addControlFlow(loopExit, skipSplit);
+    process.addControlFlow(skipSplit, notify);
+    process.addControlFlow(notify, skipJoin);
+    process.addControlFlow(skipSplit, skipJoin);
+    process.addControlFlow(skipJoin, end);
+    return new RPST<>(process);
+  }
+
+  @Test
+  void classifiesOrdersAndMeasuresTheFragments() {
+    RPST<ControlFlow, Node> rpst = rpst();
+    RPSTNodeTable table = RPSTNodeTable.create(rpst);
+
+    RPSTNode<ControlFlow, Node> xor = bond(rpst, split);
+    RPSTNode<ControlFlow, Node> loop = bond(rpst, loopEntry);
+    RPSTNode<ControlFlow, Node> skip = bond(rpst, skipSplit);
+    assertEquals(BondKind.XOR_SPLIT, table.getBondKind(xor));
+    assertEquals(BondKind.LOOP, table.getBondKind(loop));
+    assertEquals(BondKind.SKIP, table.getBondKind(skip));
+    assertEquals(BondKind.NONE, table.getBondKind(rpst.getRoot()));
+
+    // Bonds of paths of single arcs are one level above them, the model one above the bonds
+    assertEquals(1, table.getDepth(xor));
+    assertEquals(1, table.getDepth(loop));
+    assertEquals(1, table.getDepth(skip));
+    assertEquals(2, table.getDepth(rpst.getRoot()));
+
+    // The fragments of the model from its entry to its exit
+    List<Node> entries = new ArrayList<>();
+    for (RPSTNode<ControlFlow, Node> child : table.getOrderedChildren(rpst.getRoot())) {
+      entries.add(child.getEntry());
+    }
+    assertEquals(List.of(start, split, merge, loopEntry, loopExit, skipSplit, skipJoin), entries);
+    assertEquals(Set.copyOf(table.getChildren(xor)), Set.copyOf(table.getOrderedChildren(xor)));
+    assertEquals(2, table.getOrderedChildren(xor).size());
+  }
+
+  @Test
+  void rejectsNodesOfOtherTrees() {
+    RPSTNodeTable table = RPSTNodeTable.create(rpst());
+
+    assertThrows(
+        IllegalArgumentException.class, () -> table.getDepth(new RPST<>(process).getRoot()));
+  }
+
+  private RPSTNode<ControlFlow, Node> bond(RPST<ControlFlow, Node> rpst, Node entry) {
+    for (RPSTNode<ControlFlow, Node> node : rpst.getVertices(TCType.B)) {
+      if (node.getEntry() == entry) {
+        return node;
+      }
+    }
+    throw new AssertionError("No bond entered by " + entry.getName());
+  }
+
+  private Task task(String name) {
+    return process.addTask(new Task(name));
+  }
+
+  private Gateway gateway(String name) {
+    return process.addGateway(new Gateway(GatewayType.XOR, name));
+  }
+}